@@ -0,0 +1,194 @@
+package com.ideas2it.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.ideas2it.department.dao.DepartmentRepository;
+import com.ideas2it.department.dao.DepartmentRepositoryImpl;
+import com.ideas2it.employee.dao.EmployeeRepository;
+import com.ideas2it.employee.dao.EmployeeRepositoryImpl;
+import com.ideas2it.model.Address;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Sport;
+import com.ideas2it.sports.dao.SportRepository;
+import com.ideas2it.sports.dao.SportRepositoryImpl;
+import com.ideas2it.utilities.HibernateConnection;
+
+/**
+ * <p>
+ * Embedded H2 database, in MySQL mode, seeded once per benchmark fork with {@code scale}
+ * employees spread over {@value #DEPARTMENTS} departments, each playing two of
+ * {@value #SPORTS} sports and living at a random address.
+ * </p>
+ * The scale is a JMH parameter, {@code -p scale=100000} seeds a larger database. Any
+ * {@code hibernate.*} system property passed to the fork overrides the embedded settings,
+ * to run the same benchmarks against another database.
+ * @author  Kishore
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+    public static final int DEPARTMENTS = 20;
+    public static final int SPORTS = 10;
+    private static final int SEED_CHUNK = 5000;
+    private static final String[] CITIES = {"Chennai", "Madurai", "Coimbatore", "Salem", "Trichy"};
+    private static final String[] STATES = {"TN", "KA", "KL"};
+
+    @Param("10000")
+    public int scale;
+
+    private EmployeeRepository employeeRepository;
+    private DepartmentRepository departmentRepository;
+    private SportRepository sportRepository;
+    private int[] employeeIds;
+    private int[] departmentIds;
+    private int[] sportIds;
+    private String[] emails;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        setIfAbsent("hibernate.hikari.jdbcUrl", "jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        setIfAbsent("hibernate.hikari.driverClassName", "org.h2.Driver");
+        setIfAbsent("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        setIfAbsent("hibernate.hbm2ddl.auto", "create");
+        setIfAbsent("hibernate.show_sql", "false");
+        employeeRepository = new EmployeeRepositoryImpl();
+        departmentRepository = new DepartmentRepositoryImpl();
+        sportRepository = new SportRepositoryImpl();
+
+        List<Department> departments = new ArrayList<>();
+        departmentIds = new int[DEPARTMENTS];
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            Department department = new Department("Department " + name(i));
+            departmentRepository.addDepartment(department);
+            departments.add(department);
+            departmentIds[i] = department.getId();
+        }
+        sportIds = new int[SPORTS];
+        for (int i = 0; i < SPORTS; i++) {
+            Sport sport = new Sport("Sport " + name(i));
+            sportRepository.addSport(sport);
+            sportIds[i] = sport.getId();
+        }
+
+        Random random = new Random(scale);
+        employeeIds = new int[scale];
+        emails = new String[scale];
+        List<List<Integer>> players = new ArrayList<>();
+        for (int i = 0; i < SPORTS; i++) {
+            players.add(new ArrayList<>());
+        }
+        List<Employee> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < scale; i++) {
+            emails[i] = "employee" + i + "@example.com";
+            chunk.add(newEmployee(random, departments.get(i % DEPARTMENTS), emails[i]));
+            if (chunk.size() == SEED_CHUNK || i == scale - 1) {
+                employeeRepository.addEmployees(chunk);
+                for (int j = 0; j < chunk.size(); j++) {
+                    int row = i - chunk.size() + 1 + j;
+                    employeeIds[row] = chunk.get(j).getId();
+                    players.get(row % SPORTS).add(employeeIds[row]);
+                    players.get((row % SPORTS + 1 + row / SPORTS % (SPORTS - 1)) % SPORTS).add(employeeIds[row]);
+                }
+                chunk.clear();
+            }
+        }
+        for (int i = 0; i < SPORTS; i++) {
+            employeeRepository.addSportToEmployees(sportIds[i], players.get(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        HibernateConnection.shutdown();
+    }
+
+    public EmployeeRepository getEmployeeRepository() {
+        return employeeRepository;
+    }
+
+    public DepartmentRepository getDepartmentRepository() {
+        return departmentRepository;
+    }
+
+    public SportRepository getSportRepository() {
+        return sportRepository;
+    }
+
+    public int randomEmployeeId() {
+        return employeeIds[ThreadLocalRandom.current().nextInt(employeeIds.length)];
+    }
+
+    /**
+     * @param count - number of IDs, at most the scale.
+     * @return distinct IDs of seeded employees.
+     */
+    public Set<Integer> randomEmployeeIds(int count) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        while (ids.size() < count) {
+            ids.add(randomEmployeeId());
+        }
+        return ids;
+    }
+
+    public int randomDepartmentId() {
+        return departmentIds[ThreadLocalRandom.current().nextInt(departmentIds.length)];
+    }
+
+    public int randomSportId() {
+        return sportIds[ThreadLocalRandom.current().nextInt(sportIds.length)];
+    }
+
+    public String randomEmail() {
+        return emails[ThreadLocalRandom.current().nextInt(emails.length)];
+    }
+
+    /**
+     * Builds an employee that is not stored yet, in a seeded department.
+     *
+     * @param emailId - email, distinct from every stored one.
+     */
+    public Employee newEmployee(String emailId) {
+        Department department = new Department();
+        department.setId(randomDepartmentId());
+        return newEmployee(ThreadLocalRandom.current(), department, emailId);
+    }
+
+    private static Employee newEmployee(Random random, Department department, String emailId) {
+        LocalDate dob = LocalDate.of(1960, 1, 1).plusDays(random.nextInt(45 * 365));
+        Address address = new Address(random.nextInt(500) + " Main Street", CITIES[random.nextInt(CITIES.length)],
+                                      STATES[random.nextInt(STATES.length)],
+                                      String.valueOf(600000 + random.nextInt(1000)));
+        return new Employee("Employee " + name(random.nextInt(100000)), dob, department, emailId, address);
+    }
+
+    // Letters only, so generated names pass the name validation
+    static String name(int number) {
+        StringBuilder name = new StringBuilder();
+        do {
+            name.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    private static void setIfAbsent(String property, String value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, value);
+        }
+    }
+}
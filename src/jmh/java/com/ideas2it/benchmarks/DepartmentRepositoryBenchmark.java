@@ -0,0 +1,86 @@
+package com.ideas2it.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
+
+/**
+ * Measures every operation of DepartmentRepositoryImpl against the seeded database.
+ * @author  Kishore
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.properties")
+public class DepartmentRepositoryBenchmark {
+    private static final int PAGE_SIZE = 50;
+    private static final AtomicInteger newDepartments = new AtomicInteger();
+    private static final AtomicInteger renames = new AtomicInteger();
+
+    @Benchmark
+    public Department addDepartment(BenchmarkDatabase database) {
+        Department department = new Department("New Department " + newDepartments.incrementAndGet());
+        database.getDepartmentRepository().addDepartment(department);
+        return department;
+    }
+
+    @Benchmark
+    public void deleteDepartment(BenchmarkDatabase database) {
+        database.getDepartmentRepository().deleteDepartment(database.randomDepartmentId());
+    }
+
+    @Benchmark
+    public List<Department> getAllDepartments(BenchmarkDatabase database) {
+        return database.getDepartmentRepository().getAllDepartments();
+    }
+
+    @Benchmark
+    public Department findDepartmentById(BenchmarkDatabase database) {
+        return database.getDepartmentRepository().findDepartmentById(database.randomDepartmentId());
+    }
+
+    @Benchmark
+    public boolean existsById(BenchmarkDatabase database) {
+        return database.getDepartmentRepository().existsById(database.randomDepartmentId());
+    }
+
+    @Benchmark
+    public Department updateDepartment(BenchmarkDatabase database) {
+        // Read first, as the service does before every update
+        Department department = database.getDepartmentRepository().findDepartmentById(database.randomDepartmentId());
+        // Names are unique, every rename needs a name not used yet
+        department.setName("Renamed " + BenchmarkDatabase.name(renames.incrementAndGet()));
+        database.getDepartmentRepository().updateDepartment(department);
+        return department;
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByDepartmentId(BenchmarkDatabase database) {
+        return database.getDepartmentRepository().getEmployeesByDepartmentId(database.randomDepartmentId());
+    }
+
+    @Benchmark
+    public Page<Employee> getEmployeesByDepartmentPage(BenchmarkDatabase database) {
+        return database.getDepartmentRepository().getEmployeesByDepartmentPage(database.randomDepartmentId(),
+                                                                               database.randomEmployeeId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public long countActiveEmployees(BenchmarkDatabase database) {
+        return database.getDepartmentRepository().countActiveEmployees(database.randomDepartmentId());
+    }
+}
@@ -0,0 +1,193 @@
+package com.ideas2it.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.ideas2it.model.BulkInsertResult;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.EmployeeFilter;
+import com.ideas2it.model.EmployeeSummary;
+import com.ideas2it.model.Page;
+import com.ideas2it.model.SportAssignmentResult;
+
+/**
+ * Measures every operation of EmployeeRepositoryImpl against the seeded database. Each
+ * benchmark runs in its own fork, so the writes of one never reach the data of another.
+ * @author  Kishore
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.properties")
+public class EmployeeRepositoryBenchmark {
+    private static final int PAGE_SIZE = 50;
+    private static final int GROUP_SIZE = 100;
+    private static final AtomicInteger newEmployees = new AtomicInteger();
+    private static final List<LocalDate> BIRTH_CUTOFFS = Arrays.asList(LocalDate.now().minusYears(55),
+            LocalDate.now().minusYears(45), LocalDate.now().minusYears(35), LocalDate.now().minusYears(25));
+
+    @Benchmark
+    public Employee addEmployee(BenchmarkDatabase database) {
+        Employee employee = database.newEmployee("new" + newEmployees.incrementAndGet() + "@example.com");
+        database.getEmployeeRepository().addEmployee(employee);
+        return employee;
+    }
+
+    @Benchmark
+    public BulkInsertResult addEmployees(BenchmarkDatabase database) {
+        List<Employee> employees = new ArrayList<>(GROUP_SIZE);
+        for (int i = 0; i < GROUP_SIZE; i++) {
+            employees.add(database.newEmployee("new" + newEmployees.incrementAndGet() + "@example.com"));
+        }
+        return database.getEmployeeRepository().addEmployees(employees);
+    }
+
+    @Benchmark
+    public void deleteEmployee(BenchmarkDatabase database) {
+        database.getEmployeeRepository().deleteEmployee(database.randomEmployeeId());
+    }
+
+    @Benchmark
+    public List<Employee> getAllEmployees(BenchmarkDatabase database) {
+        return database.getEmployeeRepository().getAllEmployees();
+    }
+
+    @Benchmark
+    public Page<Employee> getEmployeesPage(BenchmarkDatabase database) {
+        return database.getEmployeeRepository().getEmployeesPage(database.randomEmployeeId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<EmployeeSummary> getEmployeeSummariesPage(BenchmarkDatabase database) {
+        return database.getEmployeeRepository().getEmployeeSummariesPage(database.randomEmployeeId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<Employee> findEmployees(BenchmarkDatabase database) {
+        EmployeeFilter filter = EmployeeFilter.activeEmployees().inDepartment(database.randomDepartmentId())
+                                              .agedBetween(25, 45).sortedBy(EmployeeFilter.Sort.NAME, false);
+        return database.getEmployeeRepository().findEmployees(filter, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public long countEmployees(BenchmarkDatabase database) {
+        EmployeeFilter filter = EmployeeFilter.activeEmployees().playing(database.randomSportId()).inState("TN");
+        return database.getEmployeeRepository().countEmployees(filter);
+    }
+
+    @Benchmark
+    public long forEachActiveEmployee(BenchmarkDatabase database, Blackhole blackhole) {
+        return database.getEmployeeRepository().forEachActiveEmployee(blackhole::consume);
+    }
+
+    @Benchmark
+    public long forEachSearchHit(BenchmarkDatabase database, Blackhole blackhole) {
+        return database.getEmployeeRepository().forEachSearchHit(blackhole::consume);
+    }
+
+    @Benchmark
+    public int backfillDerivedColumns(BenchmarkDatabase database) {
+        return database.getEmployeeRepository().backfillDerivedColumns();
+    }
+
+    @Benchmark
+    public Page<Employee> getEmployeesByBirthdayKey(BenchmarkDatabase database) {
+        int month = ThreadLocalRandom.current().nextInt(1, 13);
+        return database.getEmployeeRepository().getEmployeesByBirthdayKey(month * 100 + 1, month * 100 + 31, 0, 0,
+                                                                          PAGE_SIZE);
+    }
+
+    @Benchmark
+    public long[] countActiveEmployeesByBirthBand(BenchmarkDatabase database) {
+        return database.getEmployeeRepository().countActiveEmployeesByBirthBand(BIRTH_CUTOFFS);
+    }
+
+    @Benchmark
+    public long countEmails(BenchmarkDatabase database) {
+        return database.getEmployeeRepository().countEmails();
+    }
+
+    @Benchmark
+    public long forEachNormalizedEmail(BenchmarkDatabase database, Blackhole blackhole) {
+        return database.getEmployeeRepository().forEachNormalizedEmail(blackhole::consume);
+    }
+
+    @Benchmark
+    public Employee findEmployeeByEmail(BenchmarkDatabase database) {
+        return database.getEmployeeRepository().findEmployeeByEmail(database.randomEmail());
+    }
+
+    @Benchmark
+    public Set<String> findExistingEmails(BenchmarkDatabase database) {
+        List<String> emails = new ArrayList<>(GROUP_SIZE);
+        for (int i = 0; i < GROUP_SIZE; i++) {
+            emails.add(i % 2 == 0 ? database.randomEmail() : "unknown" + i + "@example.com");
+        }
+        return database.getEmployeeRepository().findExistingEmails(emails);
+    }
+
+    @Benchmark
+    public Employee findEmployeeById(BenchmarkDatabase database) {
+        return database.getEmployeeRepository().findEmployeeById(database.randomEmployeeId());
+    }
+
+    @Benchmark
+    public boolean existsById(BenchmarkDatabase database) {
+        return database.getEmployeeRepository().existsById(database.randomEmployeeId());
+    }
+
+    @Benchmark
+    public Employee updateEmployee(BenchmarkDatabase database) {
+        // Read first, as the service does before every update
+        Employee employee = database.getEmployeeRepository().findEmployeeById(database.randomEmployeeId());
+        employee.setName("Renamed " + (char) ('a' + ThreadLocalRandom.current().nextInt(26)));
+        database.getEmployeeRepository().updateEmployee(employee);
+        return employee;
+    }
+
+    @Benchmark
+    public void addSportToEmployee(BenchmarkDatabase database) {
+        database.getEmployeeRepository().addSportToEmployee(database.randomEmployeeId(), database.randomSportId());
+    }
+
+    @Benchmark
+    public void removeSportFromEmployee(BenchmarkDatabase database) {
+        database.getEmployeeRepository().removeSportFromEmployee(database.randomEmployeeId(),
+                                                                 database.randomSportId());
+    }
+
+    @Benchmark
+    public SportAssignmentResult addSportToEmployees(BenchmarkDatabase database) {
+        return database.getEmployeeRepository().addSportToEmployees(database.randomSportId(),
+                                                                    database.randomEmployeeIds(GROUP_SIZE));
+    }
+
+    @Benchmark
+    public SportAssignmentResult removeSportFromEmployees(BenchmarkDatabase database) {
+        return database.getEmployeeRepository().removeSportFromEmployees(database.randomSportId(),
+                                                                         database.randomEmployeeIds(GROUP_SIZE));
+    }
+
+    @Benchmark
+    public void queueSportChange(BenchmarkDatabase database) {
+        database.getEmployeeRepository().queueSportChange(database.randomEmployeeId(), database.randomSportId(),
+                                                          ThreadLocalRandom.current().nextBoolean()).join();
+    }
+}
@@ -0,0 +1,60 @@
+package com.ideas2it.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ideas2it.model.Address;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Sport;
+
+/**
+ * Measures the rendering of an employee row, as printed by the listings, for an
+ * employee playing a given number of sports.
+ * @author  Kishore
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.properties")
+@State(Scope.Thread)
+public class EmployeeToStringBenchmark {
+
+    @Param({"0", "3"})
+    public int sports;
+
+    private Employee employee;
+
+    @Setup
+    public void create() {
+        Department department = new Department("Engineering");
+        department.setId(1);
+        Address address = new Address("12 Main Street", "Chennai", "TN", "600001");
+        employee = new Employee("Ann Lee", LocalDate.of(1990, 5, 17), department, "ann.lee@example.com", address);
+        employee.setId(42);
+        for (int i = 1; i <= sports; i++) {
+            Sport sport = new Sport("Sport " + i);
+            sport.setId(i);
+            employee.getSports().add(sport);
+        }
+    }
+
+    @Benchmark
+    public String employeeToString() {
+        return employee.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.ideas2it.benchmarks;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
+import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportParticipation;
+
+/**
+ * Measures every operation of SportRepositoryImpl against the seeded database.
+ * @author  Kishore
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.properties")
+public class SportRepositoryBenchmark {
+    private static final int PAGE_SIZE = 50;
+    private static final int GROUP_SIZE = 100;
+    private static final int TOP_SPORTS = 5;
+    private static final AtomicInteger newSports = new AtomicInteger();
+    private static final AtomicInteger renames = new AtomicInteger();
+
+    @Benchmark
+    public Sport addSport(BenchmarkDatabase database) {
+        Sport sport = new Sport("New Sport " + newSports.incrementAndGet());
+        database.getSportRepository().addSport(sport);
+        return sport;
+    }
+
+    @Benchmark
+    public void deleteSport(BenchmarkDatabase database) {
+        database.getSportRepository().deleteSport(database.randomSportId());
+    }
+
+    @Benchmark
+    public Set<Sport> getAllSports(BenchmarkDatabase database) {
+        return database.getSportRepository().getAllSports();
+    }
+
+    @Benchmark
+    public Sport findSportById(BenchmarkDatabase database) {
+        return database.getSportRepository().findSportById(database.randomSportId());
+    }
+
+    @Benchmark
+    public boolean existsById(BenchmarkDatabase database) {
+        return database.getSportRepository().existsById(database.randomSportId());
+    }
+
+    @Benchmark
+    public Sport updateSport(BenchmarkDatabase database) {
+        // Read first, as the service does before every update
+        Sport sport = database.getSportRepository().findSportById(database.randomSportId());
+        // Names are unique, every rename needs a name not used yet
+        sport.setName("Renamed " + BenchmarkDatabase.name(renames.incrementAndGet()));
+        database.getSportRepository().updateSport(sport);
+        return sport;
+    }
+
+    @Benchmark
+    public Set<Employee> getEmployeesBySportId(BenchmarkDatabase database) {
+        return database.getSportRepository().getEmployeesBySportId(database.randomSportId());
+    }
+
+    @Benchmark
+    public Page<Employee> getEmployeesBySportPage(BenchmarkDatabase database) {
+        return database.getSportRepository().getEmployeesBySportPage(database.randomSportId(),
+                                                                     database.randomEmployeeId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByIds(BenchmarkDatabase database) {
+        return database.getSportRepository().getEmployeesByIds(database.randomEmployeeIds(GROUP_SIZE));
+    }
+
+    @Benchmark
+    public long countActiveEmployees(BenchmarkDatabase database) {
+        return database.getSportRepository().countActiveEmployees(database.randomSportId());
+    }
+
+    @Benchmark
+    public List<SportParticipation> getSportParticipation(BenchmarkDatabase database) {
+        return database.getSportRepository().getSportParticipation(TOP_SPORTS);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ideas2it.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ideas2it.utilities.Validator;
+
+/**
+ * Measures the field validators on a mix of valid and invalid input, each invocation
+ * checking every sample once.
+ * @author  Kishore
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.properties")
+@State(Scope.Thread)
+public class ValidatorBenchmark {
+    private final String[] names = {"Ann Lee", "Jean-Luc Picard", "O'Brien", "Name1", "", "Zo\u00eb Salda\u00f1a"};
+    private final String[] emails = {"ann.lee@example.com", "j_doe%42@mail.co.in", "missing-at.example.com",
+                                     "x@y.toolong", "bad@", ".dot@example.com"};
+    private final String[] pinCodes = {"600001", "600 001", "060001", "6000", "600-001", "6000011"};
+    private final LocalDate[] dates = {LocalDate.of(1990, 5, 17), LocalDate.now().plusDays(1), null};
+    private final LocalDate today = LocalDate.now();
+
+    @Benchmark
+    public int isValidname() {
+        int valid = 0;
+        for (String name : names) {
+            valid += Validator.isValidname(name) ? 1 : 0;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int isValidEmail() {
+        int valid = 0;
+        for (String email : emails) {
+            valid += Validator.isValidEmail(email) ? 1 : 0;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int isValidPinCode() {
+        int valid = 0;
+        for (String pinCode : pinCodes) {
+            valid += Validator.isValidPinCode(pinCode) ? 1 : 0;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int isValidFutureDate() {
+        int valid = 0;
+        for (LocalDate date : dates) {
+            valid += Validator.isValidFutureDate(date) ? 1 : 0;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int validateEmployee() {
+        int errors = 0;
+        for (int i = 0; i < names.length; i++) {
+            errors |= Validator.validateEmployee(names[i], dates[i % dates.length], emails[i], true, "1 Main Street",
+                                                 "Chennai", "TN", pinCodes[i], today);
+        }
+        return errors;
+    }
+}
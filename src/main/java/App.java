@@ -2,7 +2,9 @@ import java.util.Scanner;
 
 import com.ideas2it.employee.controller.EmployeeController;
 import com.ideas2it.department.controller.DepartmentController;
+import com.ideas2it.report.controller.ReportController;
 import com.ideas2it.sports.controller.SportController;
+import com.ideas2it.utilities.HibernateConnection;
 
 /**
  * <p>
@@ -19,6 +21,7 @@ public class App {
         EmployeeController employeeController = new EmployeeController();
         DepartmentController departmentController = new DepartmentController();
         SportController sportController = new  SportController();
+        ReportController reportController = new ReportController();
          
         // Display the main menu
         try {
@@ -27,7 +30,8 @@ public class App {
                 System.out.println("1) Employee Management");
                 System.out.println("2) Department Management");
                 System.out.println("3) Sports");
-                System.out.println("4) Exit");
+                System.out.println("4) Reports");
+                System.out.println("5) Exit");
                 System.out.print("Enter your choice: ");
 
             // Read user input
@@ -45,7 +49,11 @@ public class App {
                         sportController.displaySportMenu();
                         break;
                      case 4:
+                        reportController.displayReportMenu();
+                        break;
+                     case 5:
                         System.out.println("Exiting...!");
+                        HibernateConnection.shutdown();
                         System.exit(0);
                         break;
                      default:
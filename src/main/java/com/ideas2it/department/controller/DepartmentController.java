@@ -1,6 +1,5 @@
 package com.ideas2it.department.controller;
 
-import java.util.List;
 import java.util.Scanner;
 
 import org.apache.logging.log4j.LogManager;
@@ -11,6 +10,7 @@ import com.ideas2it.exceptions.EmployeeException;
 import com.ideas2it.department.service.DepartmentService;
 import com.ideas2it.department.service.DepartmentServiceImpl;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
 import com.ideas2it.utilities.Validator;
 
 /**
@@ -21,9 +21,9 @@ import com.ideas2it.utilities.Validator;
  */
 public class DepartmentController {
     private static final Logger logger = LogManager.getLogger(DepartmentController.class);
+    private static final int PAGE_SIZE = 20;
     private DepartmentService departmentService  = new DepartmentServiceImpl();
     private Validator validator;
-    private static int idCounter = 1; //Set the Id and increment the counter for auto increment Ids
     private Scanner scanner = new Scanner(System.in);
 
     /**
@@ -91,9 +91,8 @@ public class DepartmentController {
                 }
             }
 
-            departmentService.addDepartment(idCounter, name);
+            departmentService.addDepartment(name);
             logger.info("Department added successfully." +name);
-            idCounter++;
         } catch (IllegalArgumentException e) {
             logger.warn(e.getMessage());
         } catch (HibernateException e) {
@@ -164,11 +163,23 @@ public class DepartmentController {
              scanner.nextLine();
              logger.debug("display employee by department ID" +id);
 
-             List<Employee> employees = departmentService.getEmployeesByDepartmentId(id);
-             System.out.printf("Employees in Department %d:\n",id);
-             for(Employee employee : employees) {
-                 System.out.println(employee);
-              }
+             System.out.printf("Employees in Department %d (%d active):\n", id,
+                               departmentService.countActiveEmployees(id));
+             int afterId = 0;
+             while (true) {
+                 Page<Employee> page = departmentService.getEmployeesByDepartmentPage(id, afterId, PAGE_SIZE);
+                 for(Employee employee : page.getItems()) {
+                     System.out.println(employee);
+                 }
+                 if (!page.hasNext()) {
+                     return;
+                 }
+                 System.out.print("Enter N for next page or any other key to stop: ");
+                 if (!scanner.nextLine().trim().equalsIgnoreCase("N")) {
+                     return;
+                 }
+                 afterId = page.getItems().get(page.getItems().size() - 1).getId();
+             }
         } catch (IllegalArgumentException e) {
             logger.warn(e.getMessage());
         } catch (HibernateException e) {
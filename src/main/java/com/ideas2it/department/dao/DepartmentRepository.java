@@ -5,6 +5,7 @@ import java.util.List;
 import com.ideas2it.exceptions.EmployeeException;
 import com.ideas2it.model.Department;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
 
 /**
  *<p>
@@ -25,6 +26,7 @@ public interface DepartmentRepository {
 
     /**
      *Deletes an department from the database by ID.
+     *The department is marked deleted by a single update statement, nothing is loaded.
      *
      *@param id - departemnt to delete.
      */   
@@ -45,6 +47,15 @@ public interface DepartmentRepository {
      */
     public Department findDepartmentById(int id) throws EmployeeException;
 
+    /**
+     * Checks whether a department exists and is not deleted, with a single indexed probe
+     * and without loading the department.
+     *
+     * @param id - department to look for.
+     * @return true if a department with the ID exists and is not deleted.
+     */
+    public boolean existsById(int id) throws EmployeeException;
+
     /**
      * Updates an existing department in the database.
      * @param department - department with update details.
@@ -58,6 +69,27 @@ public interface DepartmentRepository {
      */
     public List<Employee> getEmployeesByDepartmentId(int departmentId) throws EmployeeException;
 
+    /**
+     * Retrieves a page of the active employees of a department ordered by ID.
+     * The filter and the page run in the database on the (department_id, isActive, id)
+     * index, so a page costs the same however many employees the department ever had.
+     *
+     * @param departmentId - ID of the department.
+     * @param afterId - ID of the last employee of the previous page, 0 for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of employees with IDs greater than afterId.
+     */
+    public Page<Employee> getEmployeesByDepartmentPage(int departmentId, int afterId, int pageSize)
+            throws EmployeeException;
+
+    /**
+     * Counts the active employees of a department without loading them.
+     *
+     * @param departmentId - ID of the department.
+     * @return number of active employees in the department.
+     */
+    public long countActiveEmployees(int departmentId) throws EmployeeException;
+
 }
 
 
@@ -1,17 +1,20 @@
 package com.ideas2it.department.dao;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.query.Query;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
 
 import com.ideas2it.exceptions.EmployeeException;
 import com.ideas2it.model.Department;
 import com.ideas2it.model.Employee;
-import com.ideas2it.utilities.HibernateConnection;
+import com.ideas2it.model.Page;
+import com.ideas2it.utilities.UnitOfWork;
 
 
 /**
@@ -25,15 +28,11 @@ public class DepartmentRepositoryImpl implements DepartmentRepository {
 
     @Override
     public void addDepartment(Department department) throws EmployeeException {
-        Transaction transaction = null;
-        try (Session session =  HibernateConnection.getSession()) {
-            transaction = session.beginTransaction();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
             session.save(department);
-            transaction.commit();
+            unitOfWork.commit();
         } catch (HibernateException e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
             logger.error("Error while adding Department: " + department.getName(), e);
             throw new EmployeeException("Error while adding Department: " + department.getName(), e);
         }
@@ -41,19 +40,13 @@ public class DepartmentRepositoryImpl implements DepartmentRepository {
 
     @Override
     public void deleteDepartment(int id) throws EmployeeException {
-        Transaction transaction = null;
-        try (Session session =  HibernateConnection.getSession()) {
-            transaction = session.beginTransaction();
-            Department department = session.get(Department.class, id);
-            if (department != null) {
-                department.setIsDeleted(true);
-                session.update(department);
-            }
-            transaction.commit();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            session.createQuery("UPDATE Department SET isDeleted = true WHERE id = :id")
+                   .setParameter("id", id)
+                   .executeUpdate();
+            unitOfWork.commit();
         } catch (HibernateException e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
             logger.error("Error while deleting Department: " + id, e);
             throw new EmployeeException("Error while deleting Department: " + id, e);
         }
@@ -61,8 +54,10 @@ public class DepartmentRepositoryImpl implements DepartmentRepository {
 
     @Override
     public List<Department> getAllDepartments() throws EmployeeException {
-        try (Session session =  HibernateConnection.getSession()) {
-            return session.createQuery("FROM Department WHERE isDeleted = false", Department.class).list();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            Query<Department> query = session.createQuery("FROM Department WHERE isDeleted = false", Department.class);
+            return query.list();
         } catch (HibernateException e) {
             logger.debug("Error while getting all Departments", e);
             throw new EmployeeException("Error while getting all Departments", e);
@@ -71,7 +66,8 @@ public class DepartmentRepositoryImpl implements DepartmentRepository {
 
     @Override
     public Department findDepartmentById(int id) throws EmployeeException {
-        try (Session session =  HibernateConnection.getSession()) {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
             return session.get(Department.class, id);
         } catch (HibernateException e) {
             logger.error("Error while getting Department by ID: " + id, e);
@@ -79,17 +75,27 @@ public class DepartmentRepositoryImpl implements DepartmentRepository {
         }
     }
 
+    @Override
+    public boolean existsById(int id) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Query<Integer> query = unitOfWork.getSession()
+                    .createQuery("SELECT 1 FROM Department d WHERE d.id = :id AND d.isDeleted = false", Integer.class);
+            query.setParameter("id", id);
+            query.setMaxResults(1);
+            return query.uniqueResult() != null;
+        } catch (HibernateException e) {
+            logger.error("Error while checking Department: " + id, e);
+            throw new EmployeeException("Error while checking Department: " + id, e);
+        }
+    }
+
     @Override
     public void updateDepartment(Department department) throws EmployeeException {
-        Transaction transaction = null;
-        try (Session session =  HibernateConnection.getSession()) {
-            transaction = session.beginTransaction();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
             session.update(department);
-            transaction.commit();
+            unitOfWork.commit();
         } catch (HibernateException e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
             logger.error("Error while updating Department: " + department.getName(), e);
             throw new EmployeeException("Error while updating Department: " + department.getName(), e);
         }
@@ -97,25 +103,63 @@ public class DepartmentRepositoryImpl implements DepartmentRepository {
 
     @Override
     public List<Employee> getEmployeesByDepartmentId(int departmentId) throws EmployeeException {
-        List<Employee> activeEmployees = new ArrayList<>();
-
-        try (Session session = HibernateConnection.getSession()) {
-            Department department = session.get(Department.class, departmentId);
-
-            if (department != null) {
-                for (Employee employee : department.getEmployees()) {
-                    if (employee.getIsActive()) { // Assuming isDeleted() returns the inactive status
-                        activeEmployees.add(employee);
-                    }
-                }
-            }
-
-            return activeEmployees;
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            String hql = "FROM Employee e WHERE e.department.id = :departmentId AND e.isActive = true ORDER BY e.id";
+            Query<Employee> query = session.createQuery(hql, Employee.class);
+            query.setParameter("departmentId", departmentId);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.LIST_VIEW));
+            List<Employee> employees = query.list();
+            initializeSports(employees);
+            return employees;
+        } catch (HibernateException e) {
+            logger.error("Error while getting Employees by Department ID: " + departmentId, e);
+            throw new EmployeeException("Error while getting Employees by Department ID: " + departmentId, e);
+        }
+    }
 
+    @Override
+    public Page<Employee> getEmployeesByDepartmentPage(int departmentId, int afterId, int pageSize)
+            throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            String hql = "FROM Employee e WHERE e.department.id = :departmentId AND e.isActive = true "
+                         + "AND e.id > :afterId ORDER BY e.id";
+            Query<Employee> query = session.createQuery(hql, Employee.class);
+            query.setParameter("departmentId", departmentId);
+            query.setParameter("afterId", afterId);
+            query.setMaxResults(pageSize + 1);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.LIST_VIEW));
+            Page<Employee> page = Page.of(query.list(), pageSize);
+            initializeSports(page.getItems());
+            return page;
         } catch (HibernateException e) {
             logger.error("Error while getting Employees by Department ID: " + departmentId, e);
             throw new EmployeeException("Error while getting Employees by Department ID: " + departmentId, e);
         }
     }
 
-}
\ No newline at end of file
+    @Override
+    public long countActiveEmployees(int departmentId) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            String hql = "SELECT count(e.id) FROM Employee e WHERE e.department.id = :departmentId "
+                         + "AND e.isActive = true";
+            Query<Long> query = unitOfWork.getSession().createQuery(hql, Long.class);
+            query.setParameter("departmentId", departmentId);
+            return query.uniqueResult();
+        } catch (HibernateException e) {
+            logger.error("Error while counting Employees by Department ID: " + departmentId, e);
+            throw new EmployeeException("Error while counting Employees by Department ID: " + departmentId, e);
+        }
+    }
+
+    /**
+     * Loads the sports of the given employees while the session is open. Sports are
+     * batch fetched, so this costs one statement per {@code @BatchSize} employees.
+     */
+    private void initializeSports(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            Hibernate.initialize(employee.getSports());
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.ideas2it.department.service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 import com.ideas2it.exceptions.EmployeeException;
 import com.ideas2it.model.Department;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
+import com.ideas2it.utilities.AsyncExecutor;
+import com.ideas2it.utilities.KeysetPublisher;
 
 /**
  *<p>
@@ -18,10 +23,9 @@ public interface DepartmentService {
 
     /**
      * Adds a new department to the repository.
-     * @param id - The unique identifier for the department.
      * @param name - The name of the department.
      */
-    public void addDepartment(int id, String name) throws EmployeeException;
+    public void addDepartment(String name) throws EmployeeException;
 
     /**
      * Remove a department from the repository by its Id.
@@ -42,7 +46,7 @@ public interface DepartmentService {
      * Retrieves a department by its unique identifier.
      *
      *@param id - The unique identifier of the department.
-     *@return The department with the given ID, or null if not found.
+     *@return The active department with the given ID, or null if not found or removed.
      */
     public Department getDepartmentById(int id) throws EmployeeException;
 
@@ -63,4 +67,95 @@ public interface DepartmentService {
      */    
     public List<Employee> getEmployeesByDepartmentId(int id) throws EmployeeException;
 
+    /**
+     * Retrieves a page of the active employees of a department ordered by ID.
+     *
+     * @param id - ID of the department.
+     * @param afterId - ID of the last employee of the previous page, 0 for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of employees with IDs greater than afterId.
+     */
+    public Page<Employee> getEmployeesByDepartmentPage(int id, int afterId, int pageSize) throws EmployeeException;
+
+    /**
+     * Counts the active employees of a department.
+     *
+     * @param id - ID of the department.
+     * @return number of active employees in the department.
+     */
+    public long countActiveEmployees(int id) throws EmployeeException;
+
+    /*
+     * Asynchronous counterparts of the operations above. Each one runs the blocking call on
+     * the AsyncExecutor, in its own unit of work, and returns at once, so independent calls
+     * can be started together and joined with CompletableFuture.allOf or thenCombine.
+     */
+
+    /**
+     * Runs {@link #addDepartment} asynchronously.
+     */
+    default CompletableFuture<Void> addDepartmentAsync(String name) {
+        return AsyncExecutor.run(() -> addDepartment(name));
+    }
+
+    /**
+     * Runs {@link #removeDepartment} asynchronously.
+     */
+    default CompletableFuture<Void> removeDepartmentAsync(int id) {
+        return AsyncExecutor.run(() -> removeDepartment(id));
+    }
+
+    /**
+     * Runs {@link #getAllDepartments} asynchronously.
+     */
+    default CompletableFuture<List<Department>> getAllDepartmentsAsync() {
+        return AsyncExecutor.supply(() -> getAllDepartments());
+    }
+
+    /**
+     * Runs {@link #getDepartmentById} asynchronously.
+     */
+    default CompletableFuture<Department> getDepartmentByIdAsync(int id) {
+        return AsyncExecutor.supply(() -> getDepartmentById(id));
+    }
+
+    /**
+     * Runs {@link #updateDepartment} asynchronously.
+     */
+    default CompletableFuture<Void> updateDepartmentAsync(int id, String name) {
+        return AsyncExecutor.run(() -> updateDepartment(id, name));
+    }
+
+    /**
+     * Runs {@link #getEmployeesByDepartmentId} asynchronously.
+     */
+    default CompletableFuture<List<Employee>> getEmployeesByDepartmentIdAsync(int id) {
+        return AsyncExecutor.supply(() -> getEmployeesByDepartmentId(id));
+    }
+
+    /**
+     * Runs {@link #getEmployeesByDepartmentPage} asynchronously.
+     */
+    default CompletableFuture<Page<Employee>> getEmployeesByDepartmentPageAsync(int id, int afterId, int pageSize) {
+        return AsyncExecutor.supply(() -> getEmployeesByDepartmentPage(id, afterId, pageSize));
+    }
+
+    /**
+     * Runs {@link #countActiveEmployees} asynchronously.
+     */
+    default CompletableFuture<Long> countActiveEmployeesAsync(int id) {
+        return AsyncExecutor.supply(() -> countActiveEmployees(id));
+    }
+
+    /**
+     * Publishes the active employees of a department ordered by ID, read page by page
+     * as the subscriber requests them.
+     *
+     * @param id - ID of the department.
+     * @return a publisher giving each subscriber its own pass over the roster.
+     */
+    default Flow.Publisher<Employee> publishEmployeesByDepartment(int id) {
+        return new KeysetPublisher<>((last, pageSize) ->
+                getEmployeesByDepartmentPage(id, last == null ? 0 : last.getId(), pageSize));
+    }
 }
@@ -1,6 +1,7 @@
 package com.ideas2it.department.service;
 
 import java.util.List;
+import java.util.function.UnaryOperator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -9,16 +10,33 @@ import com.ideas2it.department.dao.DepartmentRepository;
 import com.ideas2it.department.dao.DepartmentRepositoryImpl;
 import com.ideas2it.model.Department;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
+import com.ideas2it.report.service.ReportCache;
+import com.ideas2it.report.service.ReportCache.Report;
+import com.ideas2it.utilities.ReferenceSnapshot;
+import com.ideas2it.utilities.UnitOfWork;
 
 /**
  * <p>
  * Implement if DepartmentService interface to handle department-related operations.
  * </p>
+ * Active departments are read from an immutable snapshot shared by every instance, loaded
+ * on first use and replaced by a new copy after each committed write, so lookups take no
+ * lock and make no database call. The snapshot holds id and name copies and hands out a new
+ * copy on every read, without a roster: use {@link #getEmployeesByDepartmentId} for that.
+ * Writes of other processes are picked up when the snapshot is reloaded, once it is older
+ * than {@code reference.snapshot.ttlSeconds}, or at once for a department looked up by id
+ * that the snapshot does not hold.
  * @author  Kishore 
  * @version 1.0 
  */
 public class DepartmentServiceImpl implements DepartmentService {
     private static final Logger logger = LogManager.getLogger(DepartmentServiceImpl.class);
+    // How long the snapshot is trusted before it is read again, to see the writes of other instances
+    private static final long SNAPSHOT_TTL_MILLIS = Integer.getInteger("reference.snapshot.ttlSeconds", 60)
+                                                    * 1000L;
+    private static final Object snapshotLock = new Object();
+    private static volatile ReferenceSnapshot<Department> snapshot;
     private DepartmentRepository departmentRepository;
 
     public DepartmentServiceImpl() {
@@ -26,41 +44,55 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
-    public void addDepartment(int id, String name) throws EmployeeException {
-        Department department = new Department(id, name);
-        departmentRepository.addDepartment(department);
+    public void addDepartment(String name) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Department department = new Department(name);
+            departmentRepository.addDepartment(department);
+            unitOfWork.afterCommit(() -> publish(departments -> departments.with(department)));
+            unitOfWork.commit();
+        }
     }
 
     @Override
     public void removeDepartment(int id) throws IllegalArgumentException, EmployeeException {
-        Department department = departmentRepository.findDepartmentById(id);
-        if (department != null) {
-            departmentRepository.deleteDepartment(id);
-        } else {
-            logger.error("Department not found" +id);
-            throw new IllegalArgumentException("Department not found" +id);
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            if (departmentRepository.existsById(id)) {
+                departmentRepository.deleteDepartment(id);
+                unitOfWork.afterCommit(() -> publish(departments -> departments.without(id)));
+            } else {
+                logger.error("Department not found" +id);
+                throw new IllegalArgumentException("Department not found" +id);
+            }
+            unitOfWork.commit();
         }
     }
 
     @Override 
     public List<Department> getAllDepartments() throws EmployeeException {
-        return departmentRepository.getAllDepartments();
+        return getSnapshot().getAll();
     }
 
     @Override
     public Department getDepartmentById(int id) throws EmployeeException {
-        return departmentRepository.findDepartmentById(id);
+        Department department = getSnapshot().get(id);
+        return department != null ? department : findMissing(id);
     }
 
     @Override
     public void updateDepartment(int id, String name) throws IllegalArgumentException, EmployeeException {
-        Department department = departmentRepository.findDepartmentById(id);
-        if (department != null) {
-            department.setName(name);
-            departmentRepository.updateDepartment(department);
-        } else {
-            logger.error("Department not found" +id);
-            throw new IllegalArgumentException("Department not found"+id);
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Department department = departmentRepository.findDepartmentById(id);
+            if (department != null) {
+                department.setName(name);
+                departmentRepository.updateDepartment(department);
+                if (!department.getIsDeleted()) {
+                    unitOfWork.afterCommit(() -> publish(departments -> departments.with(department)));
+                }
+            } else {
+                logger.error("Department not found" +id);
+                throw new IllegalArgumentException("Department not found"+id);
+            }
+            unitOfWork.commit();
         }
     }
 
@@ -69,4 +101,77 @@ public class DepartmentServiceImpl implements DepartmentService {
         return departmentRepository.getEmployeesByDepartmentId(id);
     }
 
+    @Override
+    public Page<Employee> getEmployeesByDepartmentPage(int id, int afterId, int pageSize) throws EmployeeException {
+        return departmentRepository.getEmployeesByDepartmentPage(id, afterId, pageSize);
+    }
+
+    @Override
+    public long countActiveEmployees(int id) throws EmployeeException {
+        return departmentRepository.countActiveEmployees(id);
+    }
+
+    /**
+     * Retrieves the snapshot of active departments, loading it on first use and reloading it
+     * once it is older than {@code reference.snapshot.ttlSeconds} (60 by default).
+     */
+    private ReferenceSnapshot<Department> getSnapshot() throws EmployeeException {
+        ReferenceSnapshot<Department> current = snapshot;
+        if (current == null || current.isOlderThan(SNAPSHOT_TTL_MILLIS)) {
+            synchronized (snapshotLock) {
+                current = snapshot;
+                if (current == null || current.isOlderThan(SNAPSHOT_TTL_MILLIS)) {
+                    current = ReferenceSnapshot.of(departmentRepository.getAllDepartments(), Department::getId,
+                                                   DepartmentServiceImpl::copyOf);
+                    snapshot = current;
+                    logger.info("Department snapshot loaded: " + current);
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reads a department the snapshot does not hold from the database, in case another instance
+     * added it since the snapshot was loaded, and adds it to the snapshot if it is active.
+     *
+     * @return a copy of the department, or null if it does not exist or was removed.
+     */
+    private Department findMissing(int id) throws EmployeeException {
+        Department stored = departmentRepository.findDepartmentById(id);
+        if (stored == null || stored.getIsDeleted()) {
+            return null;
+        }
+        synchronized (snapshotLock) {
+            if (snapshot != null) {
+                snapshot = snapshot.with(stored);
+            }
+        }
+        return copyOf(stored);
+    }
+
+    /**
+     * Copies the id and name of a department, the snapshot never holds or hands out an entity
+     * a caller could change or whose lazy roster it could touch outside a session.
+     */
+    private static Department copyOf(Department department) {
+        Department copy = new Department();
+        copy.setId(department.getId());
+        copy.setName(department.getName());
+        return copy;
+    }
+
+    /**
+     * Replaces the snapshot with a changed copy. Nothing is done before the first load,
+     * which will read the change from the database. The reports built on the table are
+     * marked dirty either way.
+     */
+    private static void publish(UnaryOperator<ReferenceSnapshot<Department>> change) {
+        synchronized (snapshotLock) {
+            if (snapshot != null) {
+                snapshot = change.apply(snapshot);
+            }
+        }
+        ReportCache.markDirty(Report.DEPARTMENT_HEADCOUNT);
+    }
 }
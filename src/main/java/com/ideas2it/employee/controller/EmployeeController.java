@@ -1,6 +1,8 @@
 package com.ideas2it.employee.controller;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
@@ -12,9 +14,17 @@ import com.ideas2it.exceptions.EmployeeException;
 import com.ideas2it.employee.service.EmployeeService;
 import com.ideas2it.employee.service.EmployeeServiceImpl;
 import com.ideas2it.model.Address;
+import com.ideas2it.model.AgeBracket;
 import com.ideas2it.model.Department;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.EmployeeFilter;
+import com.ideas2it.model.EmployeeSearchHit;
+import com.ideas2it.model.EmployeeSummary;
+import com.ideas2it.model.ExportFormat;
+import com.ideas2it.model.ExportResult;
+import com.ideas2it.model.Page;
 import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportAssignmentResult;
 import com.ideas2it.utilities.Validator;
 
 /**
@@ -25,9 +35,11 @@ import com.ideas2it.utilities.Validator;
  */
 public class EmployeeController {
     private static final Logger logger = LogManager.getLogger(EmployeeController.class);
+    private static final int PAGE_SIZE = 20;
+    private static final int SEARCH_LIMIT = 20;
+    private static final int[] AGE_BOUNDARIES = {25, 35, 45, 55};
     private EmployeeService employeeService = new EmployeeServiceImpl();
     private Validator validator;
-    private static int idCounter = 1;  //Set the Id and increment the counter for auto increment Ids
     private Scanner scanner = new Scanner(System.in);
 
     /**
@@ -44,7 +56,12 @@ public class EmployeeController {
                 System.out.println("5) Update Employee");
                 System.out.println("6) Add Sport To Employee");
                 System.out.println("7) Remove Sport From Employee");
-                System.out.println("8) Back to Main Menu");
+                System.out.println("8) Export Employees");
+                System.out.println("9) Search Employees");
+                System.out.println("10) Filter Employees");
+                System.out.println("11) Upcoming Birthdays");
+                System.out.println("12) Age Brackets");
+                System.out.println("13) Back to Main Menu");
                 System.out.println("-----------------------------"); 
                 System.out.print("Enter your choice: ");
                 int choice = scanner.nextInt();
@@ -72,7 +89,22 @@ public class EmployeeController {
                     case 7:
                         removeSportFromEmployee();
                         break;
-                        case 8:
+                    case 8:
+                        exportEmployees();
+                        break;
+                    case 9:
+                        searchEmployees();
+                        break;
+                    case 10:
+                        filterEmployees();
+                        break;
+                    case 11:
+                        displayUpcomingBirthdays();
+                        break;
+                    case 12:
+                        displayAgeBrackets();
+                        break;
+                        case 13:
                            return;
                         default:
                            System.out.println("Invalid choice.");
@@ -186,9 +218,8 @@ public class EmployeeController {
             }
 
             Address address = new Address(street, city, state, zip);
-            employeeService.addEmployee(idCounter, name, dob, emailId, deptId,address);
+            employeeService.addEmployee(name, dob, emailId, deptId,address);
             logger.info("Employee added successfully." +name);
-            idCounter++;
         } catch (IllegalArgumentException e) {
             logger.warn(e.getMessage());
         } catch (HibernateException e) {
@@ -217,16 +248,28 @@ public class EmployeeController {
     }
     
     /**
-     * Displays all employees in the system.
+     * Displays all employees in the system, one page at a time.
+     * The next page is only fetched when the user asks for it.
      */
     public void displayAllEmployees() throws EmployeeException {
         try {
             logger.debug("Getting employee list");
-            List<Employee> employees = employeeService.getAllEmployees();
-            System.out.printf("|%-10s | %-20s | %-5s | %-20s | %-30s| %-25s | %-30s |\n ","ID",
-                            "Name","AGE", "DEPARTMENTNAME", "EMAILID", "SPORTLIST", "ADDRESS");
-            for (Employee employee : employees) {
-                System.out.println(employee);
+            int afterId = 0;
+            while (true) {
+                Page<EmployeeSummary> page = employeeService.getEmployeeSummariesPage(afterId, PAGE_SIZE);
+                System.out.printf("|%-10s | %-20s | %-5s | %-20s | %-30s| %-25s | %-30s |\n ","ID",
+                                "Name","AGE", "DEPARTMENTNAME", "EMAILID", "SPORTLIST", "ADDRESS");
+                for (EmployeeSummary employee : page.getItems()) {
+                    System.out.println(employee);
+                }
+                if (!page.hasNext()) {
+                    return;
+                }
+                System.out.print("Enter N for next page or any other key to stop: ");
+                if (!scanner.nextLine().trim().equalsIgnoreCase("N")) {
+                    return;
+                }
+                afterId = page.getItems().get(page.getItems().size() - 1).getId();
             }
         } catch (HibernateException e) {
             logger.error("Error while display employee list ", e);
@@ -257,6 +300,145 @@ public class EmployeeController {
         }
     }
 
+    /**
+     * Prompts the user for a name or email and displays the matching employees.
+     */
+    public void searchEmployees() throws IllegalArgumentException, EmployeeException {
+        try {
+            System.out.print("Enter name or email to search: ");
+            String query = scanner.nextLine();
+            logger.debug("Searching employees: " + query);
+
+            List<EmployeeSearchHit> hits = employeeService.search(query, SEARCH_LIMIT);
+            if (hits.isEmpty()) {
+                System.out.println("No employees found.");
+            }
+            for (EmployeeSearchHit hit : hits) {
+                System.out.println(hit);
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn(e.getMessage());
+        } catch (HibernateException e) {
+            logger.error("Error while searching employees" + e.getMessage());
+        }
+    }
+
+    /**
+     * Prompts the user for the conditions and order of a filter and displays the
+     * matching employees page by page. Blank answers leave a condition unset.
+     */
+    public void filterEmployees() throws IllegalArgumentException, EmployeeException {
+        try {
+            EmployeeFilter filter = EmployeeFilter.activeEmployees()
+                    .inDepartment(readOptionalNumber("Department Id"))
+                    .playing(readOptionalNumber("Sport Id"))
+                    .agedBetween(readOptionalNumber("Minimum age"), readOptionalNumber("Maximum age"))
+                    .inCity(readOptionalText("City"))
+                    .inState(readOptionalText("State"))
+                    .withZipStartingWith(readOptionalText("Zip code prefix"));
+            System.out.print("Sort by (1) ID (2) Name (3) Date of birth, add D for descending [1]: ");
+            String sort = scanner.nextLine().trim().toUpperCase();
+            boolean descending = sort.endsWith("D");
+            switch (descending ? sort.substring(0, sort.length() - 1).trim() : sort) {
+                case "2":
+                    filter = filter.sortedBy(EmployeeFilter.Sort.NAME, descending);
+                    break;
+                case "3":
+                    filter = filter.sortedBy(EmployeeFilter.Sort.DOB, descending);
+                    break;
+                default:
+                    filter = filter.sortedBy(EmployeeFilter.Sort.ID, descending);
+            }
+            logger.debug("Filtering employees: " + filter);
+
+            System.out.printf("Employees where %s (%d):\n", filter, employeeService.countEmployees(filter));
+            Employee after = null;
+            while (true) {
+                Page<Employee> page = employeeService.filterEmployees(filter, after, PAGE_SIZE);
+                for (Employee employee : page.getItems()) {
+                    System.out.println(employee);
+                }
+                if (!page.hasNext()) {
+                    return;
+                }
+                System.out.print("Enter N for next page or any other key to stop: ");
+                if (!scanner.nextLine().trim().equalsIgnoreCase("N")) {
+                    return;
+                }
+                after = page.getItems().get(page.getItems().size() - 1);
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn(e.getMessage());
+        } catch (HibernateException e) {
+            logger.error("Error while filtering employees" + e.getMessage());
+        }
+    }
+
+    /**
+     * Prompts the user for a number of days and displays the employees whose birthday
+     * comes within them, page by page.
+     */
+    public void displayUpcomingBirthdays() throws IllegalArgumentException, EmployeeException {
+        try {
+            System.out.print("Enter number of days ahead: ");
+            int days = scanner.nextInt();
+            scanner.nextLine();
+            Employee after = null;
+            while (true) {
+                Page<Employee> page = employeeService.getUpcomingBirthdays(days, after, PAGE_SIZE);
+                for (Employee employee : page.getItems()) {
+                    System.out.println(employee.getDob() + " " + employee);
+                }
+                if (!page.hasNext()) {
+                    return;
+                }
+                System.out.print("Enter N for next page or any other key to stop: ");
+                if (!scanner.nextLine().trim().equalsIgnoreCase("N")) {
+                    return;
+                }
+                after = page.getItems().get(page.getItems().size() - 1);
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn(e.getMessage());
+        } catch (HibernateException e) {
+            logger.error("Error while getting upcoming birthdays" + e.getMessage());
+        }
+    }
+
+    /**
+     * Displays how many active employees fall in each age bracket.
+     */
+    public void displayAgeBrackets() throws EmployeeException {
+        try {
+            System.out.println(String.format("|%-10s | %-10s |", "Age", "Employees"));
+            for (AgeBracket bracket : employeeService.getAgeBrackets(AGE_BOUNDARIES)) {
+                System.out.println(bracket);
+            }
+        } catch (HibernateException e) {
+            logger.error("Error while counting employees by age" + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads an optional number, blank for none.
+     *
+     * @throws IllegalArgumentException if the answer is not a number.
+     */
+    private Integer readOptionalNumber(String label) {
+        String answer = readOptionalText(label);
+        try {
+            return answer == null ? null : Integer.valueOf(answer);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + label + ": " + answer);
+        }
+    }
+
+    private String readOptionalText(String label) {
+        System.out.print(label + " (blank for any): ");
+        String answer = scanner.nextLine().trim();
+        return answer.isEmpty() ? null : answer;
+    }
+
     /**
      * Prompts the user to update an existing employee's details.
      */
@@ -377,13 +559,13 @@ public class EmployeeController {
         }
     }
     /**
-     * Prompts the user to add a sport to an employee.
+     * Prompts the user to add a sport to one or more employees.
      */
     public void addSportToEmployee() throws IllegalArgumentException, EmployeeException {
         try {
             logger.debug("Employee added to sport initiated");
-            System.out.println("Enter Employee Id: ");
-            int employeeId = scanner.nextInt();
+            System.out.println("Enter Employee Ids (comma separated): ");
+            List<Integer> employeeIds = readEmployeeIds();
 
             for (Sport sport : employeeService.getAllSports()) {
             System.out.println("ID = " +sport.getId()+ " Name = " +sport.getName());
@@ -392,9 +574,11 @@ public class EmployeeController {
             int sportId = scanner.nextInt();
             scanner.nextLine();
 
-            employeeService.addSportToEmployee(employeeId, sportId);
-            logger.info("Sport added to employee successfully.");
-            System.out.println("Sport added to employee successfully.");
+            SportAssignmentResult result = employeeService.addSportToEmployees(sportId, employeeIds);
+            logger.info("Sport added to employees: " + result);
+            System.out.println("Sport added to " + result.getChanged().size() + " employees, "
+                               + result.getSkipped().size() + " already played it.");
+            printNotFound(result);
         } catch (IllegalArgumentException e) {
             logger.warn(e.getMessage());
         } catch (HibernateException e) {
@@ -403,24 +587,71 @@ public class EmployeeController {
     }
     
     /**
-     * Prompts the user to remove a sport form an employee.
+     * Prompts the user to remove a sport form one or more employees.
      */
     public void removeSportFromEmployee() throws IllegalArgumentException, EmployeeException {
         try {
             logger.debug("Employee remove to sport initiated");
-            System.out.print("Enter Employee Id: ");
-            int employeeId = scanner.nextInt();
+            System.out.print("Enter Employee Ids (comma separated): ");
+            List<Integer> employeeIds = readEmployeeIds();
             System.out.print("Enter Sport Id: ");
             int sportId = scanner.nextInt();
             scanner.nextLine();
 
-            employeeService.removeSportFromEmployee(employeeId, sportId);
-            logger.info("Sport removed to employee successfully.");
-            System.out.println("Sport removed from employee successfully.");
+            SportAssignmentResult result = employeeService.removeSportFromEmployees(sportId, employeeIds);
+            logger.info("Sport removed from employees: " + result);
+            System.out.println("Sport removed from " + result.getChanged().size() + " employees, "
+                               + result.getSkipped().size() + " did not play it.");
+            printNotFound(result);
         } catch (IllegalArgumentException e) {
             logger.error(e.getMessage());
         } catch (HibernateException e) {
             logger.error("Unable to remove sport to project"+ e.getMessage());
         }
     }
-}
+
+    /**
+     * Reads a comma separated list of employee IDs.
+     *
+     * @throws IllegalArgumentException if an entry is not a number.
+     */
+    private List<Integer> readEmployeeIds() {
+        List<Integer> employeeIds = new ArrayList<>();
+        for (String entry : scanner.nextLine().split(",")) {
+            if (!entry.trim().isEmpty()) {
+                try {
+                    employeeIds.add(Integer.parseInt(entry.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid employee ID: " + entry.trim());
+                }
+            }
+        }
+        return employeeIds;
+    }
+
+    private void printNotFound(SportAssignmentResult result) {
+        if (!result.getNotFound().isEmpty()) {
+            System.out.println("Employees not found: " + result.getNotFound());
+        }
+    }
+
+    /**
+     * Prompts the user for a file and format and exports all employees to it.
+     */
+    public void exportEmployees() throws EmployeeException {
+        try {
+            System.out.print("Enter file to export to: ");
+            String file = scanner.nextLine();
+            System.out.print("Enter format (1 = CSV, 2 = JSON Lines): ");
+            ExportFormat format = scanner.nextLine().trim().equals("2") ? ExportFormat.JSON_LINES : ExportFormat.CSV;
+            logger.debug("Employee export initiated to " + file);
+
+            ExportResult result = employeeService.exportEmployees(Paths.get(file), format);
+            System.out.println(result);
+        } catch (IllegalArgumentException e) {
+            logger.warn(e.getMessage());
+        } catch (HibernateException e) {
+            logger.error("Unable to export employees" + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
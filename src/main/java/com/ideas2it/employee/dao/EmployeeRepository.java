@@ -1,9 +1,20 @@
 package com.ideas2it.employee.dao;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.BulkInsertResult;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.EmployeeFilter;
+import com.ideas2it.model.EmployeeSearchHit;
+import com.ideas2it.model.EmployeeSummary;
+import com.ideas2it.model.Page;
+import com.ideas2it.model.SportAssignmentResult;
 
 /**
  * Repository for managing employees, including adding, removing, updating and retrieving employees.
@@ -19,8 +30,19 @@ public interface EmployeeRepository {
      */
     public void addEmployee(Employee employee) throws EmployeeException;
 
+    /**
+     * Adds many employees to the database using JDBC batching.
+     * Rows are committed in chunks and the session is flushed and cleared every
+     * JDBC batch, so memory stays flat however many employees are given.
+     *
+     * @param employees - employees to be added, each with its department set.
+     * @return the outcome of every chunk.
+     */
+    public BulkInsertResult addEmployees(Collection<Employee> employees) throws EmployeeException;
+
    /**
     * Deletes an employee from the database by ID.
+    * The employee is marked inactive by a single update statement, nothing is loaded.
     *
     * @param id - employee to delete.
     */
@@ -33,6 +55,128 @@ public interface EmployeeRepository {
      */
     public List<Employee> getAllEmployees() throws EmployeeException;
 
+    /**
+     * Retrieves a page of active employees ordered by ID.
+     * Pages are read with keyset pagination, so fetching a page costs the same
+     * wherever it is in the table.
+     *
+     * @param afterId - ID of the last employee of the previous page, 0 for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of employees with IDs greater than afterId.
+     */
+    public Page<Employee> getEmployeesPage(int afterId, int pageSize) throws EmployeeException;
+
+    /**
+     * Retrieves a page of active employees ordered by ID as read only summaries.
+     * The summaries come from one projection query with the sport names aggregated
+     * in the database, nothing is added to the persistence context.
+     *
+     * @param afterId - ID of the last employee of the previous page, 0 for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of employee summaries with IDs greater than afterId.
+     */
+    public Page<EmployeeSummary> getEmployeeSummariesPage(int afterId, int pageSize) throws EmployeeException;
+
+    /**
+     * Retrieves a page of the employees matching a filter, in the order of the filter.
+     *
+     * @param filter - conditions and order of the employees.
+     * @param after - last employee of the previous page, null for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of the employees following after.
+     */
+    public Page<Employee> findEmployees(EmployeeFilter filter, Employee after, int pageSize) throws EmployeeException;
+
+    /**
+     * Counts the employees matching a filter.
+     *
+     * @param filter - conditions of the employees, the order is ignored.
+     * @return the number of matching employees.
+     */
+    public long countEmployees(EmployeeFilter filter) throws EmployeeException;
+
+    /**
+     * Streams every active employee, ordered by ID, to the given consumer.
+     * Rows are read through a forward only cursor with a bounded fetch size and the
+     * session is cleared periodically, so memory stays flat whatever the row count.
+     * The employees handed to the consumer must not be kept after it returns.
+     *
+     * @param consumer - receives the employees one at a time.
+     * @return the number of employees streamed.
+     */
+    public long forEachActiveEmployee(Consumer<Employee> consumer) throws EmployeeException;
+
+    /**
+     * Streams the ID, name and email of every active employee to the given consumer,
+     * without loading any entity.
+     *
+     * @param consumer - receives the employees one at a time.
+     * @return the number of employees streamed.
+     */
+    public long forEachSearchHit(Consumer<EmployeeSearchHit> consumer) throws EmployeeException;
+
+    /**
+     * Fills the columns derived from other columns, the normalized email and the
+     * birthday key, of the employees stored before these columns existed.
+     *
+     * @return the number of employees updated.
+     */
+    public int backfillDerivedColumns() throws EmployeeException;
+
+    /**
+     * Retrieves a page of the active employees whose birthday key is within a range,
+     * ordered by birthday key then ID.
+     *
+     * @param fromKey - first birthday key, as month * 100 + day.
+     * @param toKey - last birthday key, not lower than fromKey.
+     * @param afterKey - birthday key of the last employee of the previous page, 0 for the first page.
+     * @param afterId - ID of the last employee of the previous page, 0 for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of employees following the previous one.
+     */
+    public Page<Employee> getEmployeesByBirthdayKey(int fromKey, int toKey, int afterKey, int afterId, int pageSize)
+            throws EmployeeException;
+
+    /**
+     * Counts the active employees in bands of date of birth, with one query.
+     *
+     * @param cutoffs - dates bounding the bands, latest first.
+     * @return cutoffs.size() + 1 counts: born after the first cutoff, then born on or before
+     *         each cutoff and after the next one, then born on or before the last cutoff.
+     */
+    public long[] countActiveEmployeesByBirthBand(List<LocalDate> cutoffs) throws EmployeeException;
+
+    /**
+     * Counts the employees, active or not, that have an email.
+     *
+     * @return the number of stored emails.
+     */
+    public long countEmails() throws EmployeeException;
+
+    /**
+     * Streams the normalized email of every employee, active or not, to the given consumer.
+     *
+     * @param consumer - receives the emails one at a time.
+     * @return the number of emails streamed.
+     */
+    public long forEachNormalizedEmail(Consumer<String> consumer) throws EmployeeException;
+
+    /**
+     * Finds an employee by email, ignoring case and surrounding spaces.
+     *
+     * @param emailId - email to find.
+     * @return The employee if found, null otherwise.
+     */
+    public Employee findEmployeeByEmail(String emailId) throws EmployeeException;
+
+    /**
+     * Picks, among the given normalized emails, the ones some employee already uses.
+     *
+     * @param normalizedEmails - emails to check, normalized.
+     * @return the emails already in use.
+     */
+    public Set<String> findExistingEmails(Collection<String> normalizedEmails) throws EmployeeException;
+
     /**
      * Finds an employee by ID.
      *
@@ -41,6 +185,15 @@ public interface EmployeeRepository {
      */
     public Employee findEmployeeById(int id) throws EmployeeException;
 
+    /**
+     * Checks whether an active employee exists, with a single indexed probe and without
+     * loading the employee.
+     *
+     * @param id - employee to look for.
+     * @return true if an employee with the ID exists and is active.
+     */
+    public boolean existsById(int id) throws EmployeeException;
+
     /**
      * Updates an existing employee in the database.
      *
@@ -63,6 +216,38 @@ public interface EmployeeRepository {
      * @param sportId - Id of sport.
      */
     public void removeSportFromEmployee(int employeeId, int sportId) throws EmployeeException;
+
+    /**
+     * Adds a sport to many employees in one transaction.
+     *
+     * @param sportId - Id of sport, must exist.
+     * @param employeeIds - distinct Ids of employees.
+     * @return the employees that joined the sport, were already members or were not found.
+     */
+    public SportAssignmentResult addSportToEmployees(int sportId, Collection<Integer> employeeIds)
+            throws EmployeeException;
+
+    /**
+     * Removes a sport from many employees in one transaction.
+     *
+     * @param sportId - Id of sport, must exist.
+     * @param employeeIds - distinct Ids of employees.
+     * @return the employees that left the sport, were not members or were not found.
+     */
+    public SportAssignmentResult removeSportFromEmployees(int sportId, Collection<Integer> employeeIds)
+            throws EmployeeException;
+
+    /**
+     * Queues a sport membership change, written later together with the changes queued
+     * around it in one transaction.
+     *
+     * @param employeeId - Id of employee.
+     * @param sportId - Id of sport, must exist.
+     * @param member - true to add the sport to the employee, false to remove it.
+     * @return the future completed once the change is committed, or failed with an
+     *         IllegalArgumentException if the employee is not found.
+     */
+    public CompletableFuture<Void> queueSportChange(int employeeId, int sportId, boolean member);
               
 }
        
@@ -1,18 +1,43 @@
 package com.ideas2it.employee.dao;
 
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import javax.persistence.PersistenceException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.jpa.QueryHints;
 import org.hibernate.query.Query;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
 import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.BulkInsertResult;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.EmployeeFilter;
+import com.ideas2it.model.EmployeeSearchHit;
+import com.ideas2it.model.EmployeeSummary;
+import com.ideas2it.model.Page;
 import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportAssignmentResult;
+import com.ideas2it.sports.dao.SportMembershipIndex;
 import com.ideas2it.utilities.HibernateConnection;
+import com.ideas2it.utilities.UnitOfWork;
 
 /**
  * Repository for managing employees, including adding, removing, updating and retrieving employees.
@@ -21,78 +46,549 @@ import com.ideas2it.utilities.HibernateConnection;
  */
 public class EmployeeRepositoryImpl implements EmployeeRepository {
         private static final Logger logger = LogManager.getLogger(EmployeeRepository.class);
+    private static final int CHUNK_SIZE = 1000;
+    private static final int STREAM_FETCH_SIZE = 1000;
+    static final String INSERT_MEMBERSHIP = "INSERT INTO employee_sport (Employee_ID, SPORT_ID) VALUES (?, ?)";
+    static final String DELETE_MEMBERSHIP = "DELETE FROM employee_sport WHERE Employee_ID = ? AND SPORT_ID = ?";
+    // Generated filter queries by filter shape, so each shape is built once and then found in the query plan cache
+    private static final Map<String, String> FILTER_QUERIES = new ConcurrentHashMap<>();
 
     @Override
     public void addEmployee(Employee employee) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            session.save(employee);
+            unitOfWork.afterCommit(() -> SportMembershipIndex.getInstance().addEmployee(employee.getId()));
+            unitOfWork.commit();
+        } catch (HibernateException e) {
+            logger.error("Error while adding Employee: " + employee.getName(), e);
+            throw new EmployeeException("Error while adding Employee: " + employee.getName(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Each chunk runs in its own session and transaction, outside any unit of work,
+     * so a failing chunk is rolled back without losing the chunks committed before it.
+     */
+    @Override
+    public BulkInsertResult addEmployees(Collection<Employee> employees) throws EmployeeException {
+        BulkInsertResult result = new BulkInsertResult();
+        int batchSize = HibernateConnection.getBatchSize();
+        Iterator<Employee> iterator = employees.iterator();
+        int firstRow = 0;
+        while (iterator.hasNext()) {
+            List<Employee> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (iterator.hasNext() && chunk.size() < CHUNK_SIZE) {
+                chunk.add(iterator.next());
+            }
+            Session session = HibernateConnection.getSession();
+            Transaction transaction = null;
+            try {
+                transaction = session.beginTransaction();
+                for (int i = 0; i < chunk.size(); i++) {
+                    session.save(chunk.get(i));
+                    if ((i + 1) % batchSize == 0) {
+                        session.flush();
+                        session.clear();
+                    }
+                }
+                transaction.commit();
+                for (Employee employee : chunk) {
+                    SportMembershipIndex.getInstance().addEmployee(employee.getId());
+                }
+                result.addChunk(firstRow, chunk.size(), null);
+            } catch (PersistenceException e) {
+                if (transaction != null && transaction.getStatus().canRollback()) {
+                    transaction.rollback();
+                }
+                logger.error("Error while adding Employees from row: " + firstRow, e);
+                result.addChunk(firstRow, chunk.size(), e.getMessage());
+            } finally {
+                session.close();
+            }
+            firstRow += chunk.size();
+        }
+        logger.info("Bulk insert of Employees finished: " + result);
+        return result;
+    }
+
+    @Override
+    public void deleteEmployee(int id) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            session.createQuery("UPDATE Employee SET isActive = false WHERE id = :id")
+                   .setParameter("id", id)
+                   .executeUpdate();
+            unitOfWork.afterCommit(() -> SportMembershipIndex.getInstance().removeEmployee(id));
+            unitOfWork.commit();
+        } catch (HibernateException e) {
+            logger.error("Error while deleting Employee: " + id, e);
+            throw new EmployeeException("Error while deleting Employee: " + id, e);
+        }
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            Query<Employee> query = session.createQuery("From Employee where isActive = true", Employee.class);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.LIST_VIEW));
+            List<Employee> employees = query.list();
+            initializeSports(employees);
+            return employees;
+        } catch (HibernateException e) {
+            logger.info("Error while getting all employees", e);
+            throw new EmployeeException("Error while getting all employees", e);
+        }
+    }
+
+    @Override
+    public Page<Employee> getEmployeesPage(int afterId, int pageSize) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            String hql = "FROM Employee e WHERE e.isActive = true AND e.id > :afterId ORDER BY e.id";
+            Query<Employee> query = session.createQuery(hql, Employee.class);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.LIST_VIEW));
+            query.setParameter("afterId", afterId);
+            query.setMaxResults(pageSize + 1);
+            Page<Employee> page = Page.of(query.list(), pageSize);
+            initializeSports(page.getItems());
+            return page;
+        } catch (HibernateException e) {
+            logger.error("Error while getting employees after ID: " + afterId, e);
+            throw new EmployeeException("Error while getting employees after ID: " + afterId, e);
+        }
+    }
+
+    @Override
+    public Page<EmployeeSummary> getEmployeeSummariesPage(int afterId, int pageSize) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            String hql = "SELECT new com.ideas2it.model.EmployeeSummary(e.id, e.name, e.dob, d.name, e.emailId, "
+                         + "group_concat(s.name), a.street, a.city, a.state, a.zip) "
+                         + "FROM Employee e JOIN e.department d LEFT JOIN e.address a LEFT JOIN e.sports s "
+                         + "WHERE e.isActive = true AND e.id > :afterId "
+                         + "GROUP BY e.id, e.name, e.dob, d.name, e.emailId, a.street, a.city, a.state, a.zip "
+                         + "ORDER BY e.id";
+            Query<EmployeeSummary> query = unitOfWork.getSession().createQuery(hql, EmployeeSummary.class);
+            query.setParameter("afterId", afterId);
+            query.setMaxResults(pageSize + 1);
+            return Page.of(query.list(), pageSize);
+        } catch (HibernateException e) {
+            logger.error("Error while getting employee summaries after ID: " + afterId, e);
+            throw new EmployeeException("Error while getting employee summaries after ID: " + afterId, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Pages are read with a keyset on the sort column and the ID, so every page costs
+     * one query whatever its position.
+     */
+    @Override
+    public Page<Employee> findEmployees(EmployeeFilter filter, Employee after, int pageSize) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            String key = "page:" + (after == null ? "first:" : "next:") + filter.getShape();
+            String hql = FILTER_QUERIES.computeIfAbsent(key, shape -> buildFilterQuery(filter, after != null, false));
+            Query<Employee> query = session.createQuery(hql, Employee.class);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.LIST_VIEW));
+            bindFilter(query, filter);
+            if (after != null) {
+                query.setParameter("afterId", after.getId());
+                switch (filter.getSort()) {
+                    case NAME:
+                        query.setParameter("afterKey", after.getName());
+                        break;
+                    case DOB:
+                        query.setParameter("afterKey", after.getDob());
+                        break;
+                    default:
+                        break;
+                }
+            }
+            query.setMaxResults(pageSize + 1);
+            Page<Employee> page = Page.of(query.list(), pageSize);
+            initializeSports(page.getItems());
+            return page;
+        } catch (HibernateException e) {
+            logger.error("Error while filtering employees: " + filter, e);
+            throw new EmployeeException("Error while filtering employees: " + filter, e);
+        }
+    }
+
+    @Override
+    public long countEmployees(EmployeeFilter filter) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            String hql = FILTER_QUERIES.computeIfAbsent("count:" + filter.getShape(),
+                                                        shape -> buildFilterQuery(filter, false, true));
+            Query<Long> query = unitOfWork.getSession().createQuery(hql, Long.class);
+            bindFilter(query, filter);
+            return query.uniqueResult();
+        } catch (HibernateException e) {
+            logger.error("Error while counting employees: " + filter, e);
+            throw new EmployeeException("Error while counting employees: " + filter, e);
+        }
+    }
+
+    /**
+     * Generates the query of a filter shape. Values are always bound as parameters, so
+     * the text only depends on the shape.
+     *
+     * @param keyset - true to start after the employee bound to afterKey and afterId.
+     * @param count - true to count the employees instead of listing them.
+     */
+    private static String buildFilterQuery(EmployeeFilter filter, boolean keyset, boolean count) {
+        StringBuilder hql = new StringBuilder(count ? "SELECT count(e.id) FROM Employee e" : "SELECT e FROM Employee e");
+        if (filter.getCity() != null || filter.getState() != null || filter.getZipPrefix() != null) {
+            hql.append(" JOIN e.address a");
+        }
+        if (filter.getSportId() != null) {
+            hql.append(" JOIN e.sports s");
+        }
+        List<String> conditions = new ArrayList<>();
+        if (filter.getDepartmentId() != null) {
+            conditions.add("e.department.id = :departmentId");
+        }
+        if (filter.getSportId() != null) {
+            conditions.add("s.id = :sportId");
+        }
+        if (filter.getMinAge() != null) {
+            conditions.add("e.dob <= :bornOnOrBefore");
+        }
+        if (filter.getMaxAge() != null) {
+            conditions.add("e.dob > :bornAfter");
+        }
+        if (filter.getCity() != null) {
+            conditions.add("a.city = :city");
+        }
+        if (filter.getState() != null) {
+            conditions.add("a.state = :state");
+        }
+        if (filter.getZipPrefix() != null) {
+            conditions.add("a.zip LIKE :zipPrefix ESCAPE '!'");
+        }
+        if (filter.getActive() != null) {
+            conditions.add("e.isActive = :active");
+        }
+        String order = filter.isDescending() ? " DESC" : " ASC";
+        String after = filter.isDescending() ? " < " : " > ";
+        String sortProperty = filter.getSort().getProperty();
+        if (keyset) {
+            conditions.add(filter.getSort() == EmployeeFilter.Sort.ID ? "e.id" + after + ":afterId"
+                           : "(" + sortProperty + after + ":afterKey OR (" + sortProperty
+                             + " = :afterKey AND e.id" + after + ":afterId))");
+        }
+        if (!conditions.isEmpty()) {
+            hql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        if (!count) {
+            hql.append(" ORDER BY ").append(sortProperty).append(order);
+            if (filter.getSort() != EmployeeFilter.Sort.ID) {
+                hql.append(", e.id").append(order);
+            }
+        }
+        logger.debug("Filter query generated for " + filter.getShape() + ": " + hql);
+        return hql.toString();
+    }
+
+    /**
+     * Binds the values of the conditions set in a filter.
+     */
+    private static void bindFilter(Query<?> query, EmployeeFilter filter) {
+        LocalDate today = LocalDate.now();
+        if (filter.getDepartmentId() != null) {
+            query.setParameter("departmentId", filter.getDepartmentId());
+        }
+        if (filter.getSportId() != null) {
+            query.setParameter("sportId", filter.getSportId());
+        }
+        if (filter.getMinAge() != null) {
+            query.setParameter("bornOnOrBefore", today.minusYears(filter.getMinAge()));
+        }
+        if (filter.getMaxAge() != null) {
+            query.setParameter("bornAfter", today.minusYears(filter.getMaxAge() + 1L));
+        }
+        if (filter.getCity() != null) {
+            query.setParameter("city", filter.getCity());
+        }
+        if (filter.getState() != null) {
+            query.setParameter("state", filter.getState());
+        }
+        if (filter.getZipPrefix() != null) {
+            query.setParameter("zipPrefix", filter.getZipPrefix().replace("!", "!!").replace("%", "!%")
+                                                .replace("_", "!_") + "%");
+        }
+        if (filter.getActive() != null) {
+            query.setParameter("active", filter.getActive());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Runs in its own read only session so clearing it never detaches the entities
+     * of a surrounding unit of work.
+     */
+    @Override
+    public long forEachActiveEmployee(Consumer<Employee> consumer) throws EmployeeException {
+        Session session = HibernateConnection.getSession();
         Transaction transaction = null;
-        try (Session session = HibernateConnection.getSession()) {
+        try {
+            session.setDefaultReadOnly(true);
             transaction = session.beginTransaction();
-            session.save(employee);
+            String hql = "FROM Employee e WHERE e.isActive = true ORDER BY e.id";
+            Query<Employee> query = session.createQuery(hql, Employee.class);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.LIST_VIEW));
+            query.setFetchSize(STREAM_FETCH_SIZE);
+            long rows = 0;
+            int batchSize = HibernateConnection.getBatchSize();
+            List<Employee> batch = new ArrayList<>(batchSize);
+            try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    batch.add((Employee) results.get(0));
+                    if (batch.size() == batchSize) {
+                        rows += consume(session, batch, consumer);
+                    }
+                }
+            }
+            rows += consume(session, batch, consumer);
             transaction.commit();
+            return rows;
         } catch (HibernateException e) {
-            if (transaction != null) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
                 transaction.rollback();
             }
-            logger.error("Error while adding Employee: " + employee.getName(), e);
-            throw new EmployeeException("Error while adding Employee: " + employee.getName(), e);
+            logger.error("Error while streaming employees", e);
+            throw new EmployeeException("Error while streaming employees", e);
+        } finally {
+            session.close();
         }
     }
 
     @Override
-    public void deleteEmployee(int id) throws EmployeeException {
+    public long forEachSearchHit(Consumer<EmployeeSearchHit> consumer) throws EmployeeException {
+        Session session = HibernateConnection.getSession();
         Transaction transaction = null;
-        try (Session session = HibernateConnection.getSession()) {
+        try {
             transaction = session.beginTransaction();
-            Employee employee = session.get(Employee.class, id);
-            if (employee != null) {
-                employee.setIsActive(false);
-                session.update(employee);
+            String hql = "SELECT new com.ideas2it.model.EmployeeSearchHit(e.id, e.name, e.emailId) "
+                         + "FROM Employee e WHERE e.isActive = true";
+            Query<EmployeeSearchHit> query = session.createQuery(hql, EmployeeSearchHit.class);
+            query.setFetchSize(STREAM_FETCH_SIZE);
+            long rows = 0;
+            try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    consumer.accept((EmployeeSearchHit) results.get(0));
+                    rows++;
+                }
             }
             transaction.commit();
+            return rows;
         } catch (HibernateException e) {
-            if (transaction != null) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
                 transaction.rollback();
             }
-            logger.error("Error while deleting Employee: " + id, e);
-            throw new EmployeeException("Error while deleting Employee: " + id, e);
+            logger.error("Error while streaming employee names", e);
+            throw new EmployeeException("Error while streaming employee names", e);
+        } finally {
+            session.close();
         }
     }
 
     @Override
-    public List<Employee> getAllEmployees() throws EmployeeException {
-        try (Session session = HibernateConnection.getSession()) {
-            Query<Employee> query = session.createQuery("From Employee where isActive = true", Employee.class);
-            return query.list();
+    public int backfillDerivedColumns() throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            int rows = session.createQuery("UPDATE Employee SET emailNormalized = lower(trim(emailId)) "
+                                           + "WHERE emailNormalized IS NULL AND emailId IS NOT NULL")
+                              .executeUpdate();
+            rows += session.createQuery("UPDATE Employee SET birthdayKey = month(dob) * 100 + day(dob) "
+                                        + "WHERE birthdayKey IS NULL AND dob IS NOT NULL")
+                           .executeUpdate();
+            unitOfWork.commit();
+            if (rows > 0) {
+                logger.info("Derived columns filled for Employees: " + rows);
+            }
+            return rows;
         } catch (HibernateException e) {
-            logger.info("Error while getting all employees", e);
-            throw new EmployeeException("Error while getting all employees", e);
+            logger.error("Error while filling derived columns", e);
+            throw new EmployeeException("Error while filling derived columns", e);
         }
     }
 
     @Override
-    public Employee findEmployeeById(int id) throws EmployeeException {
-        try (Session session = HibernateConnection.getSession()) {
-            String hql = "FROM Employee e LEFT JOIN FETCH e.department WHERE e.id = :id";
+    public Page<Employee> getEmployeesByBirthdayKey(int fromKey, int toKey, int afterKey, int afterId, int pageSize)
+            throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            String hql = "FROM Employee e WHERE e.isActive = true AND e.birthdayKey BETWEEN :fromKey AND :toKey "
+                         + "AND (e.birthdayKey > :afterKey OR (e.birthdayKey = :afterKey AND e.id > :afterId)) "
+                         + "ORDER BY e.birthdayKey, e.id";
             Query<Employee> query = session.createQuery(hql, Employee.class);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.LIST_VIEW));
+            query.setParameter("fromKey", fromKey);
+            query.setParameter("toKey", toKey);
+            query.setParameter("afterKey", afterKey);
+            query.setParameter("afterId", afterId);
+            query.setMaxResults(pageSize + 1);
+            Page<Employee> page = Page.of(query.list(), pageSize);
+            initializeSports(page.getItems());
+            return page;
+        } catch (HibernateException e) {
+            logger.error("Error while getting employees with birthdays from " + fromKey + " to " + toKey, e);
+            throw new EmployeeException("Error while getting employees with birthdays from " + fromKey
+                                        + " to " + toKey, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Every band is one conditional sum of the same pass over the active dates of birth,
+     * which the (isActive, dob) index covers.
+     */
+    @Override
+    public long[] countActiveEmployeesByBirthBand(List<LocalDate> cutoffs) throws EmployeeException {
+        StringBuilder hql = new StringBuilder("SELECT sum(CASE WHEN e.dob > :cutoff0 THEN 1 ELSE 0 END)");
+        for (int i = 1; i < cutoffs.size(); i++) {
+            hql.append(", sum(CASE WHEN e.dob <= :cutoff").append(i - 1).append(" AND e.dob > :cutoff").append(i)
+               .append(" THEN 1 ELSE 0 END)");
+        }
+        hql.append(", sum(CASE WHEN e.dob <= :cutoff").append(cutoffs.size() - 1).append(" THEN 1 ELSE 0 END)")
+           .append(" FROM Employee e WHERE e.isActive = true AND e.dob IS NOT NULL");
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Query<Object[]> query = unitOfWork.getSession().createQuery(hql.toString(), Object[].class);
+            for (int i = 0; i < cutoffs.size(); i++) {
+                query.setParameter("cutoff" + i, cutoffs.get(i));
+            }
+            Object[] sums = query.uniqueResult();
+            long[] counts = new long[sums.length];
+            for (int i = 0; i < sums.length; i++) {
+                counts[i] = sums[i] == null ? 0 : ((Number) sums[i]).longValue();
+            }
+            return counts;
+        } catch (HibernateException e) {
+            logger.error("Error while counting employees by age", e);
+            throw new EmployeeException("Error while counting employees by age", e);
+        }
+    }
+
+    @Override
+    public long countEmails() throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            return unitOfWork.getSession()
+                    .createQuery("SELECT count(e.id) FROM Employee e WHERE e.emailNormalized IS NOT NULL", Long.class)
+                    .uniqueResult();
+        } catch (HibernateException e) {
+            logger.error("Error while counting employee emails", e);
+            throw new EmployeeException("Error while counting employee emails", e);
+        }
+    }
+
+    @Override
+    public long forEachNormalizedEmail(Consumer<String> consumer) throws EmployeeException {
+        Session session = HibernateConnection.getSession();
+        Transaction transaction = null;
+        try {
+            transaction = session.beginTransaction();
+            Query<String> query = session.createQuery("SELECT e.emailNormalized FROM Employee e "
+                                                      + "WHERE e.emailNormalized IS NOT NULL", String.class);
+            query.setFetchSize(STREAM_FETCH_SIZE);
+            long rows = 0;
+            try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    consumer.accept((String) results.get(0));
+                    rows++;
+                }
+            }
+            transaction.commit();
+            return rows;
+        } catch (HibernateException e) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            logger.error("Error while streaming employee emails", e);
+            throw new EmployeeException("Error while streaming employee emails", e);
+        } finally {
+            session.close();
+        }
+    }
+
+    @Override
+    public Employee findEmployeeByEmail(String emailId) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            Query<Employee> query = session.createQuery("FROM Employee e WHERE e.emailNormalized = :email",
+                                                        Employee.class);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.DETAIL_VIEW));
+            query.setParameter("email", Employee.normalizeEmail(emailId));
+            return query.uniqueResult();
+        } catch (HibernateException e) {
+            logger.error("Error while getting Employee by email: " + emailId, e);
+            throw new EmployeeException("Error while getting Employee by email: " + emailId, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Runs one indexed query per chunk of {@value #CHUNK_SIZE} emails.
+     */
+    @Override
+    public Set<String> findExistingEmails(Collection<String> normalizedEmails) throws EmployeeException {
+        Set<String> existing = new HashSet<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            String hql = "SELECT e.emailNormalized FROM Employee e WHERE e.emailNormalized IN (:emails)";
+            Iterator<String> iterator = normalizedEmails.iterator();
+            while (iterator.hasNext()) {
+                List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+                while (iterator.hasNext() && chunk.size() < CHUNK_SIZE) {
+                    chunk.add(iterator.next());
+                }
+                existing.addAll(unitOfWork.getSession().createQuery(hql, String.class)
+                                          .setParameterList("emails", chunk)
+                                          .list());
+            }
+            return existing;
+        } catch (HibernateException e) {
+            logger.error("Error while checking Employee emails", e);
+            throw new EmployeeException("Error while checking Employee emails", e);
+        }
+    }
+
+    @Override
+    public Employee findEmployeeById(int id) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            Query<Employee> query = session.createQuery("FROM Employee e WHERE e.id = :id", Employee.class);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.DETAIL_VIEW));
             query.setParameter("id", id);
             return query.uniqueResult();
-        } catch (EmployeeException e) {
+        } catch (HibernateException e) {
             logger.error("Error while getting Employee by ID: " + id, e);
             throw new EmployeeException("Error while getting Employee by ID: " + id, e);
         }
     }
 
+    @Override
+    public boolean existsById(int id) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Query<Integer> query = unitOfWork.getSession()
+                    .createQuery("SELECT 1 FROM Employee e WHERE e.id = :id AND e.isActive = true", Integer.class);
+            query.setParameter("id", id);
+            query.setMaxResults(1);
+            return query.uniqueResult() != null;
+        } catch (HibernateException e) {
+            logger.error("Error while checking Employee: " + id, e);
+            throw new EmployeeException("Error while checking Employee: " + id, e);
+        }
+    }
+
     @Override
     public void updateEmployee(Employee employee) throws EmployeeException {
-        Transaction transaction = null;
-        try (Session session = HibernateConnection.getSession()) {
-            transaction = session.beginTransaction();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
             session.update(employee);
-            transaction.commit();
+            unitOfWork.commit();
         } catch (HibernateException e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
             logger.error("Error while updating Employee: " + employee.getName(), e);
             throw new EmployeeException("Error while updating Employee: " + employee.getName(), e);
         }
@@ -100,22 +596,18 @@ public class EmployeeRepositoryImpl implements EmployeeRepository {
 
     @Override    
     public void addSportToEmployee(int employeeId, int sportId) throws EmployeeException {
-        Transaction transaction = null;
-        try (Session session = HibernateConnection.getSession()) {
-            transaction = session.beginTransaction();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
             Employee employee = session.get(Employee.class, employeeId);
             Sport sport = session.get(Sport.class, sportId);
             if (employee != null && sport != null) {
+                // Employee owns the join table, the sport roster is left unloaded
                 employee.getSports().add(sport);
-                sport.getEmployees().add(employee);
                 session.saveOrUpdate(employee);
-                session.saveOrUpdate(sport);
+                unitOfWork.afterCommit(() -> SportMembershipIndex.getInstance().addMembership(employeeId, sportId));
             }
-            transaction.commit();
+            unitOfWork.commit();
         } catch (HibernateException e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
             logger.error("Error while adding Sport to Employee: " + employeeId, e);
             throw new EmployeeException("Error while adding Sport to Employee: " + employeeId, e);
         }
@@ -123,26 +615,158 @@ public class EmployeeRepositoryImpl implements EmployeeRepository {
 
     @Override
     public void removeSportFromEmployee(int employeeId, int sportId) throws EmployeeException {
-        Transaction transaction = null;
-        try (Session session = HibernateConnection.getSession()) {
-            transaction = session.beginTransaction();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
             Employee employee = session.get(Employee.class, employeeId);
             Sport sport = session.get(Sport.class, sportId);
             if (employee != null && sport != null) {
                 employee.getSports().remove(sport);
                 session.saveOrUpdate(employee);
+                unitOfWork.afterCommit(() -> SportMembershipIndex.getInstance().removeMembership(employeeId, sportId));
             }
-            transaction.commit();
+            unitOfWork.commit();
         } catch (HibernateException e) {
-            if (transaction != null) { 
-                transaction.rollback();
-            }
             logger.error("Error while removing Sport from Employee: " + employeeId, e);
             throw new EmployeeException("Error while removing Sport from Employee: " + employeeId, e);
         }
     }
-              
-}
-       
 
-    
+    /**
+     * {@inheritDoc}
+     * Memberships are checked with one query per chunk of {@value #CHUNK_SIZE} employees and
+     * written with batched JDBC inserts, employees already loaded in the session keep their
+     * former sports.
+     */
+    @Override
+    public SportAssignmentResult addSportToEmployees(int sportId, Collection<Integer> employeeIds)
+            throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            SportAssignmentResult result = classify(unitOfWork.getSession(), sportId, employeeIds, false);
+            if (!result.getChanged().isEmpty()) {
+                writeMemberships(unitOfWork.getSession(), INSERT_MEMBERSHIP, sportId, result.getChanged());
+                unitOfWork.afterCommit(() -> SportMembershipIndex.getInstance()
+                                                                 .addMemberships(sportId, result.getChanged()));
+            }
+            unitOfWork.commit();
+            logger.info("Sport added to Employees: " + result);
+            return result;
+        } catch (HibernateException e) {
+            logger.error("Error while adding Sport to Employees: " + sportId, e);
+            throw new EmployeeException("Error while adding Sport to Employees: " + sportId, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Memberships are checked with one query per chunk of {@value #CHUNK_SIZE} employees and
+     * removed with batched JDBC deletes, employees already loaded in the session keep their
+     * former sports.
+     */
+    @Override
+    public SportAssignmentResult removeSportFromEmployees(int sportId, Collection<Integer> employeeIds)
+            throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            SportAssignmentResult result = classify(unitOfWork.getSession(), sportId, employeeIds, true);
+            if (!result.getChanged().isEmpty()) {
+                writeMemberships(unitOfWork.getSession(), DELETE_MEMBERSHIP, sportId, result.getChanged());
+                unitOfWork.afterCommit(() -> SportMembershipIndex.getInstance()
+                                                                 .removeMemberships(sportId, result.getChanged()));
+            }
+            unitOfWork.commit();
+            logger.info("Sport removed from Employees: " + result);
+            return result;
+        } catch (HibernateException e) {
+            logger.error("Error while removing Sport from Employees: " + sportId, e);
+            throw new EmployeeException("Error while removing Sport from Employees: " + sportId, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Changes are handed to the write-behind SportMembershipWriter, which commits them in groups.
+     */
+    @Override
+    public CompletableFuture<Void> queueSportChange(int employeeId, int sportId, boolean member) {
+        return SportMembershipWriter.getInstance().submit(employeeId, sportId, member);
+    }
+
+    /**
+     * Sorts the requested employees into the ones to change, the ones to skip and the
+     * unknown ones, reading whether each one plays the sport in one grouped query per chunk.
+     *
+     * @param members - true to change the employees playing the sport, false to change the others.
+     */
+    private SportAssignmentResult classify(Session session, int sportId, Collection<Integer> employeeIds,
+                                           boolean members) {
+        SportAssignmentResult result = new SportAssignmentResult(sportId);
+        String hql = "SELECT e.id, count(s.id) FROM Employee e LEFT JOIN e.sports s WITH s.id = :sportId "
+                     + "WHERE e.id IN (:ids) GROUP BY e.id";
+        Iterator<Integer> iterator = employeeIds.iterator();
+        while (iterator.hasNext()) {
+            List<Integer> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (iterator.hasNext() && chunk.size() < CHUNK_SIZE) {
+                chunk.add(iterator.next());
+            }
+            Map<Integer, Boolean> playing = new HashMap<>();
+            for (Object[] row : session.createQuery(hql, Object[].class)
+                                       .setParameter("sportId", sportId)
+                                       .setParameterList("ids", chunk)
+                                       .list()) {
+                playing.put((Integer) row[0], ((Number) row[1]).longValue() > 0);
+            }
+            for (Integer employeeId : chunk) {
+                Boolean plays = playing.get(employeeId);
+                if (plays == null) {
+                    result.addNotFound(employeeId);
+                } else if (plays == members) {
+                    result.addChanged(employeeId);
+                } else {
+                    result.addSkipped(employeeId);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs a membership insert or delete for each employee, sending the statements in
+     * JDBC batches of {@value #CHUNK_SIZE}.
+     */
+    private void writeMemberships(Session session, String sql, int sportId, List<Integer> employeeIds) {
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < employeeIds.size(); i++) {
+                    statement.setInt(1, employeeIds.get(i));
+                    statement.setInt(2, sportId);
+                    statement.addBatch();
+                    if ((i + 1) % CHUNK_SIZE == 0 || i == employeeIds.size() - 1) {
+                        statement.executeBatch();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Hands a batch of streamed employees to the consumer once their sports are loaded
+     * together, then detaches them so the session does not grow.
+     */
+    private int consume(Session session, List<Employee> batch, Consumer<Employee> consumer) {
+        int rows = batch.size();
+        initializeSports(batch);
+        batch.forEach(consumer);
+        batch.clear();
+        session.clear();
+        return rows;
+    }
+
+    /**
+     * Loads the sports of the given employees while the session is open. Sports are
+     * batch fetched, so this costs one statement per {@code @BatchSize} employees.
+     */
+    private void initializeSports(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            Hibernate.initialize(employee.getSports());
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.ideas2it.employee.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.persistence.PersistenceException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+
+import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.sports.dao.SportMembershipIndex;
+import com.ideas2it.utilities.HibernateConnection;
+import com.ideas2it.utilities.UnitOfWork;
+
+/**
+ * <p>
+ * Write-behind queue for sport membership changes. Callers append a change and get a future,
+ * a single committer thread drains the queue and writes the changes in group commits: a group
+ * is closed once it holds {@code membership.writeBehind.maxOperations} changes (500 by default)
+ * or {@code membership.writeBehind.flushMillis} milliseconds (10 by default) after its first
+ * change arrived, whichever comes first. Both are read from system properties.
+ * </p>
+ * <p>
+ * Changes are written in the order they were queued, so the changes of one employee keep their
+ * order, and each future completes only once the transaction holding its change has committed.
+ * A group that fails is split in two and each half written again, so a bad change only fails
+ * itself and the changes it shares an employee and sport with.
+ * </p>
+ * {@link #close()} writes the changes still queued and stops the committer, HibernateConnection
+ * runs it on shutdown before closing the pool. Changes still queued when the process stops
+ * without shutting down are lost, their futures never completed.
+ * @author  Kishore
+ * @version 1.0
+ */
+final class SportMembershipWriter {
+    private static final Logger logger = LogManager.getLogger(SportMembershipWriter.class);
+    private static final int FLUSH_MILLIS = Integer.getInteger("membership.writeBehind.flushMillis", 10);
+    private static final int MAX_OPERATIONS = Integer.getInteger("membership.writeBehind.maxOperations", 500);
+    // Callers wait once this many changes are queued, so a burst cannot outgrow the heap
+    private static final int QUEUE_CAPACITY = MAX_OPERATIONS * 20;
+    private static final int CHUNK_SIZE = 1000;
+    // Queued last by close(), the committer stops once it reaches it
+    private static final Change CLOSE = new Change(0, 0, false);
+    private static final SportMembershipWriter instance = new SportMembershipWriter();
+    private final BlockingQueue<Change> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    // Held to queue a change, and exclusively to close, so no change is queued after CLOSE
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Thread committer;
+    private boolean closed;
+
+    private SportMembershipWriter() {
+    }
+
+    static SportMembershipWriter getInstance() {
+        return instance;
+    }
+
+    /**
+     * Queues a membership change, starting the committer on first use.
+     *
+     * @param employeeId - ID of the employee.
+     * @param sportId - ID of the sport, must exist.
+     * @param member - true to add the employee to the sport, false to remove it.
+     * @return the future completed once the change is committed, or failed with an
+     *         IllegalArgumentException if the employee does not exist, or with an
+     *         IllegalStateException if the writer is closed.
+     */
+    CompletableFuture<Void> submit(int employeeId, int sportId, boolean member) {
+        Change change = new Change(employeeId, sportId, member);
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                change.done.completeExceptionally(new IllegalStateException("Sport membership writer is closed"));
+            } else {
+                start();
+                queue.put(change);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            change.done.completeExceptionally(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return change.done;
+    }
+
+    /**
+     * Writes the changes queued so far and stops the committer, waiting until it is done.
+     * Changes submitted afterwards fail.
+     */
+    void close() {
+        Thread running;
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            running = committer;
+            if (running == null) {
+                return;
+            }
+            queue.put(CLOSE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while closing the sport membership writer, " + queue.size()
+                        + " changes queued");
+            return;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            running.join();
+            logger.info("Sport membership write-behind closed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while waiting for the sport membership writer to close");
+        }
+    }
+
+    private void start() {
+        if (committer != null) {
+            return;
+        }
+        synchronized (this) {
+            if (committer == null) {
+                Thread thread = new Thread(this::run, "sport-membership-writer");
+                thread.setDaemon(true);
+                thread.start();
+                committer = thread;
+                HibernateConnection.beforeShutdown(this::close);
+                logger.info("Sport membership write-behind started: groups of up to " + MAX_OPERATIONS
+                            + " changes, every " + FLUSH_MILLIS + " ms.");
+            }
+        }
+    }
+
+    private void run() {
+        List<Change> group = new ArrayList<>(MAX_OPERATIONS);
+        boolean closing = false;
+        while (!closing) {
+            try {
+                group.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_MILLIS);
+                while (group.size() < MAX_OPERATIONS && group.get(group.size() - 1) != CLOSE) {
+                    queue.drainTo(group, MAX_OPERATIONS - group.size());
+                    long wait = deadline - System.nanoTime();
+                    if (group.size() >= MAX_OPERATIONS || group.get(group.size() - 1) == CLOSE || wait <= 0) {
+                        break;
+                    }
+                    Change next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                // CLOSE is the last change ever queued, so it can only end a group
+                closing = group.get(group.size() - 1) == CLOSE;
+                if (closing) {
+                    group.remove(group.size() - 1);
+                }
+                if (!group.isEmpty()) {
+                    write(group);
+                }
+            } catch (RuntimeException e) {
+                // Keeps the committer alive, the group is failed and the next one is written
+                logger.error("Unexpected error while writing sport membership changes", e);
+                group.forEach(change -> change.done.completeExceptionally(e));
+            } catch (InterruptedException e) {
+                logger.warn("Sport membership writer interrupted with " + queue.size() + " changes queued");
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes a group of changes, splitting it in two halves written separately when it fails,
+     * down to the changes of a single employee and sport pair, which fail together.
+     */
+    private void write(List<Change> group) {
+        try {
+            writeGroup(group);
+        } catch (PersistenceException e) {
+            Map<Long, List<Change>> pairs = new LinkedHashMap<>();
+            for (Change change : group) {
+                pairs.computeIfAbsent(change.key(), key -> new ArrayList<>()).add(change);
+            }
+            if (pairs.size() == 1) {
+                logger.error("Error while writing " + group.size() + " sport membership changes", e);
+                EmployeeException failure = new EmployeeException("Error while writing sport membership changes", e);
+                group.forEach(change -> change.done.completeExceptionally(failure));
+                return;
+            }
+            logger.warn("Error while writing " + group.size() + " sport membership changes, writing them again "
+                        + "in two halves: " + e.getMessage());
+            // Splits by pair, so the changes of one pair keep their order within one half
+            List<Change> firstHalf = new ArrayList<>();
+            List<Change> secondHalf = new ArrayList<>();
+            int index = 0;
+            for (List<Change> changes : pairs.values()) {
+                (index++ < pairs.size() / 2 ? firstHalf : secondHalf).addAll(changes);
+            }
+            write(firstHalf);
+            write(secondHalf);
+        }
+    }
+
+    /**
+     * Writes a group of changes in one transaction. Only the last change of each employee and
+     * sport pair decides the outcome. The current memberships of the employees are read first,
+     * so a change that is already in effect writes nothing.
+     *
+     * @throws PersistenceException if the transaction fails, no future is completed then.
+     */
+    private void writeGroup(List<Change> group) throws PersistenceException {
+        Map<Long, Change> latest = new LinkedHashMap<>();
+        Set<Integer> employeeIds = new HashSet<>();
+        for (Change change : group) {
+            latest.put(change.key(), change);
+            employeeIds.add(change.employeeId);
+        }
+        Set<Integer> existing = new HashSet<>();
+        List<Change> inserts = new ArrayList<>();
+        List<Change> deletes = new ArrayList<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            Set<Long> memberships = readMemberships(session, new ArrayList<>(employeeIds), existing);
+            for (Change change : latest.values()) {
+                if (!existing.contains(change.employeeId) || change.member == memberships.contains(change.key())) {
+                    continue;
+                }
+                (change.member ? inserts : deletes).add(change);
+            }
+            session.doWork(connection -> {
+                execute(connection, EmployeeRepositoryImpl.DELETE_MEMBERSHIP, deletes);
+                execute(connection, EmployeeRepositoryImpl.INSERT_MEMBERSHIP, inserts);
+            });
+            afterCommit(unitOfWork, inserts, deletes);
+            unitOfWork.commit();
+        }
+        for (Change change : group) {
+            if (existing.contains(change.employeeId)) {
+                change.done.complete(null);
+            } else {
+                change.done.completeExceptionally(new IllegalArgumentException("Employee not found" + change.employeeId));
+            }
+        }
+        logger.info("Sport memberships written: " + group.size() + " changes, " + inserts.size() + " inserted, "
+                    + deletes.size() + " deleted");
+    }
+
+    /**
+     * Reads the sports of the given employees, one query per chunk of {@value #CHUNK_SIZE}.
+     *
+     * @param existing - filled with the IDs of the employees that exist.
+     * @return the memberships found, keyed like {@link Change#key()}.
+     */
+    private Set<Long> readMemberships(Session session, List<Integer> employeeIds, Set<Integer> existing) {
+        Set<Long> memberships = new HashSet<>();
+        for (int from = 0; from < employeeIds.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = employeeIds.subList(from, Math.min(from + CHUNK_SIZE, employeeIds.size()));
+            List<Object[]> rows = session.createQuery("SELECT e.id, s.id FROM Employee e LEFT JOIN e.sports s "
+                                                      + "WHERE e.id IN (:ids)", Object[].class)
+                                         .setParameterList("ids", chunk)
+                                         .list();
+            for (Object[] row : rows) {
+                int employeeId = (Integer) row[0];
+                existing.add(employeeId);
+                if (row[1] != null) {
+                    memberships.add(key(employeeId, (Integer) row[1]));
+                }
+            }
+        }
+        return memberships;
+    }
+
+    /**
+     * Runs a membership insert or delete for each change, sending the statements in
+     * JDBC batches of {@value #CHUNK_SIZE}.
+     */
+    private static void execute(Connection connection, String sql, List<Change> changes) throws SQLException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < changes.size(); i++) {
+                statement.setInt(1, changes.get(i).employeeId);
+                statement.setInt(2, changes.get(i).sportId);
+                statement.addBatch();
+                if ((i + 1) % CHUNK_SIZE == 0 || i == changes.size() - 1) {
+                    statement.executeBatch();
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the membership index once the group commits.
+     */
+    private void afterCommit(UnitOfWork unitOfWork, List<Change> inserts, List<Change> deletes) {
+        unitOfWork.afterCommit(() -> {
+            SportMembershipIndex index = SportMembershipIndex.getInstance();
+            for (Change change : deletes) {
+                index.removeMembership(change.employeeId, change.sportId);
+            }
+            for (Change change : inserts) {
+                index.addMembership(change.employeeId, change.sportId);
+            }
+        });
+    }
+
+    private static long key(int employeeId, int sportId) {
+        return (long) employeeId << 32 | (sportId & 0xFFFFFFFFL);
+    }
+
+    private static final class Change {
+        private final int employeeId;
+        private final int sportId;
+        private final boolean member;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Change(int employeeId, int sportId, boolean member) {
+            this.employeeId = employeeId;
+            this.sportId = sportId;
+            this.member = member;
+        }
+
+        private long key() {
+            return SportMembershipWriter.key(employeeId, sportId);
+        }
+    }
+}
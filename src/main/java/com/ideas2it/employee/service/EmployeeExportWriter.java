@@ -0,0 +1,210 @@
+package com.ideas2it.employee.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.ideas2it.model.Address;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.ExportFormat;
+import com.ideas2it.model.Sport;
+
+/**
+ * <p>
+ * Writes employees to a file as CSV or JSON Lines, one row at a time.
+ * Every row is formatted into the same text builder and encoded into the same
+ * byte buffer, which is written to the file channel whenever it fills up, so the
+ * memory used does not depend on the number of rows.
+ * </p>
+ * @author  Kishore
+ * @version 1.0
+ */
+public class EmployeeExportWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,name,dob,department,emailId,sports,street,city,state,zip\n";
+    private final FileChannel channel;
+    private final ExportFormat format;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final StringBuilder line = new StringBuilder(512);
+    private char[] chars = new char[512];
+    private CharBuffer input = CharBuffer.wrap(chars);
+    private long rows;
+
+    public EmployeeExportWriter(Path file, ExportFormat format) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.format = format;
+        if (format == ExportFormat.CSV) {
+            line.append(CSV_HEADER);
+            writeLine();
+        }
+    }
+
+    /**
+     * Appends one employee to the file.
+     *
+     * @param employee - employee to write.
+     */
+    public void write(Employee employee) throws IOException {
+        line.setLength(0);
+        Address address = employee.getAddress();
+        if (format == ExportFormat.CSV) {
+            line.append(employee.getId()).append(',');
+            appendCsv(employee.getName()).append(',');
+            line.append(employee.getDob()).append(',');
+            appendCsv(employee.getDepartment().getName()).append(',');
+            appendCsv(employee.getEmailId()).append(',');
+            int start = line.length();
+            for (Sport sport : employee.getSports()) {
+                line.append(line.length() == start ? "" : ";").append(sport.getName());
+            }
+            escapeCsv(start);
+            line.append(',');
+            appendCsv(address == null ? null : address.getStreet()).append(',');
+            appendCsv(address == null ? null : address.getCity()).append(',');
+            appendCsv(address == null ? null : address.getState()).append(',');
+            appendCsv(address == null ? null : address.getZip());
+        } else {
+            line.append("{\"id\":").append(employee.getId());
+            line.append(",\"name\":");
+            appendJson(employee.getName());
+            line.append(",\"dob\":");
+            appendJson(employee.getDob() == null ? null : employee.getDob().toString());
+            line.append(",\"department\":");
+            appendJson(employee.getDepartment().getName());
+            line.append(",\"emailId\":");
+            appendJson(employee.getEmailId());
+            line.append(",\"sports\":[");
+            int start = line.length();
+            for (Sport sport : employee.getSports()) {
+                line.append(line.length() == start ? "" : ",");
+                appendJson(sport.getName());
+            }
+            line.append("],\"address\":");
+            if (address == null) {
+                line.append("null");
+            } else {
+                line.append("{\"street\":");
+                appendJson(address.getStreet());
+                line.append(",\"city\":");
+                appendJson(address.getCity());
+                line.append(",\"state\":");
+                appendJson(address.getState());
+                line.append(",\"zip\":");
+                appendJson(address.getZip());
+                line.append('}');
+            }
+            line.append('}');
+        }
+        line.append('\n');
+        writeLine();
+        rows++;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    private StringBuilder appendCsv(String value) {
+        if (value != null) {
+            int start = line.length();
+            line.append(value);
+            escapeCsv(start);
+        }
+        return line;
+    }
+
+    /**
+     * Quotes the field that starts at the given position when it holds a separator,
+     * a quote or a line break.
+     */
+    private void escapeCsv(int start) {
+        boolean quote = false;
+        for (int i = start; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                quote = true;
+                break;
+            }
+        }
+        if (!quote) {
+            return;
+        }
+        for (int i = line.length() - 1; i >= start; i--) {
+            if (line.charAt(i) == '"') {
+                line.insert(i, '"');
+            }
+        }
+        line.insert(start, '"').append('"');
+    }
+
+    private void appendJson(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Encodes the current line into the byte buffer, draining the buffer to the
+     * file each time it fills up.
+     */
+    private void writeLine() throws IOException {
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            input = CharBuffer.wrap(chars);
+        }
+        line.getChars(0, length, chars, 0);
+        input.clear();
+        input.limit(length);
+        while (true) {
+            CoderResult result = encoder.encode(input, bytes, false);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                return;
+            } else {
+                result.throwException();
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+}
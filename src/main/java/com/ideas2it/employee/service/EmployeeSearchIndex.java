@@ -0,0 +1,206 @@
+package com.ideas2it.employee.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.ideas2it.employee.dao.EmployeeRepository;
+import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.EmployeeSearchHit;
+
+/**
+ * <p>
+ * In-memory search index over the names and emails of the active employees.
+ * Names and emails are split into lower case tokens of letters or of digits, kept in a
+ * sorted map from token to a compressed bitmap of employee ids, so all the tokens
+ * starting with a prefix are one contiguous range of the map.
+ * </p>
+ * A query matches an employee when every token of the query is the prefix of one of
+ * the employee's tokens. The index is built once, when the first employee service is
+ * created, and kept up to date by the service after its changes commit.
+ * @author  Kishore
+ * @version 1.0
+ */
+class EmployeeSearchIndex {
+    private static final Logger logger = LogManager.getLogger(EmployeeSearchIndex.class);
+    private static final EmployeeSearchIndex instance = new EmployeeSearchIndex();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, RoaringBitmap> postings = new TreeMap<>();
+    private final Map<Integer, EmployeeSearchHit> employees = new HashMap<>();
+    private volatile boolean loaded;
+
+    private EmployeeSearchIndex() {
+    }
+
+    static EmployeeSearchIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Builds the index from the active employees unless it is already built.
+     *
+     * @param employeeRepository - repository streaming the searchable columns.
+     */
+    void ensureLoaded(EmployeeRepository employeeRepository) throws EmployeeException {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                long start = System.nanoTime();
+                try {
+                    employeeRepository.forEachSearchHit(this::index);
+                } catch (EmployeeException e) {
+                    postings.clear();
+                    employees.clear();
+                    throw e;
+                }
+                postings.values().forEach(RoaringBitmap::runOptimize);
+                loaded = true;
+                logger.info("Employee search index built: " + employees.size() + " employees, "
+                            + postings.size() + " tokens in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the employees matching a query.
+     *
+     * @param query - words typed by the user, each one matched as a prefix.
+     * @param limit - maximum number of employees returned.
+     * @return matching employees ordered by ID, empty if the query has no words.
+     */
+    List<EmployeeSearchHit> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = null;
+            for (String token : tokens) {
+                RoaringBitmap tokenMatches = FastAggregation.or(postingsStartingWith(token).values().iterator());
+                matches = matches == null ? tokenMatches : RoaringBitmap.and(matches, tokenMatches);
+                if (matches.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            List<EmployeeSearchHit> hits = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+            IntIterator ids = matches.getIntIterator();
+            while (ids.hasNext() && hits.size() < limit) {
+                hits.add(employees.get(ids.next()));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an employee, or replaces its name and email if it is already indexed.
+     */
+    void put(EmployeeSearchHit employee) {
+        update(() -> {
+            unindex(employee.getId());
+            index(employee);
+        });
+    }
+
+    /**
+     * Drops an employee that is no longer active.
+     */
+    void remove(int employeeId) {
+        update(() -> unindex(employeeId));
+    }
+
+    /**
+     * Applies a change under the write lock. Changes committed before the index is built are
+     * skipped, the build reads them from the database. The build holds the same lock, so a
+     * change committed while it runs waits for it and is applied once the index is built.
+     */
+    private void update(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(EmployeeSearchHit employee) {
+        employees.put(employee.getId(), employee);
+        for (String token : tokensOf(employee)) {
+            postings.computeIfAbsent(token, key -> new RoaringBitmap()).add(employee.getId());
+        }
+    }
+
+    private void unindex(int employeeId) {
+        EmployeeSearchHit employee = employees.remove(employeeId);
+        if (employee == null) {
+            return;
+        }
+        for (String token : tokensOf(employee)) {
+            RoaringBitmap ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(employeeId);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private NavigableMap<String, RoaringBitmap> postingsStartingWith(String prefix) {
+        // No token character sorts after Character.MAX_VALUE, so this bounds every token with the prefix
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static List<String> tokensOf(EmployeeSearchHit employee) {
+        List<String> tokens = tokenize(employee.getName());
+        tokens.addAll(tokenize(employee.getEmailId()));
+        return tokens;
+    }
+
+    /**
+     * Splits a text into lower case runs of letters and runs of digits. Numbers are kept
+     * apart from the words they follow, as in {@code jones42@}, so they do not turn
+     * every email into its own token.
+     */
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            char c = i < lowerCase.length() ? lowerCase.charAt(i) : ' ';
+            boolean wordChar = Character.isLetterOrDigit(c);
+            if (start >= 0 && (!wordChar || Character.isDigit(c) != Character.isDigit(lowerCase.charAt(start)))) {
+                tokens.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+            if (wordChar && start < 0) {
+                start = i;
+            }
+        }
+        return tokens;
+    }
+}
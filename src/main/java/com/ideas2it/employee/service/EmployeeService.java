@@ -1,14 +1,30 @@
 package com.ideas2it.employee.service;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 import com.ideas2it.exceptions.EmployeeException;
 import com.ideas2it.model.Address;
+import com.ideas2it.model.AgeBracket;
+import com.ideas2it.model.BulkInsertResult;
 import com.ideas2it.model.Department;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.EmployeeFilter;
+import com.ideas2it.model.EmployeeSearchHit;
+import com.ideas2it.model.EmployeeSummary;
+import com.ideas2it.model.ExportFormat;
+import com.ideas2it.model.ExportResult;
+import com.ideas2it.model.Page;
 import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportAssignmentResult;
+import com.ideas2it.model.ValidationResult;
+import com.ideas2it.utilities.AsyncExecutor;
+import com.ideas2it.utilities.KeysetPublisher;
 
 /**
  *<p>
@@ -22,17 +38,37 @@ public interface EmployeeService {
     /**
      * Adds a new employee to the 
      *
-     * @param id - the unique identifier for the employee. Must not already exits.
      * @param name - The name of the employee.
      * @param dob - The date of birth of the employee .Should not be a future date.
      * @param emailId - The emailID of the employee. Must Be Valid.
      * @param deptId - The ID of the department the employee belong to. must exist.
      * @param address - Address of the employee.
-     * @throws IllegalArgumentException if the department is not found.
+     * @throws IllegalArgumentException if the department is not found or the email is already used.
      */
-    void addEmployee(int id, String name, LocalDate dob, String emailId,
+    void addEmployee(String name, LocalDate dob, String emailId,
                             int deptId,Address address) throws IllegalArgumentException, EmployeeException;
 
+    /**
+     * Adds many employees at once, inserting them in JDBC batches.
+     * The department of each employee only needs its ID set, every distinct
+     * department is resolved once for the whole collection.
+     *
+     * @param employees - The employees to add, with their address and department ID.
+     * @return the outcome of every chunk, rows failing {@link #validateEmployees}, with an
+     *         unknown department or an email already used, by a stored employee or an earlier
+     *         row, are rejected.
+     */
+    BulkInsertResult addEmployees(Collection<Employee> employees) throws EmployeeException;
+
+    /**
+     * Validates the name, date of birth, email and address of many employees at once.
+     *
+     * @param employees - employees to validate, in any state.
+     * @param parallel - true to validate the rows on several threads.
+     * @return the error code of each employee, in the order of the list.
+     */
+    ValidationResult validateEmployees(List<Employee> employees, boolean parallel);
+
     /**
      * Marks an employee as inactive (effectively removes them from active use).
      *
@@ -48,6 +84,116 @@ public interface EmployeeService {
      */
     List<Employee> getAllEmployees() throws EmployeeException;
 
+    /**
+     * Retrieves a page of active employees ordered by ID.
+     *
+     * @param afterId - ID of the last employee of the previous page, 0 for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of employees with IDs greater than afterId.
+     */
+    Page<Employee> getEmployeesPage(int afterId, int pageSize) throws EmployeeException;
+
+    /**
+     * Retrieves a page of active employees ordered by ID as read only summaries
+     * holding what the employee table shows.
+     *
+     * @param afterId - ID of the last employee of the previous page, 0 for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of employee summaries with IDs greater than afterId.
+     */
+    Page<EmployeeSummary> getEmployeeSummariesPage(int afterId, int pageSize) throws EmployeeException;
+
+    /**
+     * Retrieves a page of the employees matching a filter, with one query.
+     *
+     * @param filter - conditions and order of the employees.
+     * @param after - last employee of the previous page, null for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of the matching employees following after.
+     * @throws IllegalArgumentException if the filter refers to an unknown department or sport,
+     *         or its age bounds are negative or reversed.
+     */
+    Page<Employee> filterEmployees(EmployeeFilter filter, Employee after, int pageSize)
+            throws IllegalArgumentException, EmployeeException;
+
+    /**
+     * Retrieves a page of the active employees whose birthday falls within the coming days,
+     * today included, in the order the birthdays come. Windows running past the end of
+     * the year continue from January. In years without a February 29th, employees born
+     * on that day are listed when the window covers both February 28th and March 1st.
+     *
+     * @param days - number of days after today the window ends on, from 0 to 364.
+     * @param after - last employee of the previous page, null for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of the employees following after.
+     * @throws IllegalArgumentException if days is out of range, or after has no date of birth.
+     */
+    Page<Employee> getUpcomingBirthdays(int days, Employee after, int pageSize)
+            throws IllegalArgumentException, EmployeeException;
+
+    /**
+     * Retrieves a page of the active employees within an age range, youngest first.
+     *
+     * @param minAge - lowest age in full years.
+     * @param maxAge - highest age in full years, inclusive.
+     * @param after - last employee of the previous page, null for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of the employees following after.
+     * @throws IllegalArgumentException if the age range is negative or reversed.
+     */
+    Page<Employee> getEmployeesByAge(int minAge, int maxAge, Employee after, int pageSize)
+            throws IllegalArgumentException, EmployeeException;
+
+    /**
+     * Counts the active employees in age brackets, with one query.
+     *
+     * @param boundaries - ages starting a new bracket, positive and ascending, for example
+     *                     20, 30, 40 gives the brackets 0-19, 20-29, 30-39 and 40+.
+     * @return one bracket more than boundaries, youngest first.
+     * @throws IllegalArgumentException if the boundaries are missing, not positive or not ascending.
+     */
+    List<AgeBracket> getAgeBrackets(int... boundaries) throws IllegalArgumentException, EmployeeException;
+
+    /**
+     * Counts the employees matching a filter.
+     *
+     * @param filter - conditions of the employees.
+     * @return the number of matching employees.
+     * @throws IllegalArgumentException if the filter refers to an unknown department or sport,
+     *         or its age bounds are negative or reversed.
+     */
+    long countEmployees(EmployeeFilter filter) throws IllegalArgumentException, EmployeeException;
+
+    /**
+     * Exports every active employee to a file, streaming rows from the database
+     * straight to the file so memory stays flat however large the directory is.
+     *
+     * @param file - The file to write, replaced if it exists.
+     * @param format - CSV or JSON Lines.
+     * @return the number of rows written and the export throughput.
+     */
+    ExportResult exportEmployees(Path file, ExportFormat format) throws EmployeeException;
+
+    /**
+     * Finds an employee by email, ignoring case and surrounding spaces.
+     *
+     * @param emailId - email of the employee.
+     * @return The employee if found, or null if not found.
+     */
+    Employee findEmployeeByEmail(String emailId) throws EmployeeException;
+
+    /**
+     * Searches the active employees by name and email, for type-ahead lookups.
+     * Each word of the query is matched, ignoring case, against the start of the
+     * words of the name and of the email, and every word of the query must match.
+     *
+     * @param query - words to search for.
+     * @param limit - maximum number of employees returned.
+     * @return matching employees ordered by ID.
+     * @throws IllegalArgumentException if limit is not positive.
+     */
+    List<EmployeeSearchHit> search(String query, int limit) throws IllegalArgumentException;
+
     /**
      * Retrieves an employee by their ID.
      *
@@ -64,7 +210,7 @@ public interface EmployeeService {
      * @param emailId - The new email Id of the employee.
      * @param deptId - The ID of the new department the employee belongs to. Must exist.
      * @param address - Address of the employee.
-     * @throws IllegalArgumentException if the department or employee is not found.
+     * @throws IllegalArgumentException if the department or employee is not found, or the new email is already used.
      */
     void updateEmployee(int id, String name, LocalDate dob,
                                 String emailId, int deptId,Address address) throws EmployeeException;
@@ -102,9 +248,245 @@ public interface EmployeeService {
      * @throws IllegalArgumentException if the employees or sport with the given Id is not found.
      */
     void removeSportFromEmployee(int employeeId, int sportId) throws EmployeeException;
+
+    /**
+     * Queues the addition of a sport to an employee. Queued changes are committed in groups
+     * by a background writer, which keeps the order of the changes of each employee.
+     *
+     * @param employeeId - The unique identifier of the employee.
+     * @param sportId - The unique identifier of the sport.
+     * @return the future completed once the change is committed, or failed with an
+     *         IllegalArgumentException if the employee is not found.
+     * @throws IllegalArgumentException if the sport with the given Id is not found.
+     */
+    CompletableFuture<Void> queueAddSportToEmployee(int employeeId, int sportId) throws EmployeeException;
+
+    /**
+     * Queues the removal of a sport from an employee, committed like
+     * {@link #queueAddSportToEmployee} in the order the changes were queued.
+     *
+     * @param employeeId - The unique identifier of the employee.
+     * @param sportId - The unique identifier of the sport.
+     * @return the future completed once the change is committed, or failed with an
+     *         IllegalArgumentException if the employee is not found.
+     * @throws IllegalArgumentException if the sport with the given Id is not found.
+     */
+    CompletableFuture<Void> queueRemoveSportFromEmployee(int employeeId, int sportId) throws EmployeeException;
+
+    /**
+     * Adds a sport to many employees at once, in a single transaction.
+     * Employees already playing the sport are skipped and unknown IDs are reported, not rejected.
+     *
+     * @param sportId - The unique identifier of the sport.
+     * @param employeeIds - The unique identifiers of the employees, duplicates are ignored.
+     * @return which employees joined the sport, were skipped or were not found.
+     * @throws IllegalArgumentException if the sport with the given Id is not found.
+     */
+    SportAssignmentResult addSportToEmployees(int sportId, Collection<Integer> employeeIds)
+            throws EmployeeException;
+
+    /**
+     * Removes a sport from many employees at once, in a single transaction.
+     * Employees not playing the sport are skipped and unknown IDs are reported, not rejected.
+     *
+     * @param sportId - The unique identifier of the sport.
+     * @param employeeIds - The unique identifiers of the employees, duplicates are ignored.
+     * @return which employees left the sport, were skipped or were not found.
+     * @throws IllegalArgumentException if the sport with the given Id is not found.
+     */
+    SportAssignmentResult removeSportFromEmployees(int sportId, Collection<Integer> employeeIds)
+            throws EmployeeException;
     
     /**
      * Retrieves all sport in the database.
      */
     public Set<Sport> getAllSports() throws EmployeeException;
+
+    /*
+     * Asynchronous counterparts of the operations above. Each one runs the blocking call on
+     * the AsyncExecutor, in its own unit of work, and returns at once, so independent calls
+     * can be started together and joined with CompletableFuture.allOf or thenCombine.
+     */
+
+    /**
+     * Runs {@link #addEmployee} asynchronously.
+     */
+    default CompletableFuture<Void> addEmployeeAsync(String name, LocalDate dob, String emailId, int deptId, Address address) {
+        return AsyncExecutor.run(() -> addEmployee(name, dob, emailId, deptId, address));
+    }
+
+    /**
+     * Runs {@link #addEmployees} asynchronously.
+     */
+    default CompletableFuture<BulkInsertResult> addEmployeesAsync(Collection<Employee> employees) {
+        return AsyncExecutor.supply(() -> addEmployees(employees));
+    }
+
+    /**
+     * Runs {@link #removeEmployee} asynchronously.
+     */
+    default CompletableFuture<Void> removeEmployeeAsync(int id) {
+        return AsyncExecutor.run(() -> removeEmployee(id));
+    }
+
+    /**
+     * Runs {@link #getAllEmployees} asynchronously.
+     */
+    default CompletableFuture<List<Employee>> getAllEmployeesAsync() {
+        return AsyncExecutor.supply(() -> getAllEmployees());
+    }
+
+    /**
+     * Runs {@link #getEmployeesPage} asynchronously.
+     */
+    default CompletableFuture<Page<Employee>> getEmployeesPageAsync(int afterId, int pageSize) {
+        return AsyncExecutor.supply(() -> getEmployeesPage(afterId, pageSize));
+    }
+
+    /**
+     * Runs {@link #getEmployeeSummariesPage} asynchronously.
+     */
+    default CompletableFuture<Page<EmployeeSummary>> getEmployeeSummariesPageAsync(int afterId, int pageSize) {
+        return AsyncExecutor.supply(() -> getEmployeeSummariesPage(afterId, pageSize));
+    }
+
+    /**
+     * Runs {@link #filterEmployees} asynchronously.
+     */
+    default CompletableFuture<Page<Employee>> filterEmployeesAsync(EmployeeFilter filter, Employee after, int pageSize) {
+        return AsyncExecutor.supply(() -> filterEmployees(filter, after, pageSize));
+    }
+
+    /**
+     * Runs {@link #getUpcomingBirthdays} asynchronously.
+     */
+    default CompletableFuture<Page<Employee>> getUpcomingBirthdaysAsync(int days, Employee after, int pageSize) {
+        return AsyncExecutor.supply(() -> getUpcomingBirthdays(days, after, pageSize));
+    }
+
+    /**
+     * Runs {@link #getEmployeesByAge} asynchronously.
+     */
+    default CompletableFuture<Page<Employee>> getEmployeesByAgeAsync(int minAge, int maxAge, Employee after, int pageSize) {
+        return AsyncExecutor.supply(() -> getEmployeesByAge(minAge, maxAge, after, pageSize));
+    }
+
+    /**
+     * Runs {@link #getAgeBrackets} asynchronously.
+     */
+    default CompletableFuture<List<AgeBracket>> getAgeBracketsAsync(int... boundaries) {
+        return AsyncExecutor.supply(() -> getAgeBrackets(boundaries));
+    }
+
+    /**
+     * Runs {@link #countEmployees} asynchronously.
+     */
+    default CompletableFuture<Long> countEmployeesAsync(EmployeeFilter filter) {
+        return AsyncExecutor.supply(() -> countEmployees(filter));
+    }
+
+    /**
+     * Runs {@link #exportEmployees} asynchronously.
+     */
+    default CompletableFuture<ExportResult> exportEmployeesAsync(Path file, ExportFormat format) {
+        return AsyncExecutor.supply(() -> exportEmployees(file, format));
+    }
+
+    /**
+     * Runs {@link #findEmployeeByEmail} asynchronously.
+     */
+    default CompletableFuture<Employee> findEmployeeByEmailAsync(String emailId) {
+        return AsyncExecutor.supply(() -> findEmployeeByEmail(emailId));
+    }
+
+    /**
+     * Runs {@link #search} asynchronously.
+     */
+    default CompletableFuture<List<EmployeeSearchHit>> searchAsync(String query, int limit) {
+        return AsyncExecutor.supply(() -> search(query, limit));
+    }
+
+    /**
+     * Runs {@link #getEmployeeById} asynchronously.
+     */
+    default CompletableFuture<Employee> getEmployeeByIdAsync(int id) {
+        return AsyncExecutor.supply(() -> getEmployeeById(id));
+    }
+
+    /**
+     * Runs {@link #updateEmployee} asynchronously.
+     */
+    default CompletableFuture<Void> updateEmployeeAsync(int id, String name, LocalDate dob, String emailId, int deptId, Address address) {
+        return AsyncExecutor.run(() -> updateEmployee(id, name, dob, emailId, deptId, address));
+    }
+
+    /**
+     * Runs {@link #getDepartmentById} asynchronously.
+     */
+    default CompletableFuture<Department> getDepartmentByIdAsync(int id) {
+        return AsyncExecutor.supply(() -> getDepartmentById(id));
+    }
+
+    /**
+     * Runs {@link #getAllDepartment} asynchronously.
+     */
+    default CompletableFuture<List<Department>> getAllDepartmentAsync() {
+        return AsyncExecutor.supply(() -> getAllDepartment());
+    }
+
+    /**
+     * Runs {@link #addSportToEmployee} asynchronously.
+     */
+    default CompletableFuture<Void> addSportToEmployeeAsync(int employeeId, int sportId) {
+        return AsyncExecutor.run(() -> addSportToEmployee(employeeId, sportId));
+    }
+
+    /**
+     * Runs {@link #removeSportFromEmployee} asynchronously.
+     */
+    default CompletableFuture<Void> removeSportFromEmployeeAsync(int employeeId, int sportId) {
+        return AsyncExecutor.run(() -> removeSportFromEmployee(employeeId, sportId));
+    }
+
+    /**
+     * Runs {@link #addSportToEmployees} asynchronously.
+     */
+    default CompletableFuture<SportAssignmentResult> addSportToEmployeesAsync(int sportId, Collection<Integer> employeeIds) {
+        return AsyncExecutor.supply(() -> addSportToEmployees(sportId, employeeIds));
+    }
+
+    /**
+     * Runs {@link #removeSportFromEmployees} asynchronously.
+     */
+    default CompletableFuture<SportAssignmentResult> removeSportFromEmployeesAsync(int sportId, Collection<Integer> employeeIds) {
+        return AsyncExecutor.supply(() -> removeSportFromEmployees(sportId, employeeIds));
+    }
+
+    /**
+     * Runs {@link #getAllSports} asynchronously.
+     */
+    default CompletableFuture<Set<Sport>> getAllSportsAsync() {
+        return AsyncExecutor.supply(() -> getAllSports());
+    }
+
+    /**
+     * Publishes the active employees ordered by ID, read page by page as the subscriber
+     * requests them, so a slow subscriber never holds more rows than it asked for.
+     *
+     * @return a publisher giving each subscriber its own pass over the employees.
+     */
+    default Flow.Publisher<Employee> publishEmployees() {
+        return new KeysetPublisher<>((last, pageSize) -> getEmployeesPage(last == null ? 0 : last.getId(), pageSize));
+    }
+
+    /**
+     * Publishes the summaries of the active employees ordered by ID, read page by page
+     * as the subscriber requests them.
+     *
+     * @return a publisher giving each subscriber its own pass over the summaries.
+     */
+    default Flow.Publisher<EmployeeSummary> publishEmployeeSummaries() {
+        return new KeysetPublisher<>((last, pageSize) ->
+                getEmployeeSummariesPage(last == null ? 0 : last.getId(), pageSize));
+    }
 }
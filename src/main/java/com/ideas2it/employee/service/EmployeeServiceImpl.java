@@ -1,7 +1,23 @@
 package com.ideas2it.employee.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 import java.time.LocalDate;
 
 import org.apache.logging.log4j.LogManager;
@@ -13,15 +29,30 @@ import com.ideas2it.department.service.DepartmentServiceImpl;
 import com.ideas2it.employee.dao.EmployeeRepository;
 import com.ideas2it.employee.dao.EmployeeRepositoryImpl;
 import com.ideas2it.model.Address;
+import com.ideas2it.model.AgeBracket;
+import com.ideas2it.model.BulkInsertResult;
 import com.ideas2it.model.Department;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.EmployeeFilter;
+import com.ideas2it.model.EmployeeSearchHit;
+import com.ideas2it.model.EmployeeSummary;
+import com.ideas2it.model.ExportFormat;
+import com.ideas2it.model.ExportResult;
+import com.ideas2it.model.Page;
 import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportAssignmentResult;
+import com.ideas2it.model.ValidationResult;
+import com.ideas2it.report.service.ReportCache;
+import com.ideas2it.report.service.ReportCache.Report;
 import com.ideas2it.sports.service.SportService;
 import com.ideas2it.sports.service.SportServiceImpl;
+import com.ideas2it.utilities.UnitOfWork;
+import com.ideas2it.utilities.Validator;
 
 /**
  * <p>
  * Implement if EmployeeService interface to handle employee-related operations.
+ * Each operation runs in one unit of work, so its lookups and writes share a session.
  * </p>
  * @author  Kishore 
  * @version 1.0 
@@ -29,36 +60,143 @@ import com.ideas2it.sports.service.SportServiceImpl;
 public class EmployeeServiceImpl implements EmployeeService{
 
     private static final Logger logger = LogManager.getLogger(EmployeeServiceImpl.class);
+    private static final int DAYS_IN_YEAR = 365;
+    private static final int LAST_BIRTHDAY_KEY = 1231;
+    private static final int FIRST_BIRTHDAY_KEY = 101;
+    // Bulk inserts of at least this many rows are validated in parallel
+    private static final int PARALLEL_VALIDATION_ROWS = 2048;
+    // Reports that change when employees join or leave a sport
+    private static final Report[] SPORT_REPORTS = {Report.SPORT_PARTICIPATION, Report.EMPLOYEES_WITHOUT_SPORT};
+    private static volatile boolean derivedColumnsFilled;
     private EmployeeRepository employeeRepository;
     private DepartmentService departmentService = new DepartmentServiceImpl();
     private SportService sportService = new SportServiceImpl();
+    private EmployeeSearchIndex searchIndex = EmployeeSearchIndex.getInstance();
+    private KnownEmailFilter emailFilter = KnownEmailFilter.getInstance();
 
     public EmployeeServiceImpl() {
         employeeRepository = new EmployeeRepositoryImpl();
+        fillDerivedColumns(employeeRepository);
+        searchIndex.ensureLoaded(employeeRepository);
+        emailFilter.ensureLoaded(employeeRepository);
     }
 
     @Override
-    public void addEmployee(int id, String name, LocalDate dob, String emailId,
+    public void addEmployee(String name, LocalDate dob, String emailId,
                             int deptId, Address address) throws IllegalArgumentException, EmployeeException {
-        Department department = departmentService.getDepartmentById(deptId);
-        if (department == null) {
-            logger.info("Department not found" +deptId);
-            throw new IllegalArgumentException("Department not found" +deptId);
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Department department = departmentService.getDepartmentById(deptId);
+            if (department == null) {
+                logger.info("Department not found" +deptId);
+                throw new IllegalArgumentException("Department not found" +deptId);
+
+            }
+            if (isEmailTaken(emailId)) {
+                logger.info("Email already exists: " + emailId);
+                throw new IllegalArgumentException("Email already exists: " + emailId);
+            }
 
+            Employee employee = new Employee(name, dob, department, emailId, address); //ID will be set in the repository
+            employeeRepository.addEmployee(employee);
+            unitOfWork.afterCommit(() -> {
+                searchIndex.put(new EmployeeSearchHit(employee.getId(), name, emailId));
+                emailFilter.add(employee.getEmailNormalized());
+                ReportCache.markDirty(Report.DEPARTMENT_HEADCOUNT, Report.EMPLOYEES_WITHOUT_SPORT,
+                                      Report.AGE_HISTOGRAM, Report.LOCATIONS);
+            });
+            unitOfWork.commit();
         }
+    }
 
-        Employee employee = new Employee(id, name, dob, department, emailId, address); //ID will be set in the repository
-        employeeRepository.addEmployee(employee);
+    @Override
+    public BulkInsertResult addEmployees(Collection<Employee> employees) throws EmployeeException {
+        Map<Integer, Department> departments = new HashMap<>();
+        List<Employee> rows = new ArrayList<>(employees);
+        Map<Integer, String> rejections = new TreeMap<>();
+        List<Integer> candidates = new ArrayList<>(rows.size());
+        ValidationResult validation = validateEmployees(rows, rows.size() >= PARALLEL_VALIDATION_ROWS);
+        for (int row = 0; row < rows.size(); row++) {
+            Employee employee = rows.get(row);
+            if (!validation.isValid(row)) {
+                String reason = "Invalid " + Validator.describeErrors(validation.getErrors(row));
+                logger.info(reason + " for employee " + employee.getName());
+                rejections.put(row, reason);
+                continue;
+            }
+            int deptId = employee.getDepartment() == null ? 0 : employee.getDepartment().getId();
+            if (!departments.containsKey(deptId)) {
+                departments.put(deptId, departmentService.getDepartmentById(deptId));
+            }
+            Department department = departments.get(deptId);
+            if (department != null) {
+                employee.setDepartment(department);
+                candidates.add(row);
+            } else {
+                logger.info("Department not found" + deptId + " for employee " + employee.getName());
+                rejections.put(row, "Department not found" + deptId);
+            }
+        }
+        int[] acceptedRows = rejectTakenEmails(rows, candidates, rejections);
+        List<Employee> accepted = new ArrayList<>(acceptedRows.length);
+        for (int row : acceptedRows) {
+            accepted.add(rows.get(row));
+        }
+        BulkInsertResult result = employeeRepository.addEmployees(accepted);
+        for (BulkInsertResult.Chunk chunk : result.getChunks()) {
+            if (chunk.isSucceeded()) {
+                for (Employee employee : accepted.subList(chunk.getFirstRow(), chunk.getFirstRow() + chunk.getRows())) {
+                    searchIndex.put(new EmployeeSearchHit(employee.getId(), employee.getName(), employee.getEmailId()));
+                    emailFilter.add(employee.getEmailNormalized());
+                }
+            }
+        }
+        ReportCache.markDirty(Report.DEPARTMENT_HEADCOUNT, Report.EMPLOYEES_WITHOUT_SPORT,
+                              Report.AGE_HISTOGRAM, Report.LOCATIONS);
+        // The repository numbered the rows of the accepted list, the caller numbers its input
+        result.mapRows(acceptedRows);
+        rejections.forEach(result::addRejected);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * In parallel, the rows are split across the common fork/join pool.
+     */
+    @Override
+    public ValidationResult validateEmployees(List<Employee> employees, boolean parallel) {
+        List<Employee> rows = employees instanceof RandomAccess ? employees : new ArrayList<>(employees);
+        int[] errors = new int[rows.size()];
+        LocalDate today = LocalDate.now();
+        IntStream positions = IntStream.range(0, errors.length);
+        (parallel ? positions.parallel() : positions).forEach(row -> errors[row] = validate(rows.get(row), today));
+        return new ValidationResult(errors);
+    }
+
+    private static int validate(Employee employee, LocalDate today) {
+        Address address = employee.getAddress();
+        if (address == null) {
+            return Validator.validateEmployee(employee.getName(), employee.getDob(), employee.getEmailId(), false,
+                                              null, null, null, null, today);
+        }
+        return Validator.validateEmployee(employee.getName(), employee.getDob(), employee.getEmailId(), true,
+                                          address.getStreet(), address.getCity(), address.getState(),
+                                          address.getZip(), today);
     }
 
     @Override
     public void removeEmployee(int id) throws IllegalArgumentException, EmployeeException {
-        Employee employee = employeeRepository.findEmployeeById(id);
-        if (employee != null) {
-            employeeRepository.deleteEmployee(id);
-        } else {
-            logger.info("Employee not found" +id);
-            throw new IllegalArgumentException("Employee not found" +id);
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            if (employeeRepository.existsById(id)) {
+                employeeRepository.deleteEmployee(id);
+                unitOfWork.afterCommit(() -> {
+                    searchIndex.remove(id);
+                    ReportCache.markDirty(Report.values());
+                });
+            } else {
+                logger.info("Employee not found" +id);
+                throw new IllegalArgumentException("Employee not found" +id);
+            }
+            unitOfWork.commit();
         }
     }
     
@@ -67,6 +205,231 @@ public class EmployeeServiceImpl implements EmployeeService{
         return employeeRepository.getAllEmployees();
     }
 
+    @Override
+    public Page<Employee> getEmployeesPage(int afterId, int pageSize) throws EmployeeException {
+        return employeeRepository.getEmployeesPage(afterId, pageSize);
+    }
+
+    @Override
+    public Page<EmployeeSummary> getEmployeeSummariesPage(int afterId, int pageSize) throws EmployeeException {
+        return employeeRepository.getEmployeeSummariesPage(afterId, pageSize);
+    }
+
+    @Override
+    public Page<Employee> filterEmployees(EmployeeFilter filter, Employee after, int pageSize)
+            throws IllegalArgumentException, EmployeeException {
+        validateFilter(filter);
+        return employeeRepository.findEmployees(filter, after, pageSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     * A window running past December 31st is read as two ranges of birthday keys, the
+     * rest of the year then the start of the next one, each an index range scan. The key
+     * of after is computed from its date of birth, rows stored before the key column
+     * existed may not have it filled.
+     */
+    @Override
+    public Page<Employee> getUpcomingBirthdays(int days, Employee after, int pageSize)
+            throws IllegalArgumentException, EmployeeException {
+        if (days < 0 || days >= DAYS_IN_YEAR) {
+            throw new IllegalArgumentException("Days must be from 0 to " + (DAYS_IN_YEAR - 1) + ": " + days);
+        }
+        if (after != null && after.getDob() == null) {
+            throw new IllegalArgumentException("Employee without a date of birth cannot end a page of birthdays: "
+                                               + after.getId());
+        }
+        LocalDate today = LocalDate.now();
+        int fromKey = Employee.birthdayKey(today);
+        int toKey = Employee.birthdayKey(today.plusDays(days));
+        int afterKey = after == null ? 0 : Employee.birthdayKey(after.getDob());
+        int afterId = after == null ? 0 : after.getId();
+        if (toKey >= fromKey) {
+            return employeeRepository.getEmployeesByBirthdayKey(fromKey, toKey, afterKey, afterId, pageSize);
+        }
+        if (after != null && afterKey < fromKey) {
+            return employeeRepository.getEmployeesByBirthdayKey(FIRST_BIRTHDAY_KEY, toKey, afterKey, afterId, pageSize);
+        }
+        Page<Employee> endOfYear = employeeRepository.getEmployeesByBirthdayKey(fromKey, LAST_BIRTHDAY_KEY,
+                                                                                afterKey, afterId, pageSize);
+        if (endOfYear.hasNext()) {
+            return endOfYear;
+        }
+        // Fills the rest of the page, or with no room left only tells whether a next page exists
+        Page<Employee> startOfYear = employeeRepository.getEmployeesByBirthdayKey(
+                FIRST_BIRTHDAY_KEY, toKey, 0, 0, pageSize - endOfYear.getItems().size());
+        List<Employee> rows = new ArrayList<>(endOfYear.getItems());
+        rows.addAll(startOfYear.getItems());
+        return new Page<>(rows, startOfYear.hasNext());
+    }
+
+    @Override
+    public Page<Employee> getEmployeesByAge(int minAge, int maxAge, Employee after, int pageSize)
+            throws IllegalArgumentException, EmployeeException {
+        return filterEmployees(EmployeeFilter.activeEmployees().agedBetween(minAge, maxAge)
+                                             .sortedBy(EmployeeFilter.Sort.DOB, true), after, pageSize);
+    }
+
+    @Override
+    public List<AgeBracket> getAgeBrackets(int... boundaries) throws IllegalArgumentException, EmployeeException {
+        if (boundaries.length == 0) {
+            throw new IllegalArgumentException("At least one age boundary is needed");
+        }
+        LocalDate today = LocalDate.now();
+        List<LocalDate> cutoffs = new ArrayList<>(boundaries.length);
+        for (int i = 0; i < boundaries.length; i++) {
+            if (boundaries[i] <= 0 || (i > 0 && boundaries[i] <= boundaries[i - 1])) {
+                throw new IllegalArgumentException("Age boundaries must be positive and ascending: "
+                                                   + Arrays.toString(boundaries));
+            }
+            // Aged boundaries[i] or more means born on or before this date
+            cutoffs.add(today.minusYears(boundaries[i]));
+        }
+        long[] counts = employeeRepository.countActiveEmployeesByBirthBand(cutoffs);
+        List<AgeBracket> brackets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            brackets.add(new AgeBracket(i == 0 ? 0 : boundaries[i - 1],
+                                        i < boundaries.length ? boundaries[i] - 1 : null, counts[i]));
+        }
+        return brackets;
+    }
+
+    @Override
+    public long countEmployees(EmployeeFilter filter) throws IllegalArgumentException, EmployeeException {
+        validateFilter(filter);
+        return employeeRepository.countEmployees(filter);
+    }
+
+    /**
+     * Checks the department, sport and age bounds of a filter, the department and
+     * sport are read from the reference snapshots without a query.
+     */
+    private void validateFilter(EmployeeFilter filter) throws IllegalArgumentException, EmployeeException {
+        if (filter.getDepartmentId() != null && departmentService.getDepartmentById(filter.getDepartmentId()) == null) {
+            throw new IllegalArgumentException("Department not found" + filter.getDepartmentId());
+        }
+        if (filter.getSportId() != null && sportService.getSportById(filter.getSportId()) == null) {
+            throw new IllegalArgumentException("Sport not found" + filter.getSportId());
+        }
+        if ((filter.getMinAge() != null && filter.getMinAge() < 0)
+                || (filter.getMaxAge() != null && filter.getMaxAge() < 0)
+                || (filter.getMinAge() != null && filter.getMaxAge() != null
+                    && filter.getMinAge() > filter.getMaxAge())) {
+            throw new IllegalArgumentException("Invalid age range: " + filter.getMinAge() + " to " + filter.getMaxAge());
+        }
+    }
+
+    @Override
+    public ExportResult exportEmployees(Path file, ExportFormat format) throws EmployeeException {
+        long start = System.nanoTime();
+        try (EmployeeExportWriter writer = new EmployeeExportWriter(file, format)) {
+            employeeRepository.forEachActiveEmployee(employee -> {
+                try {
+                    writer.write(employee);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            ExportResult result = new ExportResult(file, format, writer.getRows(),
+                                                   (System.nanoTime() - start) / 1_000_000);
+            logger.info("Employee export finished: " + result);
+            return result;
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Error while exporting employees to " + file, e);
+            throw new EmployeeException("Error while exporting employees to " + file, e);
+        }
+    }
+
+    @Override
+    public List<EmployeeSearchHit> search(String query, int limit) throws IllegalArgumentException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        long start = System.nanoTime();
+        List<EmployeeSearchHit> hits = searchIndex.search(query, limit);
+        logger.debug("Search '" + query + "' found " + hits.size() + " employees in "
+                     + (System.nanoTime() - start) / 1000 + " us");
+        return hits;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Always asks the database: the known email filter only holds the emails this process
+     * has seen, so it cannot rule out one stored by another instance.
+     */
+    @Override
+    public Employee findEmployeeByEmail(String emailId) throws EmployeeException {
+        if (emailId == null) {
+            return null;
+        }
+        return employeeRepository.findEmployeeByEmail(emailId);
+    }
+
+    /**
+     * Fills the derived columns of employees stored before these columns existed, once
+     * per run and before the in-memory indexes are built from them.
+     */
+    private static synchronized void fillDerivedColumns(EmployeeRepository employeeRepository)
+            throws EmployeeException {
+        if (!derivedColumnsFilled) {
+            employeeRepository.backfillDerivedColumns();
+            derivedColumnsFilled = true;
+        }
+    }
+
+    /**
+     * Checks whether an email is in use with one indexed lookup. Unlike the bulk check, it
+     * does not consult the known email filter, which misses emails stored by other instances.
+     */
+    private boolean isEmailTaken(String emailId) throws EmployeeException {
+        String normalizedEmail = Employee.normalizeEmail(emailId);
+        return normalizedEmail != null
+               && !employeeRepository.findExistingEmails(Collections.singleton(normalizedEmail)).isEmpty();
+    }
+
+    /**
+     * Drops the employees whose email is already stored or repeats an earlier row of the
+     * batch. Only the emails the known email filter reports as possibly taken are checked
+     * against the database, with one set based query. The filter is warmed from the database
+     * and only misses emails stored since by another instance, which the unique index on the
+     * normalized email still rejects when the chunk commits.
+     *
+     * @param rows - the employees of the input.
+     * @param candidates - positions in rows of the employees to check.
+     * @param rejections - receives the position and reason of every dropped row.
+     * @return positions of the employees whose email is free, in input order.
+     */
+    private int[] rejectTakenEmails(List<Employee> rows, List<Integer> candidates, Map<Integer, String> rejections)
+            throws EmployeeException {
+        Set<String> seen = new HashSet<>();
+        Set<String> possiblyTaken = new HashSet<>();
+        for (int row : candidates) {
+            String email = rows.get(row).getEmailNormalized();
+            if (email != null && seen.add(email) && emailFilter.mightExist(email)) {
+                possiblyTaken.add(email);
+            }
+        }
+        Set<String> taken = possiblyTaken.isEmpty() ? Collections.emptySet()
+                                                    : employeeRepository.findExistingEmails(possiblyTaken);
+        seen.clear();
+        int[] accepted = new int[candidates.size()];
+        int count = 0;
+        for (int row : candidates) {
+            Employee employee = rows.get(row);
+            String email = employee.getEmailNormalized();
+            if (email == null || (!taken.contains(email) && seen.add(email))) {
+                accepted[count++] = row;
+            } else {
+                logger.info("Email already exists: " + employee.getEmailId() + " for employee " + employee.getName());
+                rejections.put(row, "Email already exists: " + employee.getEmailId());
+            }
+        }
+        logger.debug("Email check of " + candidates.size() + " employees: " + possiblyTaken.size()
+                     + " checked in the database, " + taken.size() + " taken, "
+                     + (candidates.size() - count) + " rejected");
+        return Arrays.copyOf(accepted, count);
+    }
+
     @Override
     public Employee getEmployeeById(int id) throws EmployeeException {
         return employeeRepository.findEmployeeById(id);
@@ -74,34 +437,51 @@ public class EmployeeServiceImpl implements EmployeeService{
 
     @Override
     public void updateEmployee(int id, String name, LocalDate dob, String emailId, int deptId, Address updatedAddress) throws IllegalArgumentException, EmployeeException {
-        Employee employee = employeeRepository.findEmployeeById(id);
-        if (employee != null) {
-            employee.setName(name);
-            employee.setDob(dob);
-            employee.setEmailId(emailId);
-
-            // Get the existing address from the database
-            Address existingAddress = employee.getAddress();
-            if (existingAddress != null) {
-                // Update the existing address details
-                existingAddress.setStreet(updatedAddress.getStreet());
-                existingAddress.setCity(updatedAddress.getCity());
-                existingAddress.setState(updatedAddress.getState());
-                existingAddress.setZip(updatedAddress.getZip());
-            } else {
-                // Set the new address if there's no existing one
-                employee.setAddress(updatedAddress);
-            }
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Employee employee = employeeRepository.findEmployeeById(id);
+            if (employee != null) {
+                if (!Objects.equals(Employee.normalizeEmail(emailId), employee.getEmailNormalized())
+                        && isEmailTaken(emailId)) {
+                    throw new IllegalArgumentException("Email already exists: " + emailId);
+                }
+                employee.setName(name);
+                employee.setDob(dob);
+                employee.setEmailId(emailId);
 
-            Department department = departmentService.getDepartmentById(deptId);
-            if (department != null) {
-                employee.setDepartment(department);
+                // Get the existing address from the database
+                Address existingAddress = employee.getAddress();
+                if (existingAddress != null) {
+                    // Update the existing address details
+                    existingAddress.setStreet(updatedAddress.getStreet());
+                    existingAddress.setCity(updatedAddress.getCity());
+                    existingAddress.setState(updatedAddress.getState());
+                    existingAddress.setZip(updatedAddress.getZip());
+                } else {
+                    // Set the new address if there's no existing one
+                    employee.setAddress(updatedAddress);
+                }
+
+                Department department = departmentService.getDepartmentById(deptId);
+                if (department != null) {
+                    employee.setDepartment(department);
+                } else {
+                    throw new IllegalArgumentException("Department not found" + deptId);
+                }
+                employeeRepository.updateEmployee(employee);
+                boolean active = employee.getIsActive();
+                unitOfWork.afterCommit(() -> {
+                    if (active) {
+                        searchIndex.put(new EmployeeSearchHit(id, name, emailId));
+                    } else {
+                        searchIndex.remove(id);
+                    }
+                    emailFilter.add(employee.getEmailNormalized());
+                    ReportCache.markDirty(Report.DEPARTMENT_HEADCOUNT, Report.AGE_HISTOGRAM, Report.LOCATIONS);
+                });
             } else {
-                throw new IllegalArgumentException("Department not found" + deptId);
+                throw new IllegalArgumentException("Employee not found" + id);
             }
-            employeeRepository.updateEmployee(employee);
-        } else {
-            throw new IllegalArgumentException("Employee not found" + id);
+            unitOfWork.commit();
         }
     }
 
@@ -117,30 +497,82 @@ public class EmployeeServiceImpl implements EmployeeService{
 
     @Override
     public void addSportToEmployee(int employeeId, int sportId) throws EmployeeException {
-        Employee employee = getEmployeeById(employeeId);
-        Sport sport = sportService.getSportById(sportId);
-
-        if (employee != null && sport != null) {
-            employeeRepository.addSportToEmployee(employeeId, sportId);
-        } else {
-            logger.info("Employee or Sport not found");
-            throw new IllegalArgumentException("Employee or Sport not found");
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            if (employeeRepository.existsById(employeeId) && sportService.getSportById(sportId) != null) {
+                employeeRepository.addSportToEmployee(employeeId, sportId);
+                unitOfWork.afterCommit(() -> ReportCache.markDirty(SPORT_REPORTS));
+            } else {
+                logger.info("Employee or Sport not found");
+                throw new IllegalArgumentException("Employee or Sport not found");
+            }
+            unitOfWork.commit();
         }
     }
 
 
     @Override
     public void removeSportFromEmployee(int employeeId, int sportId) throws EmployeeException {
-        Employee employee = getEmployeeById(employeeId);
-        Sport sport = sportService.getSportById(sportId);
-
-        if (employee != null && sport != null) {
-            employeeRepository.removeSportFromEmployee(employeeId, sportId);
-        } else {
-            throw new IllegalArgumentException("Employee or Sport not found");
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            if (employeeRepository.existsById(employeeId) && sportService.getSportById(sportId) != null) {
+                employeeRepository.removeSportFromEmployee(employeeId, sportId);
+                unitOfWork.afterCommit(() -> ReportCache.markDirty(SPORT_REPORTS));
+            } else {
+                throw new IllegalArgumentException("Employee or Sport not found");
+            }
+            unitOfWork.commit();
         }
     }
     
+    @Override
+    public CompletableFuture<Void> queueAddSportToEmployee(int employeeId, int sportId) throws EmployeeException {
+        return queueSportChange(employeeId, sportId, true);
+    }
+
+    @Override
+    public CompletableFuture<Void> queueRemoveSportFromEmployee(int employeeId, int sportId) throws EmployeeException {
+        return queueSportChange(employeeId, sportId, false);
+    }
+
+    private CompletableFuture<Void> queueSportChange(int employeeId, int sportId, boolean member)
+            throws EmployeeException {
+        if (sportService.getSportById(sportId) == null) {
+            logger.info("Sport not found" + sportId);
+            throw new IllegalArgumentException("Sport not found" + sportId);
+        }
+        return employeeRepository.queueSportChange(employeeId, sportId, member)
+                                 .thenRun(() -> ReportCache.markDirty(SPORT_REPORTS));
+    }
+
+    @Override
+    public SportAssignmentResult addSportToEmployees(int sportId, Collection<Integer> employeeIds)
+            throws EmployeeException {
+        if (sportService.getSportById(sportId) == null) {
+            logger.info("Sport not found" + sportId);
+            throw new IllegalArgumentException("Sport not found" + sportId);
+        }
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            SportAssignmentResult result = employeeRepository.addSportToEmployees(sportId, new LinkedHashSet<>(employeeIds));
+            unitOfWork.afterCommit(() -> ReportCache.markDirty(SPORT_REPORTS));
+            unitOfWork.commit();
+            return result;
+        }
+    }
+
+    @Override
+    public SportAssignmentResult removeSportFromEmployees(int sportId, Collection<Integer> employeeIds)
+            throws EmployeeException {
+        if (sportService.getSportById(sportId) == null) {
+            logger.info("Sport not found" + sportId);
+            throw new IllegalArgumentException("Sport not found" + sportId);
+        }
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            SportAssignmentResult result = employeeRepository.removeSportFromEmployees(sportId, new LinkedHashSet<>(employeeIds));
+            unitOfWork.afterCommit(() -> ReportCache.markDirty(SPORT_REPORTS));
+            unitOfWork.commit();
+            return result;
+        }
+    }
+
     @Override
     public Set<Sport> getAllSports() throws EmployeeException {
         return sportService.getAllSports();
@@ -0,0 +1,91 @@
+package com.ideas2it.employee.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.ideas2it.employee.dao.EmployeeRepository;
+import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.utilities.BloomFilter;
+
+/**
+ * <p>
+ * Bloom filter of the normalized emails of every stored employee, used as the pre-check
+ * of bulk creates: only the emails the filter reports as possibly taken are looked up in
+ * the database. The filter only sees the emails stored when it was built and the ones this
+ * process stored since, so it never answers a lookup on its own. An email another instance
+ * stored since is still rejected by the unique index on the normalized email.
+ * </p>
+ * The filter is built once, when the first employee service is created, and sized at
+ * twice the number of stored emails. The service adds emails after its changes commit,
+ * once it holds more emails than it was sized for it is rebuilt from the database.
+ * @author  Kishore
+ * @version 1.0
+ */
+class KnownEmailFilter {
+    private static final Logger logger = LogManager.getLogger(KnownEmailFilter.class);
+    private static final KnownEmailFilter instance = new KnownEmailFilter();
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final long MIN_CAPACITY = 10_000;
+    private EmployeeRepository employeeRepository;
+    private volatile BloomFilter filter;
+
+    private KnownEmailFilter() {
+    }
+
+    static KnownEmailFilter getInstance() {
+        return instance;
+    }
+
+    /**
+     * Builds the filter from the stored emails unless it is already built.
+     *
+     * @param employeeRepository - repository streaming the stored emails.
+     */
+    synchronized void ensureLoaded(EmployeeRepository employeeRepository) throws EmployeeException {
+        if (filter == null) {
+            this.employeeRepository = employeeRepository;
+            rebuild();
+        }
+    }
+
+    /**
+     * Tests whether an email may be in use.
+     *
+     * @param normalizedEmail - email to test, normalized.
+     * @return false if no employee uses the email, true if one probably does.
+     */
+    boolean mightExist(String normalizedEmail) throws EmployeeException {
+        BloomFilter current = filter;
+        if (current.isSaturated()) {
+            synchronized (this) {
+                if (filter == current) {
+                    rebuild();
+                }
+                current = filter;
+            }
+        }
+        return current.mightContain(normalizedEmail);
+    }
+
+    /**
+     * Records an email stored by a committed change.
+     */
+    synchronized void add(String normalizedEmail) {
+        if (filter != null && normalizedEmail != null) {
+            filter.add(normalizedEmail);
+        }
+    }
+
+    /**
+     * Replaces the filter with one built from the database. Callers hold the lock, so
+     * emails committed while the database is read are added to the new filter.
+     */
+    private void rebuild() throws EmployeeException {
+        long start = System.nanoTime();
+        BloomFilter rebuilt = new BloomFilter(Math.max(MIN_CAPACITY, employeeRepository.countEmails() * 2),
+                                              FALSE_POSITIVE_RATE);
+        employeeRepository.forEachNormalizedEmail(rebuilt::add);
+        filter = rebuilt;
+        logger.info("Known email filter built: " + rebuilt + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
@@ -4,12 +4,14 @@ import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.FetchType;
 import javax.persistence.Table;
 import javax.persistence.OneToOne;
 
+import org.hibernate.annotations.GenericGenerator;
+
 /**
  * Represents an Address that can be associated with employee.
  * Contains details like id, Street Name, City , State, ZipCode.
@@ -17,10 +19,16 @@ import javax.persistence.OneToOne;
  * @version 1.0
  */
 @Entity
-@Table(name = "address")
+@Table(name = "address", indexes = {
+    // Serve the employee filters by city, by state and by zip prefix
+    @Index(name = "idx_address_city", columnList = "city"),
+    @Index(name = "idx_address_state_zip", columnList = "state, zip"),
+    @Index(name = "idx_address_zip", columnList = "zip")
+})
 public class Address {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "address_id")
+    @GenericGenerator(name = "address_id", strategy = "com.ideas2it.utilities.PooledIdGenerator")
     private int id;
 
     @Column(name = "street")
@@ -0,0 +1,40 @@
+package com.ideas2it.model;
+
+/**
+ * Represents how many active employees have an age within a range of years.
+ * Built from an aggregate query, it is never persisted.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class AgeBracket {
+    private final int minAge;
+    private final Integer maxAge;
+    private final long employees;
+
+    public AgeBracket(int minAge, Integer maxAge, long employees) {
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        this.employees = employees;
+    }
+
+    public int getMinAge() {
+        return minAge;
+    }
+
+    /**
+     * @return the highest age of the bracket, inclusive, or null for the open ended last bracket.
+     */
+    public Integer getMaxAge() {
+        return maxAge;
+    }
+
+    public long getEmployees() {
+        return employees;
+    }
+
+    @Override
+    public String toString() {
+        String range = maxAge == null ? minAge + "+" : minAge + "-" + maxAge;
+        return String.format("|%-10s | %-10d |", range, employees);
+    }
+}
@@ -0,0 +1,175 @@
+package com.ideas2it.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the outcome of a bulk insert of employees.
+ * Rows are inserted in chunks, each chunk in its own transaction, and the
+ * result keeps whether every chunk was committed or rolled back, along with
+ * the rows rejected before reaching the database and why.
+ * Every row is identified by its position in the caller's input.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class BulkInsertResult {
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final List<Rejection> rejections = new ArrayList<>();
+
+    /**
+     * Records the outcome of one chunk.
+     *
+     * @param firstRow - position of the chunk's first row in the input, its rows follow it.
+     * @param rows - number of rows in the chunk.
+     * @param error - reason the chunk was rolled back, null if it was committed.
+     */
+    public void addChunk(int firstRow, int rows, String error) {
+        chunks.add(new Chunk(chunks.size(), firstRow, rows, error));
+    }
+
+    /**
+     * Records a row that was rejected before reaching the database.
+     *
+     * @param row - position of the row in the input.
+     * @param reason - why the row was rejected.
+     */
+    public void addRejected(int row, String reason) {
+        rejections.add(new Rejection(row, reason));
+    }
+
+    /**
+     * Translates the rows of the chunks, recorded as positions in a filtered list of
+     * the input, back to their positions in the input.
+     *
+     * @param inputRows - position in the input of each row of the filtered list.
+     */
+    public void mapRows(int[] inputRows) {
+        for (int i = 0; i < chunks.size(); i++) {
+            Chunk chunk = chunks.get(i);
+            int[] rowIndexes = new int[chunk.getRows()];
+            for (int j = 0; j < rowIndexes.length; j++) {
+                rowIndexes[j] = inputRows[chunk.rowIndexes[j]];
+            }
+            chunks.set(i, new Chunk(chunk.index, rowIndexes, chunk.error));
+        }
+    }
+
+    public List<Chunk> getChunks() {
+        return Collections.unmodifiableList(chunks);
+    }
+
+    public List<Rejection> getRejections() {
+        return Collections.unmodifiableList(rejections);
+    }
+
+    public int getInserted() {
+        int inserted = 0;
+        for (Chunk chunk : chunks) {
+            inserted += chunk.isSucceeded() ? chunk.getRows() : 0;
+        }
+        return inserted;
+    }
+
+    public int getFailed() {
+        int failed = 0;
+        for (Chunk chunk : chunks) {
+            failed += chunk.isSucceeded() ? 0 : chunk.getRows();
+        }
+        return failed;
+    }
+
+    public int getRejected() {
+        return rejections.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("inserted=%d, failed=%d, rejected=%d, chunks=%d",
+                             getInserted(), getFailed(), getRejected(), chunks.size());
+    }
+
+    /**
+     * Outcome of one chunk of a bulk insert.
+     */
+    public static class Chunk {
+        private final int index;
+        private final int[] rowIndexes;
+        private final String error;
+
+        public Chunk(int index, int firstRow, int rows, String error) {
+            this(index, new int[rows], error);
+            for (int i = 0; i < rows; i++) {
+                rowIndexes[i] = firstRow + i;
+            }
+        }
+
+        private Chunk(int index, int[] rowIndexes, String error) {
+            this.index = index;
+            this.rowIndexes = rowIndexes;
+            this.error = error;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return position in the input of the chunk's first row.
+         */
+        public int getFirstRow() {
+            return rowIndexes.length == 0 ? -1 : rowIndexes[0];
+        }
+
+        /**
+         * @return position in the input of every row of the chunk, in insertion order.
+         */
+        public int[] getRowIndexes() {
+            return rowIndexes.clone();
+        }
+
+        public int getRows() {
+            return rowIndexes.length;
+        }
+
+        public boolean isSucceeded() {
+            return error == null;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("|%-5d | %-8d | %-6d | %-11s | %s", index, getFirstRow(), getRows(),
+                                 isSucceeded() ? "COMMITTED" : "ROLLED BACK", isSucceeded() ? "" : error);
+        }
+    }
+
+    /**
+     * A row rejected before reaching the database.
+     */
+    public static class Rejection {
+        private final int row;
+        private final String reason;
+
+        public Rejection(int row, String reason) {
+            this.row = row;
+            this.reason = reason;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("|%-8d | %s", row, reason);
+        }
+    }
+}
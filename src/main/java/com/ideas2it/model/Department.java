@@ -6,23 +6,31 @@ import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.FetchType;
 import javax.persistence.Table;
 import javax.persistence.OneToMany;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+
 /**
  * Represents an Department that can  associated with employees.
  * Contains details like department id, department name.
+ * Departments are kept in the second-level cache, their rosters are always read from the database.
  * @author  Kishore 
  * @version 1.0 
  */
 @Entity
 @Table(name = "department")
+@BatchSize(size = 50)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Department {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "department_id")
+    @GenericGenerator(name = "department_id", strategy = "com.ideas2it.utilities.PooledIdGenerator")
     private int id;
 
     @Column(name = "name", unique = true)
@@ -31,11 +39,11 @@ public class Department {
     @Column(name = "isDeleted")
     private boolean isDeleted;
 
-    @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private Set<Employee> employees;
 
-    public Department(int id, String name) {
-        this.id = id;
+    public Department(String name) {
         this.name = name;
         this.isDeleted = false;
         this.employees = new HashSet<>();
@@ -0,0 +1,42 @@
+package com.ideas2it.model;
+
+/**
+ * Represents how many active and removed employees a department has.
+ * Built directly by an aggregate query, it is never persisted.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class DepartmentHeadcount {
+    private final int departmentId;
+    private final String departmentName;
+    private final long active;
+    private final long inactive;
+
+    public DepartmentHeadcount(int departmentId, String departmentName, long active, long inactive) {
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+        this.active = active;
+        this.inactive = inactive;
+    }
+
+    public int getDepartmentId() {
+        return departmentId;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public long getActive() {
+        return active;
+    }
+
+    public long getInactive() {
+        return inactive;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("|%-10d | %-20s | %-10d | %-10d |", departmentId, departmentName, active, inactive);
+    }
+}
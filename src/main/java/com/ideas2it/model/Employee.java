@@ -3,32 +3,73 @@ package com.ideas2it.model;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.FetchType;
 import javax.persistence.Table;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
 import javax.persistence.OneToOne;
 import javax.persistence.ManyToMany;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+
 /**
  * Represents an Employee that can  associated with department & sports.
  * Contains details like id, name, date of birth (dob), department, email, active status and associated sports.
+ * Every association is lazy, each read path picks what it needs through one of the entity graphs below
+ * and sports left uninitialized are loaded in batches.
  * @author  Kishore 
  * @version 1.0 
  */
 @Entity
-@Table(name = "employee")
+@Table(name = "employee", indexes = {
+    // Serves the paged and counted department rosters, which filter on department and active flag
+    @Index(name = "idx_employee_department_active", columnList = "department_id, isActive, id"),
+    // Serves the lookups and duplicate checks by email, which ignore case and surrounding spaces,
+    // and keeps two employees from storing variants of one email
+    @Index(name = "uk_employee_email_normalized", columnList = "email_normalized", unique = true),
+    // Serve the employee filters sorted or bounded by name and by date of birth
+    @Index(name = "idx_employee_active_name", columnList = "isActive, name, id"),
+    @Index(name = "idx_employee_active_dob", columnList = "isActive, dob, id"),
+    // Serves the upcoming birthday pages, which scan a range of month and day
+    @Index(name = "idx_employee_active_birthday", columnList = "isActive, birthday_key, id")
+})
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = Employee.LIST_VIEW, attributeNodes = {
+        @NamedAttributeNode("department"),
+        @NamedAttributeNode("address")}),
+    @NamedEntityGraph(name = Employee.DETAIL_VIEW, attributeNodes = {
+        @NamedAttributeNode("department"),
+        @NamedAttributeNode("address"),
+        @NamedAttributeNode("sports")})
+})
 public class Employee {
+    /**
+     * Graph for listings: the to-one associations are joined, so it can be paged,
+     * and sports are batch loaded.
+     */
+    public static final String LIST_VIEW = "Employee.listView";
+
+    /**
+     * Graph for a single employee, everything is loaded in one statement.
+     */
+    public static final String DETAIL_VIEW = "Employee.detailView";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "employee_id")
+    @GenericGenerator(name = "employee_id", strategy = "com.ideas2it.utilities.PooledIdGenerator")
     private int id;
 
     @Column(name = "name")
@@ -37,37 +78,50 @@ public class Employee {
     @Column(name = "dob")
     private LocalDate dob;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    /**
+     * Month and day of birth as month * 100 + day, kept in step with dob by its setter,
+     * so birthdays can be ranged over whatever the year.
+     */
+    @Column(name = "birthday_key")
+    private Integer birthdayKey;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id", nullable = false)
     private Department department;
 
     @Column(name = "emailId", unique = true)
     private String emailId;
 
+    /**
+     * Email in the form it is compared in, kept in step with emailId by its setter.
+     */
+    @Column(name = "email_normalized")
+    private String emailNormalized;
+
     @Column(name = "isActive")
     private boolean isActive;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(
         name = "employee_sport",
         joinColumns = @JoinColumn(name = "Employee_ID"),
         inverseJoinColumns = @JoinColumn(name = "SPORT_ID"))
     private Set<Sport> sports = new HashSet<>();
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id", referencedColumnName = "id")
     private Address address; 
 
     public Employee() {
     }
 
-    public Employee(int id, String name, LocalDate dob, Department department, 
+    public Employee(String name, LocalDate dob, Department department,
                     String emailId, Address address) {
-        this.id = id;
         this.name = name;
-        this.dob = dob;
+        setDob(dob);
         this.department = department;
-        this.emailId = emailId;
+        setEmailId(emailId);
         this.isActive = true;
         this.address = address;
         
@@ -107,6 +161,21 @@ public class Employee {
 
     public void setDob(LocalDate dob) {
         this.dob = dob;
+        this.birthdayKey = dob == null ? null : birthdayKey(dob);
+    }
+
+    public Integer getBirthdayKey() {
+        return birthdayKey;
+    }
+
+    /**
+     * Computes the month and day key of a date.
+     *
+     * @param date - date to key.
+     * @return month * 100 + day, from 101 to 1231.
+     */
+    public static int birthdayKey(LocalDate date) {
+        return date.getMonthValue() * 100 + date.getDayOfMonth();
     }
 
     public Department getDepartment() {
@@ -123,6 +192,21 @@ public class Employee {
 
     public void setEmailId(String emailId) {
         this.emailId = emailId;
+        this.emailNormalized = normalizeEmail(emailId);
+    }
+
+    public String getEmailNormalized() {
+        return emailNormalized;
+    }
+
+    /**
+     * Brings an email to the form emails are compared in: no surrounding spaces, lower case.
+     *
+     * @param emailId - email as entered, may be null.
+     * @return the normalized email, or null.
+     */
+    public static String normalizeEmail(String emailId) {
+        return emailId == null ? null : emailId.trim().toLowerCase(Locale.ROOT);
     }
     
     public Set<Sport> getSports() {
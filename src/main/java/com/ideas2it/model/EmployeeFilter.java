@@ -0,0 +1,219 @@
+package com.ideas2it.model;
+
+/**
+ * Represents a combination of conditions used to select employees, with the order of the rows.
+ * Every condition left unset matches any employee, a new filter only keeps active employees.
+ * Filters are immutable, each method returns a new filter:
+ * {@code EmployeeFilter.activeEmployees().inDepartment(2).agedBetween(25, 40).sortedBy(Sort.NAME, false)}.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class EmployeeFilter {
+    private static final EmployeeFilter ACTIVE_EMPLOYEES = new EmployeeFilter();
+    private Integer departmentId;
+    private Integer sportId;
+    private Integer minAge;
+    private Integer maxAge;
+    private String city;
+    private String state;
+    private String zipPrefix;
+    private Boolean active = Boolean.TRUE;
+    private Sort sort = Sort.ID;
+    private boolean descending;
+
+    /**
+     * Column the rows of a filter are ordered by, ties are broken by ID.
+     */
+    public enum Sort {
+        ID("e.id"),
+        NAME("e.name"),
+        DOB("e.dob");
+
+        private final String property;
+
+        Sort(String property) {
+            this.property = property;
+        }
+
+        /**
+         * @return the HQL path of the column, on the alias {@code e}.
+         */
+        public String getProperty() {
+            return property;
+        }
+    }
+
+    private EmployeeFilter() {
+    }
+
+    private EmployeeFilter(EmployeeFilter filter) {
+        this.departmentId = filter.departmentId;
+        this.sportId = filter.sportId;
+        this.minAge = filter.minAge;
+        this.maxAge = filter.maxAge;
+        this.city = filter.city;
+        this.state = filter.state;
+        this.zipPrefix = filter.zipPrefix;
+        this.active = filter.active;
+        this.sort = filter.sort;
+        this.descending = filter.descending;
+    }
+
+    /**
+     * Starts a filter that matches every active employee, ordered by ID.
+     *
+     * @return the filter without conditions.
+     */
+    public static EmployeeFilter activeEmployees() {
+        return ACTIVE_EMPLOYEES;
+    }
+
+    public EmployeeFilter inDepartment(Integer departmentId) {
+        EmployeeFilter copy = new EmployeeFilter(this);
+        copy.departmentId = departmentId;
+        return copy;
+    }
+
+    public EmployeeFilter playing(Integer sportId) {
+        EmployeeFilter copy = new EmployeeFilter(this);
+        copy.sportId = sportId;
+        return copy;
+    }
+
+    /**
+     * Keeps the employees whose age in full years is within the bounds.
+     *
+     * @param minAge - lowest age, null for no lower bound.
+     * @param maxAge - highest age, inclusive, null for no upper bound.
+     * @return the narrowed filter.
+     */
+    public EmployeeFilter agedBetween(Integer minAge, Integer maxAge) {
+        EmployeeFilter copy = new EmployeeFilter(this);
+        copy.minAge = minAge;
+        copy.maxAge = maxAge;
+        return copy;
+    }
+
+    public EmployeeFilter inCity(String city) {
+        EmployeeFilter copy = new EmployeeFilter(this);
+        copy.city = city;
+        return copy;
+    }
+
+    public EmployeeFilter inState(String state) {
+        EmployeeFilter copy = new EmployeeFilter(this);
+        copy.state = state;
+        return copy;
+    }
+
+    public EmployeeFilter withZipStartingWith(String zipPrefix) {
+        EmployeeFilter copy = new EmployeeFilter(this);
+        copy.zipPrefix = zipPrefix;
+        return copy;
+    }
+
+    /**
+     * Selects employees by their active flag.
+     *
+     * @param active - true for active employees, false for removed ones, null for both.
+     * @return the narrowed filter.
+     */
+    public EmployeeFilter withActive(Boolean active) {
+        EmployeeFilter copy = new EmployeeFilter(this);
+        copy.active = active;
+        return copy;
+    }
+
+    public EmployeeFilter sortedBy(Sort sort, boolean descending) {
+        EmployeeFilter copy = new EmployeeFilter(this);
+        copy.sort = sort;
+        copy.descending = descending;
+        return copy;
+    }
+
+    public Integer getDepartmentId() {
+        return departmentId;
+    }
+
+    public Integer getSportId() {
+        return sportId;
+    }
+
+    public Integer getMinAge() {
+        return minAge;
+    }
+
+    public Integer getMaxAge() {
+        return maxAge;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getZipPrefix() {
+        return zipPrefix;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Describes which conditions are set and the order, without their values. Filters
+     * of the same shape run the same query with different parameters.
+     *
+     * @return the shape of the filter.
+     */
+    public String getShape() {
+        StringBuilder shape = new StringBuilder();
+        shape.append(departmentId == null ? '-' : 'D')
+             .append(sportId == null ? '-' : 'S')
+             .append(minAge == null ? '-' : '>')
+             .append(maxAge == null ? '-' : '<')
+             .append(city == null ? '-' : 'C')
+             .append(state == null ? '-' : 'T')
+             .append(zipPrefix == null ? '-' : 'Z')
+             .append(active == null ? '-' : 'A')
+             .append(':').append(sort).append(descending ? ":DESC" : ":ASC");
+        return shape.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        if (departmentId != null) {
+            description.append("department ").append(departmentId).append(", ");
+        }
+        if (sportId != null) {
+            description.append("plays ").append(sportId).append(", ");
+        }
+        if (minAge != null || maxAge != null) {
+            description.append("aged ").append(minAge == null ? "0" : minAge).append(" to ")
+                       .append(maxAge == null ? "any" : maxAge).append(", ");
+        }
+        if (city != null) {
+            description.append("city ").append(city).append(", ");
+        }
+        if (state != null) {
+            description.append("state ").append(state).append(", ");
+        }
+        if (zipPrefix != null) {
+            description.append("zip ").append(zipPrefix).append("*, ");
+        }
+        description.append(active == null ? "active or not" : active ? "active" : "inactive");
+        return description.append(", by ").append(sort).append(descending ? " descending" : "").toString();
+    }
+}
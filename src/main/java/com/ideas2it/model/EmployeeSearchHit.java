@@ -0,0 +1,37 @@
+package com.ideas2it.model;
+
+/**
+ * Represents an employee found by a name or email search.
+ * Holds only the searchable columns, it is loaded by a projection query and kept
+ * by the search index, never persisted.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class EmployeeSearchHit {
+    private final int id;
+    private final String name;
+    private final String emailId;
+
+    public EmployeeSearchHit(int id, String name, String emailId) {
+        this.id = id;
+        this.name = name;
+        this.emailId = emailId;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmailId() {
+        return emailId;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("|%-10d | %-20s | %-30s |", id, name, emailId);
+    }
+}
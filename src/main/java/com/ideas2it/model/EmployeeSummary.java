@@ -0,0 +1,67 @@
+package com.ideas2it.model;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Read only view of an employee for the employee table.
+ * Holds only the columns the table shows, loaded by a single projection query
+ * with the sport names already joined, so no entity is created or tracked.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class EmployeeSummary {
+    private final int id;
+    private final String name;
+    private final LocalDate dob;
+    private final String departmentName;
+    private final String emailId;
+    private final String sports;
+    private final String address;
+
+    public EmployeeSummary(int id, String name, LocalDate dob, String departmentName, String emailId,
+                           String sports, String street, String city, String state, String zip) {
+        this.id = id;
+        this.name = name;
+        this.dob = dob;
+        this.departmentName = departmentName;
+        this.emailId = emailId;
+        this.sports = sports;
+        this.address = street == null ? null : street + ", " + city + ", " + state + " - " + zip;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate getDob() {
+        return dob;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public String getEmailId() {
+        return emailId;
+    }
+
+    public String getSports() {
+        return sports;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("|%-10d | %-20s | %-5d | %-20s | %-30s | %-25s | %-30s |\n",
+                             id, name, Period.between(dob, LocalDate.now()).getYears(), departmentName, emailId,
+                             sports == null ? "No sports" : sports, address == null ? "No address" : address);
+    }
+}
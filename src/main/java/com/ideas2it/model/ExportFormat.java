@@ -0,0 +1,11 @@
+package com.ideas2it.model;
+
+/**
+ * Formats the employee directory can be exported to.
+ * @author  Kishore
+ * @version 1.0
+ */
+public enum ExportFormat {
+    CSV,
+    JSON_LINES
+}
@@ -0,0 +1,49 @@
+package com.ideas2it.model;
+
+import java.nio.file.Path;
+
+/**
+ * Represents the outcome of an employee export.
+ * Contains the file written, the number of rows and how long the export took.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class ExportResult {
+    private final Path file;
+    private final ExportFormat format;
+    private final long rows;
+    private final long elapsedMillis;
+
+    public ExportResult(Path file, ExportFormat format, long rows, long elapsedMillis) {
+        this.file = file;
+        this.format = format;
+        this.rows = rows;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rows * 1000.0 : rows * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows exported to %s as %s in %d ms (%.0f rows/s)",
+                             rows, file, format, elapsedMillis, getRowsPerSecond());
+    }
+}
@@ -0,0 +1,36 @@
+package com.ideas2it.model;
+
+/**
+ * Represents how many active employees live in a city of a state.
+ * Built directly by an aggregate query, it is never persisted.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class LocationCount {
+    private final String state;
+    private final String city;
+    private final long employees;
+
+    public LocationCount(String state, String city, long employees) {
+        this.state = state;
+        this.city = city;
+        this.employees = employees;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public long getEmployees() {
+        return employees;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("|%-20s | %-20s | %-10d |", state, city, employees);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ideas2it.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents one page of a listing.
+ * Contains the rows of the page and whether more rows follow it.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final boolean hasNext;
+
+    public Page(List<T> items, boolean hasNext) {
+        this.items = Collections.unmodifiableList(items);
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of one more than the page size,
+     * the extra row only tells that a next page exists.
+     *
+     * @param rows - rows fetched, at most pageSize + 1.
+     * @param pageSize - number of rows in a full page.
+     * @return the page.
+     */
+    public static <T> Page<T> of(List<T> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        return new Page<>(hasNext ? rows.subList(0, pageSize) : rows, hasNext);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
@@ -5,24 +5,32 @@ import java.util.Set;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.FetchType;
 import javax.persistence.Table;
 import javax.persistence.ManyToMany;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+
 /**
  * Represnts a sport that can be associated with employees.
  * A sport has a unique Identifier, a name and a list of employees who participate in it.
+ * Sports are kept in the second-level cache, their rosters are always read from the database.
  * @author  Kishore 
  * @version 1.0 
  */
 
 @Entity
 @Table(name = "SPORT")
+@BatchSize(size = 50)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Sport {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "sport_id")
+    @GenericGenerator(name = "sport_id", strategy = "com.ideas2it.utilities.PooledIdGenerator")
     private int id;
 
     @Column(name = "NAME", unique = true)
@@ -31,14 +39,14 @@ public class Sport {
     @Column(name = "IS_ACTIVE")
     private boolean isActive;
 
-    @ManyToMany(fetch = FetchType.EAGER, mappedBy = "sports")
+    @ManyToMany(fetch = FetchType.LAZY, mappedBy = "sports")
+    @BatchSize(size = 50)
     private Set<Employee> employees = new HashSet<>();
     
     /**
-     * Constructs a sport with the specified id and name.
+     * Constructs a sport with the specified name, the id is generated when it is saved.
      */
-    public Sport(int id, String name) {
-       this.id = id;
+    public Sport(String name) {
        this.name = name;
        this.isActive = true; 
     }
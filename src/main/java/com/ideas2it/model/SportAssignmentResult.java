@@ -0,0 +1,68 @@
+package com.ideas2it.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the outcome of assigning a sport to, or removing it from, many employees at once.
+ * Every requested employee ends up in exactly one of the lists: changed, skipped because it
+ * already was (or was not) a member, or not found.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class SportAssignmentResult {
+    private final int sportId;
+    private final List<Integer> changed = new ArrayList<>();
+    private final List<Integer> skipped = new ArrayList<>();
+    private final List<Integer> notFound = new ArrayList<>();
+
+    public SportAssignmentResult(int sportId) {
+        this.sportId = sportId;
+    }
+
+    public void addChanged(int employeeId) {
+        changed.add(employeeId);
+    }
+
+    public void addSkipped(int employeeId) {
+        skipped.add(employeeId);
+    }
+
+    public void addNotFound(int employeeId) {
+        notFound.add(employeeId);
+    }
+
+    public int getSportId() {
+        return sportId;
+    }
+
+    /**
+     * @return IDs of the employees whose membership was inserted or deleted.
+     */
+    public List<Integer> getChanged() {
+        return Collections.unmodifiableList(changed);
+    }
+
+    /**
+     * @return IDs of the employees left as they were, already members on assignment
+     *         or not members on removal.
+     */
+    public List<Integer> getSkipped() {
+        return Collections.unmodifiableList(skipped);
+    }
+
+    /**
+     * @return IDs that match no employee.
+     */
+    public List<Integer> getNotFound() {
+        return Collections.unmodifiableList(notFound);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("sport=%d, changed=%d, skipped=%d, notFound=%d%s",
+                             sportId, changed.size(), skipped.size(), notFound.size(),
+                             notFound.isEmpty() ? "" : " " + notFound);
+    }
+}
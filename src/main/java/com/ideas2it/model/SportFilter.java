@@ -0,0 +1,124 @@
+package com.ideas2it.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Represents a boolean combination of sports used to select employees.
+ * An employee matches when, for every group, they play at least one sport of the group,
+ * they play none of the excluded sports and, if asked, no sport at all.
+ * Filters are immutable, each method returns a new filter:
+ * {@code SportFilter.everyone().playingAll(1, 2).notPlaying(3)}.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class SportFilter {
+    private static final SportFilter EVERYONE = new SportFilter(Collections.emptyList(), new int[0], false);
+    private final List<int[]> groups;
+    private final int[] excluded;
+    private final boolean noSports;
+
+    private SportFilter(List<int[]> groups, int[] excluded, boolean noSports) {
+        this.groups = Collections.unmodifiableList(groups);
+        this.excluded = excluded;
+        this.noSports = noSports;
+    }
+
+    /**
+     * Starts a filter that matches every active employee.
+     *
+     * @return the filter without conditions.
+     */
+    public static SportFilter everyone() {
+        return EVERYONE;
+    }
+
+    /**
+     * Requires every one of the given sports.
+     *
+     * @param sportIds - sports that must all be played.
+     * @return the narrowed filter.
+     */
+    public SportFilter playingAll(int... sportIds) {
+        List<int[]> copy = new ArrayList<>(groups);
+        for (int sportId : sportIds) {
+            copy.add(new int[] {sportId});
+        }
+        return new SportFilter(copy, excluded, noSports);
+    }
+
+    /**
+     * Requires at least one of the given sports.
+     *
+     * @param sportIds - sports of which one must be played.
+     * @return the narrowed filter.
+     */
+    public SportFilter playingAny(int... sportIds) {
+        List<int[]> copy = new ArrayList<>(groups);
+        copy.add(sportIds.clone());
+        return new SportFilter(copy, excluded, noSports);
+    }
+
+    /**
+     * Excludes employees playing any of the given sports.
+     *
+     * @param sportIds - sports that must not be played.
+     * @return the narrowed filter.
+     */
+    public SportFilter notPlaying(int... sportIds) {
+        int[] merged = Arrays.copyOf(excluded, excluded.length + sportIds.length);
+        System.arraycopy(sportIds, 0, merged, excluded.length, sportIds.length);
+        return new SportFilter(groups, merged, noSports);
+    }
+
+    /**
+     * Keeps only employees who play no sport at all.
+     *
+     * @return the narrowed filter.
+     */
+    public SportFilter playingNone() {
+        return new SportFilter(groups, excluded, true);
+    }
+
+    public List<int[]> getGroups() {
+        return groups;
+    }
+
+    public int[] getExcluded() {
+        return excluded.clone();
+    }
+
+    public boolean isNoSports() {
+        return noSports;
+    }
+
+    /**
+     * Retrieves every sport the filter refers to.
+     *
+     * @return distinct sport ids.
+     */
+    public int[] getSportIds() {
+        return IntStream.concat(groups.stream().flatMapToInt(Arrays::stream), Arrays.stream(excluded))
+                        .distinct()
+                        .toArray();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        for (int[] group : groups) {
+            description.append(group.length == 1 ? "plays " + group[0] : "plays any of " + Arrays.toString(group))
+                       .append(", ");
+        }
+        if (excluded.length > 0) {
+            description.append("plays none of ").append(Arrays.toString(excluded)).append(", ");
+        }
+        if (noSports) {
+            description.append("plays no sport, ");
+        }
+        return description.length() == 0 ? "everyone" : description.substring(0, description.length() - 2);
+    }
+}
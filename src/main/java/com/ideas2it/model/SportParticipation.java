@@ -0,0 +1,36 @@
+package com.ideas2it.model;
+
+/**
+ * Represents how many active employees take part in a sport.
+ * Built directly by an aggregate query, it is never persisted.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class SportParticipation {
+    private final int sportId;
+    private final String sportName;
+    private final long members;
+
+    public SportParticipation(int sportId, String sportName, long members) {
+        this.sportId = sportId;
+        this.sportName = sportName;
+        this.members = members;
+    }
+
+    public int getSportId() {
+        return sportId;
+    }
+
+    public String getSportName() {
+        return sportName;
+    }
+
+    public long getMembers() {
+        return members;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("|%-10d | %-20s | %-8d |", sportId, sportName, members);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ideas2it.model;
+
+/**
+ * Represents the outcome of validating many employee records at once.
+ * Each record gets an error code with one bit per invalid field, as returned by
+ * Validator.validateEmployee, and 0 when the record is valid.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class ValidationResult {
+    private final int[] errors;
+    private final int invalid;
+
+    public ValidationResult(int[] errors) {
+        this.errors = errors;
+        int count = 0;
+        for (int error : errors) {
+            if (error != 0) {
+                count++;
+            }
+        }
+        this.invalid = count;
+    }
+
+    /**
+     * @return number of records validated.
+     */
+    public int size() {
+        return errors.length;
+    }
+
+    /**
+     * @param row - position of the record in the validated list.
+     * @return the error code of the record, 0 if it is valid.
+     */
+    public int getErrors(int row) {
+        return errors[row];
+    }
+
+    public boolean isValid(int row) {
+        return errors[row] == 0;
+    }
+
+    /**
+     * @return number of records with at least one invalid field.
+     */
+    public int getInvalid() {
+        return invalid;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rows=%d, invalid=%d", errors.length, invalid);
+    }
+}
@@ -0,0 +1,161 @@
+package com.ideas2it.report.controller;
+
+import java.util.List;
+import java.util.Scanner;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.HibernateException;
+
+import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.AgeBracket;
+import com.ideas2it.model.DepartmentHeadcount;
+import com.ideas2it.model.LocationCount;
+import com.ideas2it.model.SportParticipation;
+import com.ideas2it.report.service.ReportService;
+import com.ideas2it.report.service.ReportServiceImpl;
+
+/**
+ * Controller to display the summary reports.
+ * Handles user input and interacts with reportService to read the reports.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class ReportController {
+    private static final Logger logger = LogManager.getLogger(ReportController.class);
+    private ReportService reportService = new ReportServiceImpl();
+    private Scanner scanner = new Scanner(System.in);
+
+    /**
+     * Displays the Reports menu and handles user choices.
+     */
+    public void displayReportMenu() {
+        try {
+            while (true) {
+                System.out.println("---| Reports |---");
+                System.out.println("1) Department Headcount");
+                System.out.println("2) Sport Participation");
+                System.out.println("3) Employees Without Sport");
+                System.out.println("4) Age Histogram");
+                System.out.println("5) Employees By Location");
+                System.out.println("6) Back to Main Menu");
+                System.out.println("-----------------");
+                System.out.print("Enter your choice: ");
+                int choice = scanner.nextInt();
+                scanner.nextLine();
+
+                switch (choice) {
+                    case 1:
+                        displayDepartmentHeadcounts();
+                        break;
+                    case 2:
+                        displaySportParticipation();
+                        break;
+                    case 3:
+                        displayEmployeesWithoutSport();
+                        break;
+                    case 4:
+                        displayAgeHistogram();
+                        break;
+                    case 5:
+                        displayLocationCounts();
+                        break;
+                    case 6:
+                        return;
+                    default:
+                        System.out.println("Invalid choice.");
+                }
+            }
+        } catch (HibernateException e) {
+            logger.warn(e.getMessage());
+        }
+    }
+
+    /**
+     * Displays the active and removed employees of every department.
+     */
+    public void displayDepartmentHeadcounts() throws EmployeeException {
+        try {
+            System.out.println(String.format("|%-10s | %-20s | %-10s | %-10s |", "ID", "Department", "Active",
+                                             "Removed"));
+            for (DepartmentHeadcount headcount : reportService.getDepartmentHeadcounts()) {
+                System.out.println(headcount);
+            }
+        } catch (HibernateException e) {
+            logger.error("Error while getting department headcount" + e.getMessage());
+        }
+    }
+
+    /**
+     * Displays how many active employees play each sport.
+     */
+    public void displaySportParticipation() throws EmployeeException {
+        try {
+            System.out.println(String.format("|%-10s | %-20s | %-10s |", "ID", "Sport", "Members"));
+            for (SportParticipation participation : reportService.getSportParticipation()) {
+                System.out.println(String.format("|%-10d | %-20s | %-10d |", participation.getSportId(),
+                                                 participation.getSportName(), participation.getMembers()));
+            }
+        } catch (HibernateException e) {
+            logger.error("Error while getting sport participation" + e.getMessage());
+        }
+    }
+
+    /**
+     * Displays how many active employees play no sport.
+     */
+    public void displayEmployeesWithoutSport() throws EmployeeException {
+        try {
+            System.out.println("Employees without sport: " + reportService.countEmployeesWithoutSport());
+        } catch (HibernateException e) {
+            logger.error("Error while counting employees without sport" + e.getMessage());
+        }
+    }
+
+    /**
+     * Displays how many active employees fall in each age bracket.
+     */
+    public void displayAgeHistogram() throws EmployeeException {
+        try {
+            List<AgeBracket> brackets = reportService.getAgeHistogram();
+            long largest = 1;
+            for (AgeBracket bracket : brackets) {
+                largest = Math.max(largest, bracket.getEmployees());
+            }
+            for (AgeBracket bracket : brackets) {
+                StringBuilder bar = new StringBuilder();
+                for (long i = 0; i < bracket.getEmployees() * 40 / largest; i++) {
+                    bar.append('#');
+                }
+                System.out.println(bracket + " " + bar);
+            }
+        } catch (HibernateException e) {
+            logger.error("Error while getting age histogram" + e.getMessage());
+        }
+    }
+
+    /**
+     * Displays how many active employees live in each city, with a total per state.
+     */
+    public void displayLocationCounts() throws EmployeeException {
+        try {
+            System.out.println(String.format("|%-20s | %-20s | %-10s |", "State", "City", "Employees"));
+            String state = null;
+            long stateTotal = 0;
+            for (LocationCount location : reportService.getLocationCounts()) {
+                if (state != null && !state.equals(location.getState())) {
+                    System.out.println(String.format("|%-20s | %-20s | %-10d |", state, "(total)", stateTotal));
+                    stateTotal = 0;
+                }
+                state = location.getState();
+                stateTotal += location.getEmployees();
+                System.out.println(location);
+            }
+            if (state != null) {
+                System.out.println(String.format("|%-20s | %-20s | %-10d |", state, "(total)", stateTotal));
+            }
+        } catch (HibernateException e) {
+            logger.error("Error while getting employees by location" + e.getMessage());
+        }
+    }
+}
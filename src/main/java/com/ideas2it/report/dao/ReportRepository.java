@@ -0,0 +1,37 @@
+package com.ideas2it.report.dao;
+
+import java.util.List;
+
+import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.DepartmentHeadcount;
+import com.ideas2it.model.LocationCount;
+
+/**
+ * Repository for the aggregate queries behind the reports.
+ * Every method runs a single grouped query and loads no entity.
+ * @author  Kishore
+ * @version 1.0
+ */
+public interface ReportRepository {
+
+    /**
+     * Counts the active and removed employees of every department.
+     *
+     * @return one headcount per department that is not deleted, ordered by name.
+     */
+    public List<DepartmentHeadcount> getDepartmentHeadcounts() throws EmployeeException;
+
+    /**
+     * Counts the active employees who play no sport.
+     *
+     * @return number of active employees without a sport.
+     */
+    public long countActiveEmployeesWithoutSport() throws EmployeeException;
+
+    /**
+     * Counts the active employees of every city, from their addresses.
+     *
+     * @return one count per state and city, ordered by state then city.
+     */
+    public List<LocationCount> getLocationCounts() throws EmployeeException;
+}
@@ -0,0 +1,60 @@
+package com.ideas2it.report.dao;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.HibernateException;
+
+import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.DepartmentHeadcount;
+import com.ideas2it.model.LocationCount;
+import com.ideas2it.utilities.UnitOfWork;
+
+/**
+ * Repository for the aggregate queries behind the reports.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class ReportRepositoryImpl implements ReportRepository {
+    private static final Logger logger = LogManager.getLogger(ReportRepositoryImpl.class);
+
+    @Override
+    public List<DepartmentHeadcount> getDepartmentHeadcounts() throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            String hql = "SELECT new com.ideas2it.model.DepartmentHeadcount(d.id, d.name, "
+                         + "sum(CASE WHEN e.isActive = true THEN 1 ELSE 0 END), "
+                         + "sum(CASE WHEN e.isActive = false THEN 1 ELSE 0 END)) "
+                         + "FROM Department d LEFT JOIN d.employees e WHERE d.isDeleted = false "
+                         + "GROUP BY d.id, d.name ORDER BY d.name";
+            return unitOfWork.getSession().createQuery(hql, DepartmentHeadcount.class).list();
+        } catch (HibernateException e) {
+            logger.error("Error while counting employees by department", e);
+            throw new EmployeeException("Error while counting employees by department", e);
+        }
+    }
+
+    @Override
+    public long countActiveEmployeesWithoutSport() throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            String hql = "SELECT count(e.id) FROM Employee e WHERE e.isActive = true AND e.sports IS EMPTY";
+            return unitOfWork.getSession().createQuery(hql, Long.class).uniqueResult();
+        } catch (HibernateException e) {
+            logger.error("Error while counting employees without sport", e);
+            throw new EmployeeException("Error while counting employees without sport", e);
+        }
+    }
+
+    @Override
+    public List<LocationCount> getLocationCounts() throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            String hql = "SELECT new com.ideas2it.model.LocationCount(a.state, a.city, count(e.id)) "
+                         + "FROM Employee e JOIN e.address a WHERE e.isActive = true "
+                         + "GROUP BY a.state, a.city ORDER BY a.state, a.city";
+            return unitOfWork.getSession().createQuery(hql, LocationCount.class).list();
+        } catch (HibernateException e) {
+            logger.error("Error while counting employees by location", e);
+            throw new EmployeeException("Error while counting employees by location", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.ideas2it.report.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Cache of the computed reports, shared by every report service.
+ * Each report keeps its last result and a version. The services that change data mark
+ * the reports their change affects as dirty once it commits, which bumps their versions,
+ * so only those reports are computed again on their next read, the others are served
+ * from the cache.
+ * </p>
+ * A result computed while its report is marked dirty keeps the older version and is
+ * computed again on the following read, so a change is never hidden by a result read
+ * before it committed.
+ * @author  Kishore
+ * @version 1.0
+ */
+public final class ReportCache {
+    private static final AtomicLongArray versions = new AtomicLongArray(Report.values().length);
+    private static final AtomicReferenceArray<Entry> entries = new AtomicReferenceArray<>(Report.values().length);
+
+    /**
+     * Reports kept by the cache.
+     */
+    public enum Report {
+        DEPARTMENT_HEADCOUNT(false),
+        SPORT_PARTICIPATION(false),
+        EMPLOYEES_WITHOUT_SPORT(false),
+        // Ages move on with the date, so the histogram is also computed again each day
+        AGE_HISTOGRAM(true),
+        LOCATIONS(false);
+
+        private final boolean daily;
+
+        Report(boolean daily) {
+            this.daily = daily;
+        }
+    }
+
+    private ReportCache() {
+    }
+
+    /**
+     * Marks reports as dirty, so their next read computes them again.
+     *
+     * @param reports - reports affected by a committed change.
+     */
+    public static void markDirty(Report... reports) {
+        for (Report report : reports) {
+            versions.incrementAndGet(report.ordinal());
+        }
+    }
+
+    /**
+     * Retrieves a report, computing it when it is dirty or was never computed.
+     *
+     * @param report - report to read.
+     * @param loader - computes the report from the database.
+     * @return the cached or newly computed report.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T get(Report report, Supplier<T> loader) {
+        long version = versions.get(report.ordinal());
+        LocalDate today = LocalDate.now();
+        Entry entry = entries.get(report.ordinal());
+        if (entry != null && entry.version == version && (!report.daily || entry.computedOn.equals(today))) {
+            return (T) entry.value;
+        }
+        T value = loader.get();
+        entries.set(report.ordinal(), new Entry(value, version, today));
+        return value;
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long version;
+        private final LocalDate computedOn;
+
+        private Entry(Object value, long version, LocalDate computedOn) {
+            this.value = value;
+            this.version = version;
+            this.computedOn = computedOn;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ideas2it.report.service;
+
+import java.util.List;
+
+import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.AgeBracket;
+import com.ideas2it.model.DepartmentHeadcount;
+import com.ideas2it.model.LocationCount;
+import com.ideas2it.model.SportParticipation;
+
+/**
+ *<p>
+ * Interface for reportservice to produce the summary reports over employees.
+ * Every report is one aggregate query, served from a cache until a change affects it.
+ *</p>
+ * @author  Kishore
+ * @version 1.0
+ */
+public interface ReportService {
+
+    /**
+     * Retrieves the headcount of every department.
+     *
+     * @return active and removed employees per department, ordered by name.
+     */
+    List<DepartmentHeadcount> getDepartmentHeadcounts() throws EmployeeException;
+
+    /**
+     * Retrieves how many active employees play each sport.
+     *
+     * @return participation per active sport, most played first.
+     */
+    List<SportParticipation> getSportParticipation() throws EmployeeException;
+
+    /**
+     * Counts the active employees who play no sport.
+     *
+     * @return number of active employees without a sport.
+     */
+    long countEmployeesWithoutSport() throws EmployeeException;
+
+    /**
+     * Retrieves how many active employees fall in each age bracket.
+     *
+     * @return brackets of ten years, youngest first.
+     */
+    List<AgeBracket> getAgeHistogram() throws EmployeeException;
+
+    /**
+     * Retrieves how many active employees live in each city.
+     *
+     * @return counts per state and city, ordered by state then city.
+     */
+    List<LocationCount> getLocationCounts() throws EmployeeException;
+}
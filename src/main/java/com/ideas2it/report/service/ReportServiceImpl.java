@@ -0,0 +1,61 @@
+package com.ideas2it.report.service;
+
+import java.util.List;
+
+import com.ideas2it.employee.service.EmployeeService;
+import com.ideas2it.employee.service.EmployeeServiceImpl;
+import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.AgeBracket;
+import com.ideas2it.model.DepartmentHeadcount;
+import com.ideas2it.model.LocationCount;
+import com.ideas2it.model.SportParticipation;
+import com.ideas2it.report.dao.ReportRepository;
+import com.ideas2it.report.dao.ReportRepositoryImpl;
+import com.ideas2it.report.service.ReportCache.Report;
+import com.ideas2it.sports.service.SportService;
+import com.ideas2it.sports.service.SportServiceImpl;
+
+/**
+ * <p>
+ * Implement if ReportService interface to produce the summary reports.
+ * Reports are read through the shared {@link ReportCache}, the employee, department and
+ * sport services mark the reports they affect as dirty after each committed change.
+ * </p>
+ * @author  Kishore
+ * @version 1.0
+ */
+public class ReportServiceImpl implements ReportService {
+    private static final int[] AGE_BOUNDARIES = {20, 30, 40, 50, 60};
+    private ReportRepository reportRepository;
+    private EmployeeService employeeService = new EmployeeServiceImpl();
+    private SportService sportService = new SportServiceImpl();
+
+    public ReportServiceImpl() {
+        reportRepository = new ReportRepositoryImpl();
+    }
+
+    @Override
+    public List<DepartmentHeadcount> getDepartmentHeadcounts() throws EmployeeException {
+        return ReportCache.get(Report.DEPARTMENT_HEADCOUNT, reportRepository::getDepartmentHeadcounts);
+    }
+
+    @Override
+    public List<SportParticipation> getSportParticipation() throws EmployeeException {
+        return ReportCache.get(Report.SPORT_PARTICIPATION, sportService::getSportParticipation);
+    }
+
+    @Override
+    public long countEmployeesWithoutSport() throws EmployeeException {
+        return ReportCache.get(Report.EMPLOYEES_WITHOUT_SPORT, reportRepository::countActiveEmployeesWithoutSport);
+    }
+
+    @Override
+    public List<AgeBracket> getAgeHistogram() throws EmployeeException {
+        return ReportCache.get(Report.AGE_HISTOGRAM, () -> employeeService.getAgeBrackets(AGE_BOUNDARIES));
+    }
+
+    @Override
+    public List<LocationCount> getLocationCounts() throws EmployeeException {
+        return ReportCache.get(Report.LOCATIONS, reportRepository::getLocationCounts);
+    }
+}
@@ -1,7 +1,7 @@
 package com.ideas2it.sports.controller;
 
+import java.util.List;
 import java.util.Scanner;
-import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -9,7 +9,10 @@ import org.hibernate.HibernateException;
 
 import com.ideas2it.exceptions.EmployeeException;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
 import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportFilter;
+import com.ideas2it.model.SportParticipation;
 import com.ideas2it.sports.service.SportService;
 import com.ideas2it.sports.service.SportServiceImpl;
 
@@ -21,8 +24,9 @@ import com.ideas2it.sports.service.SportServiceImpl;
  */
 public class SportController {
     private static final Logger logger = LogManager.getLogger(SportController.class);
+    private static final int PAGE_SIZE = 20;
+    private static final int TOP_SPORTS = 5;
     private SportService sportService = new SportServiceImpl();
-    private static int idCounter = 1; //Set the Id and increment the counter for auto increment Ids
     private Scanner scanner = new Scanner(System.in);
     
     /**
@@ -38,7 +42,10 @@ public class SportController {
                 System.out.println("4) Display Sport by ID");
                 System.out.println("5) Update Sport");
                 System.out.println("6) Display Employees In Sport");
-                System.out.println("7) Back to Main Menu");
+                System.out.println("7) Display Sport Participation");
+                System.out.println("8) Display Top Sports");
+                System.out.println("9) Find Employees By Sports");
+                System.out.println("10) Back to Main Menu");
                 System.out.println("------------------------------");
                 System.out.print("Enter your choice: ");
                 int choice = scanner.nextInt();
@@ -64,6 +71,15 @@ public class SportController {
                         displayEmployeesInSport();
                         break;
                     case 7:
+                        displaySportParticipation();
+                        break;
+                    case 8:
+                        displayTopSports();
+                        break;
+                    case 9:
+                        findEmployeesBySports();
+                        break;
+                    case 10:
                         return;
                     default:
                         System.out.println("Invalid choice.");
@@ -86,9 +102,8 @@ public class SportController {
             System.out.print("Enter sport Name: ");
             String name = scanner.nextLine();
 
-            sportService.addSport(idCounter, name);
+            sportService.addSport(name);
             logger.info("Sport added successfully." +name);
-            idCounter++;
         } catch (IllegalArgumentException e) {
             logger.warn(e.getMessage());
         } catch (HibernateException e) {
@@ -190,15 +205,123 @@ public class SportController {
              int id=scanner.nextInt();
              scanner.nextLine();
              logger.debug("display employee by sport ID" +id);
-             Set<Employee> employees = sportService.getSportById(id).getEmployees();
-             System.out.printf("Employees in Sports %d:\n",id);
-             for(Employee employee : employees) {
-                 System.out.println(employee);
-              }
+             System.out.printf("Employees in Sports %d (%d active):\n", id, sportService.countActiveEmployees(id));
+             int afterId = 0;
+             while (true) {
+                 Page<Employee> page = sportService.getEmployeesBySportPage(id, afterId, PAGE_SIZE);
+                 for(Employee employee : page.getItems()) {
+                     System.out.println(employee);
+                 }
+                 if (!page.hasNext()) {
+                     return;
+                 }
+                 System.out.print("Enter N for next page or any other key to stop: ");
+                 if (!scanner.nextLine().trim().equalsIgnoreCase("N")) {
+                     return;
+                 }
+                 afterId = page.getItems().get(page.getItems().size() - 1).getId();
+             }
         } catch (IllegalArgumentException e) {
             logger.warn(e.getMessage());
         } catch (HibernateException e) {
             logger.error("error while getting employee list", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Displays every sport with the number of active employees taking part in it.
+     */
+    public void displaySportParticipation() throws EmployeeException {
+        try {
+            logger.debug("Getting sport participation");
+            printParticipation(sportService.getSportParticipation());
+        } catch (HibernateException e) {
+            logger.error("Error while getting sport participation", e);
+        }
+    }
+
+    /**
+     * Displays the sports with the most active employees.
+     */
+    public void displayTopSports() throws EmployeeException {
+        try {
+            logger.debug("Getting top sports");
+            System.out.printf("Top %d Sports:\n", TOP_SPORTS);
+            printParticipation(sportService.getTopSports(TOP_SPORTS));
+        } catch (HibernateException e) {
+            logger.error("Error while getting top sports", e);
+        }
+    }
+
+    /**
+     * Prompts the user for the sports employees must play, may play and must not play,
+     * and displays the matching employees page by page.
+     */
+    public void findEmployeesBySports() throws IllegalArgumentException, EmployeeException {
+        try {
+            displayAllSports();
+            SportFilter filter = SportFilter.everyone();
+            System.out.print("Enter sport IDs all played (comma separated, blank for none): ");
+            filter = filter.playingAll(readSportIds());
+            System.out.print("Enter sport IDs at least one played (comma separated, blank for none): ");
+            int[] anyOf = readSportIds();
+            if (anyOf.length > 0) {
+                filter = filter.playingAny(anyOf);
+            }
+            System.out.print("Enter sport IDs not played (comma separated, * for no sport at all): ");
+            String excluded = scanner.nextLine().trim();
+            filter = excluded.equals("*") ? filter.playingNone() : filter.notPlaying(parseSportIds(excluded));
+            logger.debug("Finding employees where " + filter);
+
+            System.out.printf("Employees where %s (%d):\n", filter, sportService.countEmployees(filter));
+            int afterId = 0;
+            while (true) {
+                Page<Employee> page = sportService.getEmployeesPage(filter, afterId, PAGE_SIZE);
+                for (Employee employee : page.getItems()) {
+                    System.out.println(employee);
+                }
+                if (!page.hasNext()) {
+                    return;
+                }
+                System.out.print("Enter N for next page or any other key to stop: ");
+                if (!scanner.nextLine().trim().equalsIgnoreCase("N")) {
+                    return;
+                }
+                afterId = page.getItems().get(page.getItems().size() - 1).getId();
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn(e.getMessage());
+        } catch (HibernateException e) {
+            logger.error("Error while finding employees by sports", e);
+        }
+    }
+
+    private int[] readSportIds() {
+        return parseSportIds(scanner.nextLine());
+    }
+
+    /**
+     * Parses a comma separated list of sport IDs.
+     *
+     * @throws IllegalArgumentException if an entry is not a number.
+     */
+    private int[] parseSportIds(String input) {
+        String[] entries = input.trim().isEmpty() ? new String[0] : input.split(",");
+        int[] sportIds = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            try {
+                sportIds[i] = Integer.parseInt(entries[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid sport ID: " + entries[i].trim());
+            }
+        }
+        return sportIds;
+    }
+
+    private void printParticipation(List<SportParticipation> sports) {
+        System.out.printf("|%-10s | %-20s | %-8s |\n", "ID", "Name", "MEMBERS");
+        for (SportParticipation sport : sports) {
+            System.out.println(sport);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.ideas2it.sports.dao;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.SportFilter;
+import com.ideas2it.utilities.HibernateConnection;
+
+/**
+ * <p>
+ * In-memory index of sport membership: one compressed bitmap of employee ids per active
+ * sport, plus the bitmap of active employees. A removed sport is dropped from the index,
+ * so its former members count as playing none when it was their only sport. Boolean combinations of sports are answered with
+ * bitmap and, or and and-not operations, without touching the database.
+ * </p>
+ * The index is loaded from employee_sport on first use and kept up to date by the
+ * repositories once their changes commit. Queries share a read lock, updates take the
+ * write lock.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class SportMembershipIndex {
+    private static final Logger logger = LogManager.getLogger(SportMembershipIndex.class);
+    private static final SportMembershipIndex instance = new SportMembershipIndex();
+    private static final int FETCH_SIZE = 10000;
+    private static final String ACTIVE_MEMBERSHIPS = "SELECT es.SPORT_ID, es.Employee_ID FROM employee_sport es "
+                                                     + "JOIN SPORT s ON s.id = es.SPORT_ID WHERE s.IS_ACTIVE = true";
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, RoaringBitmap> members = new HashMap<>();
+    private final RoaringBitmap activeEmployees = new RoaringBitmap();
+    private volatile boolean loaded;
+
+    private SportMembershipIndex() {
+    }
+
+    public static SportMembershipIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Selects the active employees matching a filter.
+     *
+     * @param filter - combination of sports to match.
+     * @return a new bitmap of the matching employee ids, owned by the caller.
+     */
+    public RoaringBitmap evaluate(SportFilter filter) throws EmployeeException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = activeEmployees.clone();
+            for (int[] group : filter.getGroups()) {
+                result.and(group.length == 1 ? membersOf(group[0]) : union(group));
+                if (result.isEmpty()) {
+                    return result;
+                }
+            }
+            for (int sportId : filter.getExcluded()) {
+                result.andNot(membersOf(sportId));
+            }
+            if (filter.isNoSports()) {
+                result.andNot(FastAggregation.or(members.values().iterator()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records that an employee joined a sport.
+     */
+    public void addMembership(int employeeId, int sportId) {
+        update(() -> members.computeIfAbsent(sportId, id -> new RoaringBitmap()).add(employeeId));
+    }
+
+    /**
+     * Records that an employee left a sport.
+     */
+    public void removeMembership(int employeeId, int sportId) {
+        update(() -> {
+            RoaringBitmap sportMembers = members.get(sportId);
+            if (sportMembers != null) {
+                sportMembers.remove(employeeId);
+            }
+        });
+    }
+
+    /**
+     * Records that many employees joined a sport.
+     */
+    public void addMemberships(int sportId, Collection<Integer> employeeIds) {
+        update(() -> {
+            RoaringBitmap sportMembers = members.computeIfAbsent(sportId, id -> new RoaringBitmap());
+            employeeIds.forEach(sportMembers::add);
+        });
+    }
+
+    /**
+     * Records that many employees left a sport.
+     */
+    public void removeMemberships(int sportId, Collection<Integer> employeeIds) {
+        update(() -> {
+            RoaringBitmap sportMembers = members.get(sportId);
+            if (sportMembers != null) {
+                employeeIds.forEach(sportMembers::remove);
+            }
+        });
+    }
+
+    /**
+     * Records that a sport was removed, dropping its members.
+     */
+    public void removeSport(int sportId) {
+        update(() -> members.remove(sportId));
+    }
+
+    /**
+     * Records a new active employee.
+     */
+    public void addEmployee(int employeeId) {
+        update(() -> activeEmployees.add(employeeId));
+    }
+
+    /**
+     * Records that an employee is no longer active.
+     */
+    public void removeEmployee(int employeeId) {
+        update(() -> activeEmployees.remove(employeeId));
+    }
+
+    /**
+     * Applies a change under the write lock. Changes committed before the first load are
+     * skipped, the load reads them from the database. The load holds the same lock, so a
+     * change committed while it runs waits for it and is applied once the index is loaded.
+     */
+    private void update(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private RoaringBitmap membersOf(int sportId) {
+        RoaringBitmap sportMembers = members.get(sportId);
+        return sportMembers == null ? new RoaringBitmap() : sportMembers;
+    }
+
+    private RoaringBitmap union(int[] sportIds) {
+        RoaringBitmap[] bitmaps = new RoaringBitmap[sportIds.length];
+        for (int i = 0; i < sportIds.length; i++) {
+            bitmaps[i] = membersOf(sportIds[i]);
+        }
+        return FastAggregation.or(bitmaps);
+    }
+
+    private void ensureLoaded() throws EmployeeException {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                load();
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads every membership of an active sport and every active employee id in one read
+     * only session.
+     */
+    private void load() throws EmployeeException {
+        long start = System.nanoTime();
+        long memberships = 0;
+        Session session = HibernateConnection.getSession();
+        try {
+            session.setDefaultReadOnly(true);
+            session.beginTransaction();
+            try (ScrollableResults results = session.createNativeQuery(ACTIVE_MEMBERSHIPS)
+                                                    .setFetchSize(FETCH_SIZE)
+                                                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    int sportId = ((Number) results.get(0)).intValue();
+                    members.computeIfAbsent(sportId, id -> new RoaringBitmap())
+                           .add(((Number) results.get(1)).intValue());
+                    memberships++;
+                }
+            }
+            try (ScrollableResults results = session.createQuery("SELECT e.id FROM Employee e WHERE e.isActive = true")
+                                                    .setFetchSize(FETCH_SIZE)
+                                                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    activeEmployees.add(((Number) results.get(0)).intValue());
+                }
+            }
+            session.getTransaction().rollback();
+        } catch (HibernateException e) {
+            members.clear();
+            activeEmployees.clear();
+            logger.error("Error while loading sport membership index", e);
+            throw new EmployeeException("Error while loading sport membership index", e);
+        } finally {
+            session.close();
+        }
+        members.values().forEach(RoaringBitmap::runOptimize);
+        activeEmployees.runOptimize();
+        logger.info("Sport membership index loaded: " + memberships + " memberships, "
+                    + activeEmployees.getCardinality() + " active employees in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
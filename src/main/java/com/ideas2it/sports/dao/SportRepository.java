@@ -1,10 +1,14 @@
 package com.ideas2it.sports.dao;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import com.ideas2it.exceptions.EmployeeException;
 import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportParticipation;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
 
 /**
  * <p>
@@ -24,6 +28,7 @@ public interface SportRepository {
 
     /**
      *Deletes an sport from the database by ID.
+     *The sport is marked inactive by a single update statement, nothing is loaded.
      *
      *@param id - sport to delete.
      */
@@ -45,6 +50,15 @@ public interface SportRepository {
 
     public Sport findSportById(int id) throws EmployeeException;
 
+    /**
+     * Checks whether an active sport exists, with a single indexed probe and without
+     * loading the sport.
+     *
+     * @param id - sport to look for.
+     * @return true if a sport with the ID exists and is active.
+     */
+    public boolean existsById(int id) throws EmployeeException;
+
     /**
      * Updates an existing sport in the database.
      *
@@ -54,11 +68,46 @@ public interface SportRepository {
     public void updateSport(Sport sport) throws EmployeeException;
 
     /**
-     * Retrives the employee association with an sports by their id.
+     * Retrives the active employees association with an sports by their id, ordered by id.
      *
      * @param sportId - Id of sport.
-     * @return A list of employee association with sports.
+     * @return A list of employee association with sports, empty if there are none.
      */
     public Set<Employee> getEmployeesBySportId(int sportId) throws EmployeeException;
 
+    /**
+     * Retrieves a page of the active employees of a sport ordered by ID, read through
+     * the employee_sport join table.
+     *
+     * @param sportId - Id of sport.
+     * @param afterId - ID of the last employee of the previous page, 0 for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of employees with IDs greater than afterId.
+     */
+    public Page<Employee> getEmployeesBySportPage(int sportId, int afterId, int pageSize) throws EmployeeException;
+
+    /**
+     * Retrieves the active employees with the given IDs, for instance the ids selected
+     * through the sport membership index.
+     *
+     * @param ids - IDs of the employees.
+     * @return the active employees among them ordered by ID.
+     */
+    public List<Employee> getEmployeesByIds(Collection<Integer> ids) throws EmployeeException;
+
+    /**
+     * Counts the active employees of a sport without loading them.
+     *
+     * @param sportId - Id of sport.
+     * @return number of active employees in the sport.
+     */
+    public long countActiveEmployees(int sportId) throws EmployeeException;
+
+    /**
+     * Counts the active employees of every active sport, computed in the database.
+     *
+     * @param limit - maximum number of sports returned, 0 for all of them.
+     * @return sports ordered by member count, largest first.
+     */
+    public List<SportParticipation> getSportParticipation(int limit) throws EmployeeException;
 }
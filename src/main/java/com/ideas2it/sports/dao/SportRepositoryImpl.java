@@ -1,19 +1,26 @@
 package com.ideas2it.sports.dao;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
+import org.hibernate.jpa.QueryHints;
 import org.hibernate.query.Query;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
 
 import com.ideas2it.exceptions.EmployeeException;
 import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
 import com.ideas2it.model.Sport;
-import com.ideas2it.utilities.HibernateConnection;
+import com.ideas2it.model.SportParticipation;
+import com.ideas2it.utilities.UnitOfWork;
 
 /**
  * Repository for managing sport entities. This class provides methods to add, delete, update,
@@ -27,15 +34,11 @@ public class SportRepositoryImpl implements SportRepository {
 
     @Override
     public void addSport(Sport sport) throws EmployeeException {
-        Transaction transaction = null;
-        try (Session session = HibernateConnection.getSession()) {
-            transaction = session.beginTransaction();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
             session.save(sport);
-            transaction.commit();
+            unitOfWork.commit();
         } catch (HibernateException e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
             logger.error("Error while adding Sport: " + sport.getName(), e);
             throw new EmployeeException("Error while adding Sport: " + sport.getName(), e);
         }
@@ -43,19 +46,13 @@ public class SportRepositoryImpl implements SportRepository {
 
     @Override
     public void deleteSport(int id) throws EmployeeException {
-        Transaction transaction = null;
-        try (Session session = HibernateConnection.getSession()) {
-            transaction = session.beginTransaction();
-            Sport sport = session.get(Sport.class, id);
-            if (sport != null) {
-                sport.setIsActive(false);
-                session.update(sport);
-            }
-            transaction.commit();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            session.createQuery("UPDATE Sport SET isActive = false WHERE id = :id")
+                   .setParameter("id", id)
+                   .executeUpdate();
+            unitOfWork.commit();
         } catch (HibernateException e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
             logger.error("Error while deleting sport: " + id, e);
             throw new EmployeeException("Error while deleting sport: " + id, e);
         }
@@ -63,7 +60,8 @@ public class SportRepositoryImpl implements SportRepository {
 
     @Override
     public Set<Sport> getAllSports() throws EmployeeException {
-        try (Session session = HibernateConnection.getSession()) {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
             Query<Sport> query = session.createQuery("FROM Sport WHERE isActive = true", Sport.class);
             return new HashSet<>(query.list());
         } catch (HibernateException e) {
@@ -74,7 +72,8 @@ public class SportRepositoryImpl implements SportRepository {
 
     @Override
     public Sport findSportById(int id) throws EmployeeException {
-        try (Session session = HibernateConnection.getSession()) {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
             return session.get(Sport.class, id);
         } catch (HibernateException e) {
             logger.error("Error while getting sport by ID: " + id, e);
@@ -82,17 +81,27 @@ public class SportRepositoryImpl implements SportRepository {
         }
     }
 
+    @Override
+    public boolean existsById(int id) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Query<Integer> query = unitOfWork.getSession()
+                    .createQuery("SELECT 1 FROM Sport s WHERE s.id = :id AND s.isActive = true", Integer.class);
+            query.setParameter("id", id);
+            query.setMaxResults(1);
+            return query.uniqueResult() != null;
+        } catch (HibernateException e) {
+            logger.error("Error while checking sport: " + id, e);
+            throw new EmployeeException("Error while checking sport: " + id, e);
+        }
+    }
+
     @Override
     public void updateSport(Sport sport) throws EmployeeException {
-        Transaction transaction = null;
-        try (Session session = HibernateConnection.getSession()) {
-            transaction = session.beginTransaction();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
             session.update(sport);
-            transaction.commit();
+            unitOfWork.commit();
         } catch (HibernateException e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
             logger.error("Error while updating Sport: " + sport.getName(), e);
             throw new EmployeeException("Error while updating Sport: " + sport.getName(), e);
         }
@@ -100,12 +109,100 @@ public class SportRepositoryImpl implements SportRepository {
 
     @Override
     public Set<Employee> getEmployeesBySportId(int sportId) throws EmployeeException {
-        try (Session session = HibernateConnection.getSession()) {
-            Sport sport = session.get(Sport.class, sportId);
-            return sport != null ? sport.getEmployees() : null;
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            String hql = "SELECT e FROM Employee e JOIN e.sports s WHERE s.id = :sportId AND e.isActive = true "
+                         + "ORDER BY e.id";
+            Query<Employee> query = session.createQuery(hql, Employee.class);
+            query.setParameter("sportId", sportId);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.LIST_VIEW));
+            Set<Employee> employees = new LinkedHashSet<>(query.list());
+            initializeSports(employees);
+            return employees;
         } catch (HibernateException e) {
             logger.error("Error while getting employees by sport ID: " + sportId, e);
             throw new EmployeeException("Error while getting employees by sport ID: " + sportId, e);
         }
     }
+
+    @Override
+    public Page<Employee> getEmployeesBySportPage(int sportId, int afterId, int pageSize) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            String hql = "SELECT e FROM Employee e JOIN e.sports s WHERE s.id = :sportId AND e.isActive = true "
+                         + "AND e.id > :afterId ORDER BY e.id";
+            Query<Employee> query = session.createQuery(hql, Employee.class);
+            query.setParameter("sportId", sportId);
+            query.setParameter("afterId", afterId);
+            query.setMaxResults(pageSize + 1);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.LIST_VIEW));
+            Page<Employee> page = Page.of(query.list(), pageSize);
+            initializeSports(page.getItems());
+            return page;
+        } catch (HibernateException e) {
+            logger.error("Error while getting employees by sport ID: " + sportId, e);
+            throw new EmployeeException("Error while getting employees by sport ID: " + sportId, e);
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployeesByIds(Collection<Integer> ids) throws EmployeeException {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Session session = unitOfWork.getSession();
+            String hql = "FROM Employee e WHERE e.id IN (:ids) AND e.isActive = true ORDER BY e.id";
+            Query<Employee> query = session.createQuery(hql, Employee.class);
+            query.setParameterList("ids", ids);
+            query.setHint(QueryHints.HINT_FETCHGRAPH, session.getEntityGraph(Employee.LIST_VIEW));
+            List<Employee> employees = query.list();
+            initializeSports(employees);
+            return employees;
+        } catch (HibernateException e) {
+            logger.error("Error while getting employees by IDs", e);
+            throw new EmployeeException("Error while getting employees by IDs", e);
+        }
+    }
+
+    @Override
+    public long countActiveEmployees(int sportId) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            String hql = "SELECT count(e.id) FROM Employee e JOIN e.sports s WHERE s.id = :sportId "
+                         + "AND e.isActive = true";
+            Query<Long> query = unitOfWork.getSession().createQuery(hql, Long.class);
+            query.setParameter("sportId", sportId);
+            return query.uniqueResult();
+        } catch (HibernateException e) {
+            logger.error("Error while counting employees by sport ID: " + sportId, e);
+            throw new EmployeeException("Error while counting employees by sport ID: " + sportId, e);
+        }
+    }
+
+    @Override
+    public List<SportParticipation> getSportParticipation(int limit) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            String hql = "SELECT new com.ideas2it.model.SportParticipation(s.id, s.name, count(e.id)) "
+                         + "FROM Sport s LEFT JOIN s.employees e WITH e.isActive = true "
+                         + "WHERE s.isActive = true GROUP BY s.id, s.name ORDER BY count(e.id) DESC, s.id";
+            Query<SportParticipation> query = unitOfWork.getSession().createQuery(hql, SportParticipation.class);
+            if (limit > 0) {
+                query.setMaxResults(limit);
+            }
+            return query.list();
+        } catch (HibernateException e) {
+            logger.error("Error while getting sport participation", e);
+            throw new EmployeeException("Error while getting sport participation", e);
+        }
+    }
+
+    /**
+     * Loads the sports of the given employees while the session is open. Sports are
+     * batch fetched, so this costs one statement per {@code @BatchSize} employees.
+     */
+    private void initializeSports(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            Hibernate.initialize(employee.getSports());
+        }
+    }
 }
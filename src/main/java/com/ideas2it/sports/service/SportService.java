@@ -1,9 +1,18 @@
 package com.ideas2it.sports.service;
 
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
 import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportFilter;
+import com.ideas2it.model.SportParticipation;
+import com.ideas2it.utilities.AsyncExecutor;
+import com.ideas2it.utilities.KeysetPublisher;
 
 /**
  * <p>
@@ -17,10 +26,9 @@ public interface SportService {
     /**
      * Adds a new sport to the repository.
      *
-     * @param id - The unique identifier for the sport.
      * @param name - The name of the sport
      */
-    public void addSport(int id, String name) throws EmployeeException;
+    public void addSport(String name) throws EmployeeException;
 
     /**
      * Remove a sport from the repository by its Id.
@@ -41,7 +49,7 @@ public interface SportService {
      * Retrieves a sport by its unique identifier.
      *
      *@param id - The unique identifier of the sport.
-     *@return The sport with the given ID, or null if not found.
+     *@return The active sport with the given ID, or null if not found or removed.
      */
     public Sport getSportById(int id) throws EmployeeException;
 
@@ -54,6 +62,184 @@ public interface SportService {
      */
     public void updateSport(int id, String name) throws IllegalArgumentException, EmployeeException;
 
-}
+    /**
+     * Retrieves the active employees participating in a sport.
+     *
+     * @param id - The unique identifier of the sport.
+     * @return The employees in the sport, ordered by id.
+     */
+    public Set<Employee> getEmployeesBySportId(int id) throws EmployeeException;
+
+    /**
+     * Retrieves a page of the active employees of a sport ordered by ID.
+     *
+     * @param id - The unique identifier of the sport.
+     * @param afterId - ID of the last employee of the previous page, 0 for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of employees with IDs greater than afterId.
+     */
+    public Page<Employee> getEmployeesBySportPage(int id, int afterId, int pageSize) throws EmployeeException;
+
+    /**
+     * Counts the active employees of a sport.
+     *
+     * @param id - The unique identifier of the sport.
+     * @return number of active employees in the sport.
+     */
+    public long countActiveEmployees(int id) throws EmployeeException;
+
+    /**
+     * Retrieves the number of active employees in every active sport.
+     *
+     * @return sports ordered by member count, largest first.
+     */
+    public List<SportParticipation> getSportParticipation() throws EmployeeException;
+
+    /**
+     * Retrieves the sports with the most active employees.
+     *
+     * @param limit - number of sports to return.
+     * @return at most limit sports ordered by member count, largest first.
+     */
+    public List<SportParticipation> getTopSports(int limit) throws EmployeeException;
+
+    /**
+     * Retrieves the ids of the active employees matching a combination of sports,
+     * answered from the in-memory membership index.
+     *
+     * @param filter - combination of sports to match.
+     * @return matching employee ids in ascending order.
+     * @thows IllegalArgumentException if the filter refers to an unknown sport.
+     */
+    public int[] getEmployeeIds(SportFilter filter) throws IllegalArgumentException, EmployeeException;
+
+    /**
+     * Counts the active employees matching a combination of sports.
+     *
+     * @param filter - combination of sports to match.
+     * @return number of matching employees.
+     * @thows IllegalArgumentException if the filter refers to an unknown sport.
+     */
+    public long countEmployees(SportFilter filter) throws IllegalArgumentException, EmployeeException;
+
+    /**
+     * Retrieves a page of the active employees matching a combination of sports.
+     *
+     * @param filter - combination of sports to match.
+     * @param afterId - ID of the last employee of the previous page, 0 for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of matching employees with IDs greater than afterId.
+     * @thows IllegalArgumentException if the filter refers to an unknown sport.
+     */
+    public Page<Employee> getEmployeesPage(SportFilter filter, int afterId, int pageSize)
+            throws IllegalArgumentException, EmployeeException;
+
+    /*
+     * Asynchronous counterparts of the operations above. Each one runs the blocking call on
+     * the AsyncExecutor, in its own unit of work, and returns at once, so independent calls
+     * can be started together and joined with CompletableFuture.allOf or thenCombine.
+     */
+
+    /**
+     * Runs {@link #addSport} asynchronously.
+     */
+    default CompletableFuture<Void> addSportAsync(String name) {
+        return AsyncExecutor.run(() -> addSport(name));
+    }
+
+    /**
+     * Runs {@link #removeSport} asynchronously.
+     */
+    default CompletableFuture<Void> removeSportAsync(int id) {
+        return AsyncExecutor.run(() -> removeSport(id));
+    }
+
+    /**
+     * Runs {@link #getAllSports} asynchronously.
+     */
+    default CompletableFuture<Set<Sport>> getAllSportsAsync() {
+        return AsyncExecutor.supply(() -> getAllSports());
+    }
+
+    /**
+     * Runs {@link #getSportById} asynchronously.
+     */
+    default CompletableFuture<Sport> getSportByIdAsync(int id) {
+        return AsyncExecutor.supply(() -> getSportById(id));
+    }
+
+    /**
+     * Runs {@link #updateSport} asynchronously.
+     */
+    default CompletableFuture<Void> updateSportAsync(int id, String name) {
+        return AsyncExecutor.run(() -> updateSport(id, name));
+    }
+
+    /**
+     * Runs {@link #getEmployeesBySportId} asynchronously.
+     */
+    default CompletableFuture<Set<Employee>> getEmployeesBySportIdAsync(int id) {
+        return AsyncExecutor.supply(() -> getEmployeesBySportId(id));
+    }
+
+    /**
+     * Runs {@link #getEmployeesBySportPage} asynchronously.
+     */
+    default CompletableFuture<Page<Employee>> getEmployeesBySportPageAsync(int id, int afterId, int pageSize) {
+        return AsyncExecutor.supply(() -> getEmployeesBySportPage(id, afterId, pageSize));
+    }
+
+    /**
+     * Runs {@link #countActiveEmployees} asynchronously.
+     */
+    default CompletableFuture<Long> countActiveEmployeesAsync(int id) {
+        return AsyncExecutor.supply(() -> countActiveEmployees(id));
+    }
+
+    /**
+     * Runs {@link #getSportParticipation} asynchronously.
+     */
+    default CompletableFuture<List<SportParticipation>> getSportParticipationAsync() {
+        return AsyncExecutor.supply(() -> getSportParticipation());
+    }
+
+    /**
+     * Runs {@link #getTopSports} asynchronously.
+     */
+    default CompletableFuture<List<SportParticipation>> getTopSportsAsync(int limit) {
+        return AsyncExecutor.supply(() -> getTopSports(limit));
+    }
 
+    /**
+     * Runs {@link #getEmployeeIds} asynchronously.
+     */
+    default CompletableFuture<int[]> getEmployeeIdsAsync(SportFilter filter) {
+        return AsyncExecutor.supply(() -> getEmployeeIds(filter));
+    }
 
+    /**
+     * Runs {@link #countEmployees} asynchronously.
+     */
+    default CompletableFuture<Long> countEmployeesAsync(SportFilter filter) {
+        return AsyncExecutor.supply(() -> countEmployees(filter));
+    }
+
+    /**
+     * Runs {@link #getEmployeesPage} asynchronously.
+     */
+    default CompletableFuture<Page<Employee>> getEmployeesPageAsync(SportFilter filter, int afterId, int pageSize) {
+        return AsyncExecutor.supply(() -> getEmployeesPage(filter, afterId, pageSize));
+    }
+
+    /**
+     * Publishes the active employees participating in a sport ordered by ID, read page
+     * by page as the subscriber requests them.
+     *
+     * @param id - ID of the sport.
+     * @return a publisher giving each subscriber its own pass over the roster.
+     */
+    default Flow.Publisher<Employee> publishEmployeesBySport(int id) {
+        return new KeysetPublisher<>((last, pageSize) ->
+                getEmployeesBySportPage(id, last == null ? 0 : last.getId(), pageSize));
+    }
+}
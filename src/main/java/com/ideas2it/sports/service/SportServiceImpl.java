@@ -1,40 +1,71 @@
 package com.ideas2it.sports.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
 
 import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
 import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportFilter;
+import com.ideas2it.model.SportParticipation;
+import com.ideas2it.report.service.ReportCache;
+import com.ideas2it.report.service.ReportCache.Report;
+import com.ideas2it.sports.dao.SportMembershipIndex;
 import com.ideas2it.sports.dao.SportRepository;
 import com.ideas2it.sports.dao.SportRepositoryImpl;
+import com.ideas2it.utilities.ReferenceSnapshot;
+import com.ideas2it.utilities.UnitOfWork;
 
 /**
  * <p>
  * Implement if SportService interface to handle Sport-related operations.
  * </p>
+ * Active sports are read from an immutable snapshot shared by every instance, loaded on
+ * first use and replaced by a new copy after each committed write. The snapshot holds id
+ * and name copies and hands out a new copy on every read, without a roster. Writes of other
+ * processes are picked up when the snapshot is reloaded, once it is older than
+ * {@code reference.snapshot.ttlSeconds}, or at once for a sport looked up by id that the
+ * snapshot does not hold.
  * @author  Kishore 
  * @version 1.0 
  */
 public class SportServiceImpl implements SportService {
     private static final Logger logger = LogManager.getLogger(SportServiceImpl.class);
+    // How long the snapshot is trusted before it is read again, to see the writes of other instances
+    private static final long SNAPSHOT_TTL_MILLIS = Integer.getInteger("reference.snapshot.ttlSeconds", 60)
+                                                    * 1000L;
+    private static final Object snapshotLock = new Object();
+    private static volatile ReferenceSnapshot<Sport> snapshot;
     private SportRepository sportRepository;
+    private SportMembershipIndex membershipIndex;
 
     public SportServiceImpl() {
         sportRepository = new SportRepositoryImpl();
+        membershipIndex = SportMembershipIndex.getInstance();
     }
 
     /**
      * Adds a new sport to the repository.
      *
-     * @param id - The unique identifier for the sport.
      * @param name - The name of the sport
      */
     @Override
-    public void addSport(int id, String name) throws EmployeeException {
-        Sport sport = new Sport(id, name);
-        sportRepository.addSport(sport);
+    public void addSport(String name) throws EmployeeException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Sport sport = new Sport(name);
+            sportRepository.addSport(sport);
+            unitOfWork.afterCommit(() -> publish(sports -> sports.with(sport)));
+            unitOfWork.commit();
+        }
     }
 
     /**
@@ -45,12 +76,18 @@ public class SportServiceImpl implements SportService {
      */
     @Override
     public void removeSport(int id) throws IllegalArgumentException, EmployeeException {
-        Sport sport = sportRepository.findSportById(id);
-        if (sport != null) {
-            sportRepository.deleteSport(id);
-        } else {
-            logger.info("Sport not found" +id);
-            throw new IllegalArgumentException("Sport not found" +id);
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            if (sportRepository.existsById(id)) {
+                sportRepository.deleteSport(id);
+                unitOfWork.afterCommit(() -> {
+                    publish(sports -> sports.without(id));
+                    membershipIndex.removeSport(id);
+                });
+            } else {
+                logger.info("Sport not found" +id);
+                throw new IllegalArgumentException("Sport not found" +id);
+            }
+            unitOfWork.commit();
         }
     }
 
@@ -61,18 +98,19 @@ public class SportServiceImpl implements SportService {
      */
     @Override     
     public Set<Sport> getAllSports() throws EmployeeException {
-        return sportRepository.getAllSports();
+        return new LinkedHashSet<>(getSnapshot().getAll());
     }
     
     /**
      * Retrieves a sport by its unique identifier.
      *
      *@param id - The unique identifier of the sport.
-     *@return The sport with the given ID, or null if not found.
+     *@return The active sport with the given ID, or null if not found or removed.
      */
     @Override
     public Sport getSportById(int id) throws EmployeeException {
-        return sportRepository.findSportById(id);
+        Sport sport = getSnapshot().get(id);
+        return sport != null ? sport : findMissing(id);
     }
 
     /**
@@ -84,13 +122,192 @@ public class SportServiceImpl implements SportService {
      */
     @Override
     public void updateSport(int id, String name) throws IllegalArgumentException, EmployeeException {
-        Sport sport = sportRepository.findSportById(id);
-        if (sport != null) {
-            sport.setName(name);
-            sportRepository.updateSport(sport);
-        } else {
-            logger.info("Sport not found" +id);
-            throw new IllegalArgumentException("Sport not found" +id);
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Sport sport = sportRepository.findSportById(id);
+            if (sport != null) {
+                sport.setName(name);
+                sportRepository.updateSport(sport);
+                if (sport.getIsActive()) {
+                    unitOfWork.afterCommit(() -> publish(sports -> sports.with(sport)));
+                }
+            } else {
+                logger.info("Sport not found" +id);
+                throw new IllegalArgumentException("Sport not found" +id);
+            }
+            unitOfWork.commit();
+        }
+    }
+
+    /**
+     * Retrieves the active employees participating in a sport.
+     *
+     * @param id - The unique identifier of the sport.
+     * @return The employees in the sport, ordered by id.
+     */
+    @Override
+    public Set<Employee> getEmployeesBySportId(int id) throws EmployeeException {
+        return sportRepository.getEmployeesBySportId(id);
+    }
+
+    /**
+     * Retrieves a page of the active employees of a sport ordered by ID.
+     *
+     * @param id - The unique identifier of the sport.
+     * @param afterId - ID of the last employee of the previous page, 0 for the first page.
+     * @param pageSize - maximum number of employees in the page.
+     * @return a page of employees with IDs greater than afterId.
+     */
+    @Override
+    public Page<Employee> getEmployeesBySportPage(int id, int afterId, int pageSize) throws EmployeeException {
+        return sportRepository.getEmployeesBySportPage(id, afterId, pageSize);
+    }
+
+    /**
+     * Counts the active employees of a sport.
+     *
+     * @param id - The unique identifier of the sport.
+     * @return number of active employees in the sport.
+     */
+    @Override
+    public long countActiveEmployees(int id) throws EmployeeException {
+        return sportRepository.countActiveEmployees(id);
+    }
+
+    /**
+     * Retrieves the number of active employees in every active sport.
+     *
+     * @return sports ordered by member count, largest first.
+     */
+    @Override
+    public List<SportParticipation> getSportParticipation() throws EmployeeException {
+        return sportRepository.getSportParticipation(0);
+    }
+
+    /**
+     * Retrieves the sports with the most active employees.
+     *
+     * @param limit - number of sports to return.
+     * @return at most limit sports ordered by member count, largest first.
+     */
+    @Override
+    public List<SportParticipation> getTopSports(int limit) throws EmployeeException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Number of sports must be positive: " + limit);
+        }
+        return sportRepository.getSportParticipation(limit);
+    }
+
+    @Override
+    public int[] getEmployeeIds(SportFilter filter) throws IllegalArgumentException, EmployeeException {
+        return select(filter).toArray();
+    }
+
+    @Override
+    public long countEmployees(SportFilter filter) throws IllegalArgumentException, EmployeeException {
+        return select(filter).getLongCardinality();
+    }
+
+    /**
+     * Retrieves a page of the active employees matching a combination of sports.
+     * The ids of the page are picked from the membership index, only the employees
+     * of the page are read from the database. An id the database no longer returns,
+     * for an employee deactivated since the index saw it, is replaced by the next id
+     * of the index, and whether a next page exists is decided by the index.
+     */
+    @Override
+    public Page<Employee> getEmployeesPage(SportFilter filter, int afterId, int pageSize)
+            throws IllegalArgumentException, EmployeeException {
+        PeekableIntIterator ids = select(filter).getIntIterator();
+        ids.advanceIfNeeded(afterId + 1);
+        List<Employee> employees = new ArrayList<>(pageSize);
+        while (ids.hasNext() && employees.size() < pageSize) {
+            List<Integer> pageIds = new ArrayList<>(pageSize - employees.size());
+            while (ids.hasNext() && pageIds.size() < pageSize - employees.size()) {
+                pageIds.add(ids.next());
+            }
+            employees.addAll(sportRepository.getEmployeesByIds(pageIds));
+        }
+        return new Page<>(employees, ids.hasNext());
+    }
+
+    /**
+     * Checks that every sport of the filter is active and evaluates it on the membership index.
+     */
+    private RoaringBitmap select(SportFilter filter) throws IllegalArgumentException, EmployeeException {
+        for (int sportId : filter.getSportIds()) {
+            if (getSportById(sportId) == null) {
+                logger.info("Sport not found" + sportId);
+                throw new IllegalArgumentException("Sport not found" + sportId);
+            }
+        }
+        long start = System.nanoTime();
+        RoaringBitmap employees = membershipIndex.evaluate(filter);
+        logger.debug("Sport filter " + filter + " matched " + employees.getLongCardinality() + " employees in "
+                     + (System.nanoTime() - start) / 1000 + " us");
+        return employees;
+    }
+
+    /**
+     * Retrieves the snapshot of active sports, loading it on first use and reloading it
+     * once it is older than {@code reference.snapshot.ttlSeconds} (60 by default).
+     */
+    private ReferenceSnapshot<Sport> getSnapshot() throws EmployeeException {
+        ReferenceSnapshot<Sport> current = snapshot;
+        if (current == null || current.isOlderThan(SNAPSHOT_TTL_MILLIS)) {
+            synchronized (snapshotLock) {
+                current = snapshot;
+                if (current == null || current.isOlderThan(SNAPSHOT_TTL_MILLIS)) {
+                    current = ReferenceSnapshot.of(sportRepository.getAllSports(), Sport::getId,
+                                                   SportServiceImpl::copyOf);
+                    snapshot = current;
+                    logger.info("Sport snapshot loaded: " + current);
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reads a sport the snapshot does not hold from the database, in case another instance
+     * added it since the snapshot was loaded, and adds it to the snapshot if it is active.
+     *
+     * @return a copy of the sport, or null if it does not exist or was removed.
+     */
+    private Sport findMissing(int id) throws EmployeeException {
+        Sport stored = sportRepository.findSportById(id);
+        if (stored == null || !stored.getIsActive()) {
+            return null;
+        }
+        synchronized (snapshotLock) {
+            if (snapshot != null) {
+                snapshot = snapshot.with(stored);
+            }
+        }
+        return copyOf(stored);
+    }
+
+    /**
+     * Copies the id and name of a sport, the snapshot never holds or hands out an entity
+     * a caller could change or whose lazy roster it could touch outside a session.
+     */
+    private static Sport copyOf(Sport sport) {
+        Sport copy = new Sport(sport.getName());
+        copy.setId(sport.getId());
+        copy.setEmployees(null);
+        return copy;
+    }
+
+    /**
+     * Replaces the snapshot with a changed copy. Nothing is done before the first load,
+     * which will read the change from the database. The reports built on the table are
+     * marked dirty either way.
+     */
+    private static void publish(UnaryOperator<ReferenceSnapshot<Sport>> change) {
+        synchronized (snapshotLock) {
+            if (snapshot != null) {
+                snapshot = change.apply(snapshot);
+            }
         }
+        ReportCache.markDirty(Report.SPORT_PARTICIPATION, Report.EMPLOYEES_WITHOUT_SPORT);
     }
 }
@@ -0,0 +1,97 @@
+package com.ideas2it.utilities;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <p>
+ * Runs service calls off the caller's thread for the asynchronous methods of the services.
+ * The calls run on a fixed pool of daemon platform threads, one per permit, and the calls
+ * beyond that wait in the pool's queue without holding a thread. The application targets
+ * Java 17, which has no virtual threads, so a waiting call never costs more than its queue
+ * entry and the pool never grows past the number of calls the database can serve.
+ * </p>
+ * A call only starts its database work once it holds a permit. There are fewer permits than
+ * pooled connections, so the calls in flight never queue inside the pool and time out there:
+ * the rest of the pool is left to synchronous callers and to the second connection a call
+ * borrows while it holds its own, when the id generator allocates a new block of ids.
+ * Each call runs on its own thread and therefore in its own unit of work.
+ * @author  Kishore
+ * @version 1.0
+ */
+public final class AsyncExecutor {
+    private static final Logger logger = LogManager.getLogger(AsyncExecutor.class);
+
+    private AsyncExecutor() {
+    }
+
+    /**
+     * Runs a call that returns a value.
+     *
+     * @param call - service call to run.
+     * @return the future completed with the result of the call, or with its exception.
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> withPermit(call), Holder.executor);
+    }
+
+    /**
+     * Runs a call that returns nothing.
+     *
+     * @param call - service call to run.
+     * @return the future completed once the call is done, or with its exception.
+     */
+    public static CompletableFuture<Void> run(Runnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a call on the current thread once it holds a permit.
+     *
+     * @param call - call that uses a connection.
+     * @return the result of the call.
+     */
+    private static <T> T withPermit(Supplier<T> call) {
+        Holder.permits.acquireUninterruptibly();
+        try {
+            return call.get();
+        } finally {
+            Holder.permits.release();
+        }
+    }
+
+    /**
+     * Creates the executor and permits on first use, which also starts the connection pool.
+     */
+    private static final class Holder {
+        private static final int maxInFlight = inFlightLimit(HibernateConnection.getMaximumPoolSize());
+        private static final Semaphore permits = new Semaphore(maxInFlight, true);
+        private static final ExecutorService executor = createExecutor();
+
+        // A quarter of the pool, at least one connection, is kept out of reach of the asynchronous calls
+        private static int inFlightLimit(int poolSize) {
+            return Math.max(1, poolSize - Math.max(1, poolSize / 4));
+        }
+
+        // A thread per permit, more threads would only wait for a permit and fewer would leave permits unused
+        private static ExecutorService createExecutor() {
+            logger.info("Asynchronous calls run on " + maxInFlight + " pooled threads.");
+            AtomicInteger threads = new AtomicInteger();
+            return Executors.newFixedThreadPool(maxInFlight, task -> {
+                Thread thread = new Thread(task, "async-service-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
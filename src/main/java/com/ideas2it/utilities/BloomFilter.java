@@ -0,0 +1,115 @@
+package com.ideas2it.utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * Bloom filter over strings: a fixed bit array in which every added value sets a few bits
+ * chosen by hashing. A value whose bits are not all set was never added, a value whose bits
+ * are all set was probably added, with a false positive rate that grows with the number of
+ * values past the expected count.
+ * </p>
+ * Bits are set with atomic operations, so values can be added and tested from any thread
+ * without a lock. Values can never be removed.
+ * @author  Kishore
+ * @version 1.0
+ */
+public final class BloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long expectedValues;
+    private final AtomicLong values = new AtomicLong();
+
+    /**
+     * Sizes a filter for the given number of values and false positive rate.
+     *
+     * @param expectedValues - number of values the filter is sized for.
+     * @param falsePositiveRate - wanted rate of false positives at that number, between 0 and 1.
+     */
+    public BloomFilter(long expectedValues, double falsePositiveRate) {
+        if (expectedValues <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid bloom filter size: " + expectedValues + ", "
+                                               + falsePositiveRate);
+        }
+        long optimalBits = (long) Math.ceil(-expectedValues * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE, (optimalBits + 63) / 64));
+        this.bitCount = (long) bits.length() * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedValues * Math.log(2)));
+        this.expectedValues = expectedValues;
+    }
+
+    /**
+     * Adds a value to the filter.
+     */
+    public void add(String value) {
+        long hash = hash(value);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(first + i * second);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+        values.incrementAndGet();
+    }
+
+    /**
+     * Tests whether a value may have been added.
+     *
+     * @return false if the value was certainly never added, true if it probably was.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(first + i * second);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether more values were added than the filter was sized for, past which
+     * the false positive rate rises above the one asked for.
+     */
+    public boolean isSaturated() {
+        return values.get() > expectedValues;
+    }
+
+    @Override
+    public String toString() {
+        return values.get() + " of " + expectedValues + " values, " + bitCount + " bits, " + hashCount + " hashes";
+    }
+
+    private long index(int combinedHash) {
+        // Flip negative hashes so every bit of the array can be chosen
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitCount;
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the UTF-8 bytes of the value, its two halves seed the
+     * double hashing of the bit indexes.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        // Final mix spreads the low entropy of short keys over both halves
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,128 @@
+package com.ideas2it.utilities;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * <p>
+ * Collects metrics of the connection pool used by HibernateConnection.
+ * Exposes the active, idle and waiting counts reported by the pool together with
+ * percentiles of the time threads spent waiting to acquire a connection.
+ * </p>
+ * Wait times are kept in a fixed size ring of the most recent acquisitions, so
+ * recording never allocates and the percentiles follow the current load.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+    private static final int SAMPLE_SIZE = 2048;
+    private final AtomicLongArray waitNanos = new AtomicLongArray(SAMPLE_SIZE);
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                long index = acquisitions.getAndIncrement();
+                waitNanos.set((int) (index % SAMPLE_SIZE), elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.incrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Retrieves the number of connections currently borrowed from the pool.
+     *
+     * @return count of connections in use.
+     */
+    public int getActiveConnections() {
+        return poolStats == null ? 0 : poolStats.getActiveConnections();
+    }
+
+    /**
+     * Retrieves the number of open connections waiting in the pool.
+     *
+     * @return count of idle connections.
+     */
+    public int getIdleConnections() {
+        return poolStats == null ? 0 : poolStats.getIdleConnections();
+    }
+
+    /**
+     * Retrieves the number of threads blocked waiting for a connection.
+     *
+     * @return count of waiting threads.
+     */
+    public int getWaitingThreads() {
+        return poolStats == null ? 0 : poolStats.getPendingThreads();
+    }
+
+    /**
+     * Retrieves the number of acquisitions that failed with a timeout.
+     *
+     * @return count of acquisition timeouts.
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * Retrieves the total number of connections handed out by the pool.
+     *
+     * @return count of acquisitions.
+     */
+    public long getAcquisitions() {
+        return acquisitions.get();
+    }
+
+    /**
+     * Computes a percentile of the wait time over the recent acquisitions.
+     *
+     * @param percentile - percentile to compute, between 0 and 100.
+     * @return wait time in milliseconds, 0 if nothing was recorded yet.
+     */
+    public double getWaitTimeMillis(double percentile) {
+        int count = (int) Math.min(acquisitions.get(), SAMPLE_SIZE);
+        if (count == 0) {
+            return 0;
+        }
+        long[] samples = new long[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = waitNanos.get(i);
+        }
+        Arrays.sort(samples);
+        int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+        long nanos = samples[Math.max(0, Math.min(rank, count - 1))];
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Computes the 99th percentile of the wait time over the recent acquisitions.
+     *
+     * @return p99 wait time in milliseconds.
+     */
+    public double getP99WaitTimeMillis() {
+        return getWaitTimeMillis(99);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("active=%d, idle=%d, waiting=%d, timeouts=%d, p99Wait=%.3fms",
+                             getActiveConnections(), getIdleConnections(), getWaitingThreads(),
+                             getTimeouts(), getP99WaitTimeMillis());
+    }
+}
@@ -1,24 +1,46 @@
 package com.ideas2it.utilities;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.type.StandardBasicTypes;
+
+import com.ideas2it.exceptions.EmployeeException;
 
 /**
  * Singleton class to manage Hibernate sesssion.
+ * Connections are served by a bounded HikariCP pool configured through the
+ * {@code hibernate.hikari.*} properties of hibernate.cfg.xml. Any {@code hibernate.*}
+ * system property overrides the value from the configuration file.
  */
 public class HibernateConnection {
 
     private static final Logger logger = LogManager.getLogger(HibernateConnection.class);
+    private static final String HIBERNATE_PREFIX = "hibernate.";
+    private static final String POOL_PREFIX = "hibernate.hikari.";
+    private static final List<Runnable> shutdownTasks = new CopyOnWriteArrayList<>();
     private static HibernateConnection instance = new HibernateConnection();
     private SessionFactory sessionFactory;
+    private HikariDataSource dataSource;
+    private ConnectionPoolMetrics poolMetrics = new ConnectionPoolMetrics();
 
     /**
      * Retrieves the single instance of HibernateConnection.
-     * 
+     *
      * @return the singleton instance of HibernateConnection
      */
     public static HibernateConnection getInstance() {
@@ -27,34 +49,158 @@ public class HibernateConnection {
 
     /**
      * Private constructor to prevent instantiation.
-     * Configures Hibernate and builds the session factory.
+     * Configures the connection pool and Hibernate and builds the session factory.
      */
     private HibernateConnection() {
         try {
             Configuration configuration = new Configuration();
             configuration.configure("hibernate.cfg.xml");
+            for (Map.Entry<Object, Object> property : System.getProperties().entrySet()) {
+                if (property.getKey().toString().startsWith(HIBERNATE_PREFIX)) {
+                    configuration.setProperty(property.getKey().toString(), property.getValue().toString());
+                }
+            }
+            // Aggregates the values of a group into one ordered, comma separated string
+            configuration.addSqlFunction("group_concat", new SQLFunctionTemplate(StandardBasicTypes.STRING,
+                                         "group_concat(?1 order by ?1 separator ', ')"));
+            dataSource = createDataSource(configuration.getProperties());
+            configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
             sessionFactory = configuration.buildSessionFactory();
+            PooledIdGenerator.seed(sessionFactory);
             logger.info("SessionFactory created succesfully.");
         } catch (HibernateException e) {
             // Log the exception or handle it accordingly
             logger.error("Error creating SessionFactory: ", e);
+            if (dataSource != null) {
+                dataSource.close();
+            }
+            throw new ExceptionInInitializerError(e);
+        } catch (RuntimeException e) {
+            logger.error("Error creating connection pool: ", e);
             throw new ExceptionInInitializerError(e);
         }
     }
 
+    /**
+     * Builds the connection pool from the hibernate.hikari settings.
+     *
+     * @param settings - hibernate configuration properties.
+     * @return the pooled data source.
+     */
+    private HikariDataSource createDataSource(Properties settings) {
+        Properties poolSettings = new Properties();
+        for (String name : settings.stringPropertyNames()) {
+            if (name.startsWith(POOL_PREFIX)) {
+                poolSettings.setProperty(name.substring(POOL_PREFIX.length()), settings.getProperty(name).trim());
+            }
+        }
+        HikariConfig config = new HikariConfig(poolSettings);
+        config.setAutoCommit(false);
+        config.setMetricsTrackerFactory(poolMetrics);
+        logger.info("Creating connection pool " + config.getPoolName() + " with " + config.getMinimumIdle()
+                    + " to " + config.getMaximumPoolSize() + " connections.");
+        return new HikariDataSource(config);
+    }
+
     /**
      * Opens and returns a new Hibernate session.
-     * 
+     * The connection is borrowed from the pool on first use and an acquisition
+     * that exceeds the configured connection timeout fails with a HibernateException.
+     *
      * @return a new Session instance
+     * @throws EmployeeException if the session cannot be opened.
      */
-    public static Session getSession() {
+    public static Session getSession() throws EmployeeException {
         try {
             logger.info("opening new Hibernate session.");
             return getInstance().sessionFactory.openSession();
         } catch (HibernateException e) {
-            // Log the exception or handle it accordingly
             logger.error("Error opening session: ", e);
-            return null; // Or consider throwing a custom exception
+            throw new EmployeeException("Error opening session", e);
+        }
+    }
+
+    /**
+     * Retrieves the metrics of the connection pool.
+     *
+     * @return live pool metrics.
+     */
+    public static ConnectionPoolMetrics getPoolMetrics() {
+        return getInstance().poolMetrics;
+    }
+
+    /**
+     * Retrieves the upper bound of connections the pool may open.
+     *
+     * @return maximum pool size.
+     */
+    public static int getMaximumPoolSize() {
+        return getInstance().dataSource.getMaximumPoolSize();
+    }
+
+    /**
+     * Retrieves the number of statements Hibernate groups into one JDBC batch.
+     *
+     * @return the configured JDBC batch size, at least 1.
+     */
+    public static int getBatchSize() {
+        return Math.max(1, getInstance().sessionFactory.getSessionFactoryOptions().getJdbcBatchSize());
+    }
+
+    /**
+     * Retrieves the statistics of the session factory, including the hits, misses
+     * and puts of every second-level and query cache region.
+     *
+     * @return live session factory statistics.
+     */
+    public static Statistics getStatistics() {
+        return getInstance().sessionFactory.getStatistics();
+    }
+
+    /**
+     * Describes the hits, misses and puts of every cache region.
+     *
+     * @return one line per region.
+     */
+    public static String getCacheStatistics() {
+        Statistics statistics = getStatistics();
+        StringBuilder description = new StringBuilder();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            description.append(String.format("%n%-45s hits=%d, misses=%d, puts=%d", region,
+                                             regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                                             regionStatistics.getPutCount()));
+        }
+        description.append(String.format("%n%-45s hits=%d, misses=%d, puts=%d", "queries",
+                                         statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                                         statistics.getQueryCachePutCount()));
+        return description.toString();
+    }
+
+    /**
+     * Registers a task to run on shutdown, while the connections are still open.
+     *
+     * @param task - task finishing work that needs the database, such as writing queued changes.
+     */
+    public static void beforeShutdown(Runnable task) {
+        shutdownTasks.add(task);
+    }
+
+    /**
+     * Runs the shutdown tasks, in the order they were registered, then closes the session
+     * factory and every pooled connection.
+     */
+    public static void shutdown() {
+        for (Runnable task : shutdownTasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Error while running a shutdown task", e);
+            }
         }
+        logger.info("Cache statistics:" + getCacheStatistics());
+        logger.info("Closing connection pool: " + getInstance().poolMetrics);
+        getInstance().sessionFactory.close();
+        getInstance().dataSource.close();
     }
-}
\ No newline at end of file
+}
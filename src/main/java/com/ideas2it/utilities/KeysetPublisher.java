@@ -0,0 +1,250 @@
+package com.ideas2it.utilities;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.ideas2it.model.Page;
+
+/**
+ * <p>
+ * Publishes the rows of a keyset paged listing to subscribers that consume them at their own pace.
+ * Rows are only read once a subscriber requests them: each read fetches the next page after the
+ * last row delivered, no larger than the outstanding demand, in its own unit of work. The rows held
+ * for a subscriber are therefore bounded by its demand and the chunk size, never by the size of the
+ * listing, and a cancelled subscription stops reading.
+ * </p>
+ * Every subscriber gets its own pass over the listing. Its signals are delivered one at a time on
+ * the delivery executor, by default a pool of daemon threads shared by the publishers, or one the
+ * caller supplies. Only the page reads run on the AsyncExecutor, each an asynchronous call holding
+ * a permit, so a slow subscriber holds a delivery thread but never a permit or a connection.
+ * @author  Kishore
+ * @version 1.0
+ */
+public final class KeysetPublisher<T> implements Flow.Publisher<T> {
+    private static final Logger logger = LogManager.getLogger(KeysetPublisher.class);
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private final PageSource<T> source;
+    private final int chunkSize;
+    private final Executor delivery;
+
+    /**
+     * Reads the page of rows following a row of the listing.
+     */
+    @FunctionalInterface
+    public interface PageSource<T> {
+
+        /**
+         * @param last - last row delivered, null for the first page.
+         * @param pageSize - maximum number of rows to read.
+         * @return the page of rows after last.
+         */
+        Page<T> next(T last, int pageSize);
+    }
+
+    public KeysetPublisher(PageSource<T> source) {
+        this(source, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param source - reads the listing one page at a time.
+     * @param chunkSize - maximum number of rows read at once.
+     */
+    public KeysetPublisher(PageSource<T> source, int chunkSize) {
+        this(source, chunkSize, null);
+    }
+
+    /**
+     * @param source - reads the listing one page at a time.
+     * @param chunkSize - maximum number of rows read at once.
+     * @param delivery - runs the signals to the subscribers, null for the shared delivery threads.
+     */
+    public KeysetPublisher(PageSource<T> source, int chunkSize, Executor delivery) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.source = source;
+        this.chunkSize = chunkSize;
+        this.delivery = delivery;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        KeysetSubscription subscription = new KeysetSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Starts the shared delivery threads on first use. They are daemon threads, created as
+     * subscribers need them and dropped after a minute idle.
+     */
+    private static final class Delivery {
+        private static final ExecutorService executor = Executors.newCachedThreadPool(createThreadFactory());
+
+        private static ThreadFactory createThreadFactory() {
+            AtomicInteger threads = new AtomicInteger();
+            return task -> {
+                Thread thread = new Thread(task, "keyset-publisher-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+
+    /**
+     * State of one subscriber. The drain loop runs on a single thread at a time: whoever moves
+     * the work counter from zero starts it, later signals only bump the counter so the running
+     * loop makes another pass. A page read completing is one such signal.
+     */
+    private final class KeysetSubscription implements Flow.Subscription {
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+        private Flow.Subscriber<? super T> subscriber;
+        private volatile boolean cancelled;
+        private List<T> rows = Collections.emptyList();
+        private int position;
+        private boolean exhausted;
+        private T last;
+        private Throwable invalidRequest;
+        private boolean fetching;
+        private volatile Page<T> fetched;
+        private volatile Throwable fetchError;
+
+        private KeysetSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested rows must be positive: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (work.getAndIncrement() == 0) {
+                (delivery == null ? Delivery.executor : delivery).execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int passes = 1;
+            do {
+                try {
+                    emit();
+                } catch (RuntimeException e) {
+                    logger.error("Error while publishing rows", e);
+                    fail(e);
+                }
+                passes = work.addAndGet(-passes);
+            } while (passes != 0);
+        }
+
+        private void emit() {
+            while (!cancelled) {
+                if (invalidRequest != null) {
+                    fail(invalidRequest);
+                    return;
+                }
+                if (fetchError != null) {
+                    fail(fetchError);
+                    return;
+                }
+                if (fetching) {
+                    if (fetched == null) {
+                        return;
+                    }
+                    rows = fetched.getItems();
+                    position = 0;
+                    exhausted = !fetched.hasNext();
+                    fetching = false;
+                    fetched = null;
+                    continue;
+                }
+                if (position == rows.size()) {
+                    if (exhausted) {
+                        Flow.Subscriber<? super T> done = subscriber;
+                        release();
+                        done.onComplete();
+                        return;
+                    }
+                    long requested = demand.get();
+                    if (requested == 0) {
+                        return;
+                    }
+                    fetch((int) Math.min(requested, chunkSize));
+                    return;
+                }
+                if (demand.get() == 0) {
+                    return;
+                }
+                T row = rows.get(position++);
+                last = row;
+                demand.decrementAndGet();
+                subscriber.onNext(row);
+            }
+            release();
+        }
+
+        /**
+         * Reads the next page as an asynchronous call, and makes another pass once it is read.
+         */
+        private void fetch(int pageSize) {
+            fetching = true;
+            T after = last;
+            AsyncExecutor.supply(() -> source.next(after, pageSize)).whenComplete((page, error) -> {
+                if (error != null) {
+                    logger.error("Error while reading rows to publish", error);
+                    fetchError = error instanceof CompletionException && error.getCause() != null
+                                 ? error.getCause() : error;
+                } else {
+                    fetched = page;
+                }
+                schedule();
+            });
+        }
+
+        private void fail(Throwable error) {
+            Flow.Subscriber<? super T> failed = subscriber;
+            release();
+            if (failed != null) {
+                failed.onError(error);
+            }
+        }
+
+        /**
+         * Ends the subscription and drops the rows and the subscriber it holds.
+         */
+        private void release() {
+            cancelled = true;
+            subscriber = null;
+            rows = Collections.emptyList();
+            position = 0;
+            last = null;
+            fetched = null;
+            fetchError = null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ideas2it.utilities;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.MappingException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * <p>
+ * Table based identifier generator shared by every entity.
+ * Each entity table owns one row of the {@code id_generator} table and reserves a block
+ * of ids per round trip with the pooled-lo optimizer, so inserts need no database call
+ * to learn their key and can be batched. Blocks are reserved with a row lock, which keeps
+ * ids unique across threads and across application instances.
+ * </p>
+ * The block size is read from {@code hibernate.id.pooled.allocation_size}.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class PooledIdGenerator extends TableGenerator {
+    public static final String ALLOCATION_SIZE = "hibernate.id.pooled.allocation_size";
+    private static final Logger logger = LogManager.getLogger(PooledIdGenerator.class);
+    private static final String DEFAULT_ALLOCATION_SIZE = "50";
+    private static final String TABLE = "id_generator";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService configuration = serviceRegistry.getService(ConfigurationService.class);
+        params.putIfAbsent(TABLE_PARAM, TABLE);
+        params.putIfAbsent(SEGMENT_VALUE_PARAM, params.getProperty(PersistentIdentifierGenerator.TABLE).toLowerCase());
+        params.putIfAbsent(INCREMENT_PARAM, configuration.getSetting(ALLOCATION_SIZE, StandardConverters.STRING,
+                                                                     DEFAULT_ALLOCATION_SIZE).trim());
+        params.putIfAbsent(OPT_PARAM, "pooled-lo");
+        super.configure(type, params, serviceRegistry);
+    }
+
+    /**
+     * Makes sure the generator row of every entity starts after the highest id already
+     * stored in the entity table, so ids written by the former IDENTITY columns are never
+     * handed out again. A row is created when missing and only ever moved forward.
+     *
+     * @param sessionFactory - session factory whose entities are seeded.
+     */
+    public static void seed(SessionFactory sessionFactory) {
+        SessionFactoryImplementor factory = sessionFactory.unwrap(SessionFactoryImplementor.class);
+        for (EntityPersister persister : factory.getMetamodel().entityPersisters().values()) {
+            if (persister.getIdentifierGenerator() instanceof PooledIdGenerator) {
+                ((PooledIdGenerator) persister.getIdentifierGenerator())
+                        .seed(sessionFactory, (AbstractEntityPersister) persister);
+            }
+        }
+    }
+
+    private void seed(SessionFactory sessionFactory, AbstractEntityPersister persister) {
+        // The stored value is the last id handed out, the generator starts after it
+        String lastId = "SELECT COALESCE(MAX(" + persister.getIdentifierColumnNames()[0] + "), 0) AS last_id FROM "
+                        + persister.getTableName();
+        String insert = "INSERT INTO " + getTableName() + " (" + getSegmentColumnName() + ", "
+                        + getValueColumnName() + ") SELECT ?, seed.last_id FROM (" + lastId
+                        + ") seed WHERE NOT EXISTS (SELECT 1 FROM " + getTableName() + " WHERE "
+                        + getSegmentColumnName() + " = ?)";
+        String update = "UPDATE " + getTableName() + " SET " + getValueColumnName() + " = (" + lastId + ") WHERE "
+                        + getSegmentColumnName() + " = ? AND " + getValueColumnName() + " < (" + lastId + ")";
+        try (Session session = sessionFactory.openSession()) {
+            session.doWork(connection -> {
+                try (PreparedStatement insertStatement = connection.prepareStatement(insert);
+                     PreparedStatement updateStatement = connection.prepareStatement(update)) {
+                    insertStatement.setString(1, getSegmentValue());
+                    insertStatement.setString(2, getSegmentValue());
+                    insertStatement.executeUpdate();
+                    updateStatement.setString(1, getSegmentValue());
+                    updateStatement.executeUpdate();
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    logger.warn("Id generator row not seeded: " + getSegmentValue() + ", " + e.getMessage());
+                }
+            });
+        }
+    }
+}
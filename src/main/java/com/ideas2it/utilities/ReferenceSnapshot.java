@@ -0,0 +1,176 @@
+package com.ideas2it.utilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p>
+ * Immutable, id indexed copy of a small reference table such as departments or sports.
+ * A snapshot is never changed once built: writers derive a new snapshot with {@link #with}
+ * or {@link #without} and publish it through a volatile field, so readers need no lock and
+ * never see a half updated table. Mutable rows such as entities are given with a copy
+ * function: the snapshot then keeps its own copies and hands out a fresh copy on every read,
+ * so no caller can change the rows other readers see.
+ * </p>
+ * Rows are kept in an array indexed by id while the ids are dense, and in a map otherwise.
+ * A snapshot only reflects the writes of this process, it remembers when it was loaded so
+ * its owner can reload it from the database once it is too old.
+ * @author  Kishore
+ * @version 1.0
+ */
+public final class ReferenceSnapshot<T> {
+    private static final int MAX_EMPTY_SLOTS = 1024;
+    private final ToIntFunction<T> idOf;
+    // Null when the rows are immutable and handed out as they are
+    private final UnaryOperator<T> copy;
+    private final long loadedAt;
+    private final List<T> rows;
+    private final Object[] byId;
+    private final Map<Integer, T> sparseById;
+
+    private ReferenceSnapshot(List<T> rows, ToIntFunction<T> idOf, UnaryOperator<T> copy, long loadedAt) {
+        this.idOf = idOf;
+        this.copy = copy;
+        this.loadedAt = loadedAt;
+        this.rows = Collections.unmodifiableList(rows);
+        int maxId = rows.isEmpty() ? 0 : idOf.applyAsInt(rows.get(rows.size() - 1));
+        if (maxId - rows.size() <= MAX_EMPTY_SLOTS) {
+            byId = new Object[maxId + 1];
+            for (T row : rows) {
+                byId[idOf.applyAsInt(row)] = row;
+            }
+            sparseById = null;
+        } else {
+            byId = null;
+            sparseById = new HashMap<>();
+            for (T row : rows) {
+                sparseById.put(idOf.applyAsInt(row), row);
+            }
+        }
+    }
+
+    /**
+     * Builds a snapshot holding the given immutable rows.
+     *
+     * @param rows - rows of the table, each with a distinct, positive id.
+     * @param idOf - reads the id of a row.
+     * @return the snapshot, rows ordered by id.
+     */
+    public static <T> ReferenceSnapshot<T> of(Collection<T> rows, ToIntFunction<T> idOf) {
+        return sorted(new ArrayList<>(rows), idOf, null, System.nanoTime());
+    }
+
+    /**
+     * Builds a snapshot holding copies of the given rows.
+     *
+     * @param rows - rows of the table, each with a distinct, positive id.
+     * @param idOf - reads the id of a row.
+     * @param copy - copies a row, applied to every row stored and every row read.
+     * @return the snapshot, rows ordered by id.
+     */
+    public static <T> ReferenceSnapshot<T> of(Collection<T> rows, ToIntFunction<T> idOf, UnaryOperator<T> copy) {
+        List<T> copies = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            copies.add(copy.apply(row));
+        }
+        return sorted(copies, idOf, copy, System.nanoTime());
+    }
+
+    private static <T> ReferenceSnapshot<T> sorted(List<T> rows, ToIntFunction<T> idOf, UnaryOperator<T> copy,
+                                                   long loadedAt) {
+        rows.sort(Comparator.comparingInt(idOf));
+        return new ReferenceSnapshot<>(rows, idOf, copy, loadedAt);
+    }
+
+    /**
+     * Retrieves the row with the given id.
+     *
+     * @param id - id of the row.
+     * @return the row, or a copy of it, or null if the snapshot has none with that id.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int id) {
+        T row;
+        if (byId != null) {
+            row = id >= 0 && id < byId.length ? (T) byId[id] : null;
+        } else {
+            row = sparseById.get(id);
+        }
+        return row == null || copy == null ? row : copy.apply(row);
+    }
+
+    /**
+     * Retrieves every row of the snapshot.
+     *
+     * @return unmodifiable list of the rows, or of copies of them, ordered by id.
+     */
+    public List<T> getAll() {
+        if (copy == null) {
+            return rows;
+        }
+        List<T> copies = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            copies.add(copy.apply(row));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    /**
+     * Tells whether the snapshot was loaded from the database longer ago than the given age.
+     * Snapshots derived with {@link #with} or {@link #without} keep the load time of the
+     * snapshot they were derived from.
+     *
+     * @param millis - age in milliseconds.
+     * @return true if the snapshot is older.
+     */
+    public boolean isOlderThan(long millis) {
+        return System.nanoTime() - loadedAt > TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Derives a snapshot in which the given row is added or replaces the row with the same id.
+     *
+     * @param row - row to add or replace.
+     * @return the new snapshot, this one is left unchanged.
+     */
+    public ReferenceSnapshot<T> with(T row) {
+        List<T> changed = new ArrayList<>(rows.size() + 1);
+        int id = idOf.applyAsInt(row);
+        for (T existing : rows) {
+            if (idOf.applyAsInt(existing) != id) {
+                changed.add(existing);
+            }
+        }
+        changed.add(copy == null ? row : copy.apply(row));
+        return sorted(changed, idOf, copy, loadedAt);
+    }
+
+    /**
+     * Derives a snapshot without the row with the given id.
+     *
+     * @param id - id of the row to drop.
+     * @return the new snapshot, this one is left unchanged.
+     */
+    public ReferenceSnapshot<T> without(int id) {
+        List<T> changed = new ArrayList<>(rows.size());
+        for (T existing : rows) {
+            if (idOf.applyAsInt(existing) != id) {
+                changed.add(existing);
+            }
+        }
+        return new ReferenceSnapshot<>(changed, idOf, copy, loadedAt);
+    }
+
+    @Override
+    public String toString() {
+        return rows.size() + " rows, " + (byId != null ? "dense ids up to " + (byId.length - 1) : "sparse ids");
+    }
+}
@@ -0,0 +1,122 @@
+package com.ideas2it.utilities;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import com.ideas2it.exceptions.EmployeeException;
+
+/**
+ * <p>
+ * A session and transaction bound to the current thread for the duration of one operation.
+ * The outermost begin() opens the session and transaction, every nested begin() joins them,
+ * so a service call and all the repository calls it makes share one session, one first-level
+ * cache and one transaction.
+ * </p>
+ * Only the outermost unit commits and closes. Work that was not committed is rolled back
+ * on close, which is also how read-only units end.
+ * @author  Kishore
+ * @version 1.0
+ */
+public class UnitOfWork implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(UnitOfWork.class);
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+    private final Session session;
+    private final Transaction transaction;
+    private final boolean owner;
+    private boolean committed;
+
+    private UnitOfWork(Session session, Transaction transaction, boolean owner) {
+        this.session = session;
+        this.transaction = transaction;
+        this.owner = owner;
+    }
+
+    /**
+     * Starts a unit of work, or joins the one already bound to the current thread.
+     *
+     * @return the unit of work to close once the operation is done.
+     * @throws EmployeeException if the session or transaction cannot be opened.
+     */
+    public static UnitOfWork begin() throws EmployeeException {
+        UnitOfWork active = current.get();
+        if (active != null) {
+            return new UnitOfWork(active.session, active.transaction, false);
+        }
+        Session session = HibernateConnection.getSession();
+        try {
+            UnitOfWork unitOfWork = new UnitOfWork(session, session.beginTransaction(), true);
+            current.set(unitOfWork);
+            return unitOfWork;
+        } catch (HibernateException e) {
+            session.close();
+            logger.error("Error while starting unit of work", e);
+            throw new EmployeeException("Error while starting unit of work", e);
+        }
+    }
+
+    /**
+     * Retrieves the session shared by the unit of work.
+     *
+     * @return the current session.
+     */
+    public Session getSession() {
+        return session;
+    }
+
+    /**
+     * Registers an action to run once the transaction has committed, after the owner's
+     * commit when the unit is joined. Nothing runs if the transaction rolls back.
+     *
+     * @param action - action to run after the commit.
+     */
+    public void afterCommit(Runnable action) {
+        transaction.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Marks the work as complete. The outermost unit commits the transaction,
+     * a joined unit leaves the commit to its owner.
+     */
+    public void commit() {
+        if (owner) {
+            transaction.commit();
+        }
+        committed = true;
+    }
+
+    /**
+     * Ends the unit of work. The outermost unit rolls back anything left
+     * uncommitted, closes the session and unbinds it from the thread.
+     */
+    @Override
+    public void close() {
+        if (!owner) {
+            return;
+        }
+        try {
+            if (!committed && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+        } finally {
+            current.remove();
+            session.close();
+        }
+    }
+}
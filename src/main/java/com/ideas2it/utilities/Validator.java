@@ -1,49 +1,91 @@
 package com.ideas2it.utilities;
 
 import java.time.LocalDate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /*
  *<p>
  * Validating various type of input such as name,email addresses and dates.
+ * The name, email and pin code checks scan the input once, character by character, and
+ * allocate nothing. Each one accepts exactly the strings its former regular expression
+ * matched, quoted in its comment, so stored data stays valid.
  * </p>
- * @author  Kishore 
- * @version 1.0 
+ * Whole employee records are checked with {@link #validateEmployee}, which returns one bit
+ * per invalid field, 0 when the record is valid.
+ * @author  Kishore
+ * @version 1.0
  */
 public class Validator {
-    private static final Pattern EmailPattern = Pattern.compile("\\b[A-za-z0-9._%-]"
-                                            +"+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,4}\\b");
-    private static final Pattern NamePattern = Pattern.compile("^^[\\p{L} .'-]+$");
-    
+    public static final int INVALID_NAME = 1;
+    public static final int INVALID_DOB = 1 << 1;
+    public static final int INVALID_EMAIL = 1 << 2;
+    public static final int INVALID_STREET = 1 << 3;
+    public static final int INVALID_CITY = 1 << 4;
+    public static final int INVALID_STATE = 1 << 5;
+    public static final int INVALID_ZIP = 1 << 6;
+    private static final String[] FIELDS = {"name", "dob", "email", "street", "city", "state", "zip"};
+    private static final int MIN_TOP_LEVEL_DOMAIN = 2;
+    private static final int MAX_TOP_LEVEL_DOMAIN = 4;
+
     /**
-     * Validates if the given name is valid.
+     * Validates if the given name is valid: letters, spaces, dots, apostrophes and hyphens,
+     * as {@code ^[\p{L} .'-]+$}.
      *
      * @param name - The name to validate
      * @return true if the name is valid, false otherwise
      */
     public static boolean isValidname(String name) {
-        if(name == null) {
+        if (name == null || name.isEmpty()) {
             return false;
         }
-
-        Matcher matcher=NamePattern.matcher(name);
-        return matcher.matches();
+        for (int i = 0; i < name.length(); ) {
+            int codePoint = name.codePointAt(i);
+            if (!Character.isLetter(codePoint) && codePoint != ' ' && codePoint != '.'
+                    && codePoint != '\'' && codePoint != '-') {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return true;
     }
 
     /**
-     * Validates if the given emailId is valid.
+     * Validates if the given emailId is valid, as
+     * {@code \b[A-za-z0-9._%-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,4}\b}: a local part starting with
+     * a word character, one @, then a domain whose last label has 2 to 4 letters.
      *
      * @param emailId - The emailId to Validate
      * @return true if the emailid is valid, false otherwise
      */
     public static boolean isValidEmail(String emailId) {
-        
-        if(emailId.isEmpty()) {
-           return false;
-         }
-         Matcher matcher = EmailPattern.matcher(emailId);
-         return matcher.matches();
+        if (emailId == null || emailId.isEmpty() || !isWordChar(emailId.charAt(0))) {
+            return false;
+        }
+        int at = 0;
+        while (at < emailId.length() && isLocalChar(emailId.charAt(at))) {
+            at++;
+        }
+        if (at == 0 || at == emailId.length() || emailId.charAt(at) != '@') {
+            return false;
+        }
+        int lastDot = -1;
+        for (int i = at + 1; i < emailId.length(); i++) {
+            char c = emailId.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        int topLevelDomain = emailId.length() - lastDot - 1;
+        if (lastDot <= at + 1 || topLevelDomain < MIN_TOP_LEVEL_DOMAIN || topLevelDomain > MAX_TOP_LEVEL_DOMAIN) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < emailId.length(); i++) {
+            if (!isAsciiLetter(emailId.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -58,28 +100,110 @@ public class Validator {
          }
          return !givenDate.isAfter(LocalDate.now());
     }
-   
+
     /*
      *It can be only six digits.
      *It should not start with zero.
      *First digit of the pin code must be from 1 to 9.
      *Next five digits of the pin code may range from 0 to 9.
      *It should allow only one white space, but after three digits, although this is optional.
+     *Same as ^[1-9]{1}[0-9]{2}\s{0,1}[0-9]{3}$
      */
     public static boolean isValidPinCode(String pinCode) {
-        String regex = "^[1-9]{1}[0-9]{2}\\s{0,1}[0-9]{3}$";
-        Pattern p = Pattern.compile(regex);
-        if (pinCode == null) {
+        if (pinCode == null || (pinCode.length() != 6 && pinCode.length() != 7)) {
+            return false;
+        }
+        int separator = pinCode.length() == 7 ? 1 : 0;
+        if (separator == 1 && !isWhitespace(pinCode.charAt(3))) {
             return false;
         }
-        Matcher m = p.matcher(pinCode);
-        return m.matches();
+        for (int i = 0; i < pinCode.length(); i++) {
+            if (separator == 1 && i == 3) {
+                continue;
+            }
+            char c = pinCode.charAt(i);
+            if (c < (i == 0 ? '1' : '0') || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     public static boolean isValidNotNull(String input) {
-        if(!input.isEmpty()) { 
-            return true;
+        return input != null && !input.isEmpty();
+    }
+
+    /**
+     * Validates every field of an employee record. The address fields are only checked
+     * when the employee has an address, pass null for all four otherwise.
+     *
+     * @param today - date a date of birth may not be after.
+     * @return the INVALID_ bits of the invalid fields, 0 if the record is valid.
+     */
+    public static int validateEmployee(String name, LocalDate dob, String emailId, boolean hasAddress,
+                                       String street, String city, String state, String zip, LocalDate today) {
+        int errors = 0;
+        if (!isValidname(name)) {
+            errors |= INVALID_NAME;
+        }
+        if (dob == null || dob.isAfter(today)) {
+            errors |= INVALID_DOB;
+        }
+        if (!isValidEmail(emailId)) {
+            errors |= INVALID_EMAIL;
+        }
+        if (hasAddress) {
+            if (!isValidNotNull(street)) {
+                errors |= INVALID_STREET;
+            }
+            if (!isValidNotNull(city)) {
+                errors |= INVALID_CITY;
+            }
+            if (!isValidNotNull(state)) {
+                errors |= INVALID_STATE;
+            }
+            if (!isValidPinCode(zip)) {
+                errors |= INVALID_ZIP;
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Names the fields flagged in an error code.
+     *
+     * @param errors - INVALID_ bits returned by {@link #validateEmployee}.
+     * @return the field names separated by commas, empty when there is no error.
+     */
+    public static String describeErrors(int errors) {
+        StringBuilder fields = new StringBuilder();
+        for (int i = 0; i < FIELDS.length; i++) {
+            if ((errors & 1 << i) != 0) {
+                fields.append(fields.length() == 0 ? "" : ", ").append(FIELDS[i]);
+            }
         }
-        return false;
+        return fields.toString();
+    }
+
+    // [A-za-z] also spans the six symbols between Z and a, which the address pattern kept
+    private static boolean isLocalChar(char c) {
+        return (c >= 'A' && c <= 'z') || (c >= '0' && c <= '9') || c == '.' || c == '%' || c == '-';
+    }
+
+    private static boolean isWordChar(char c) {
+        return isAsciiLetterOrDigit(c) || c == '_';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+
+    // The characters of \s
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
     }
-}
\ No newline at end of file
+}
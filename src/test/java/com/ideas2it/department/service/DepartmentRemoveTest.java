@@ -0,0 +1,29 @@
+package com.ideas2it.department.service;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.ideas2it.model.Department;
+
+/**
+ * Tests that a removed department cannot be removed again.
+ */
+public class DepartmentRemoveTest {
+
+    @Test
+    public void removingTwiceReportsTheDepartmentMissing() {
+        DepartmentService departmentService = new DepartmentServiceImpl();
+        departmentService.addDepartment("Engineering");
+        Department engineering = departmentService.getAllDepartments().get(0);
+        departmentService.removeDepartment(engineering.getId());
+        assertNull(departmentService.getDepartmentById(engineering.getId()));
+        try {
+            departmentService.removeDepartment(engineering.getId());
+            fail("Removed a removed department");
+        } catch (IllegalArgumentException e) {
+            assertNull(departmentService.getDepartmentById(engineering.getId()));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ideas2it.department.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ideas2it.department.dao.DepartmentRepository;
+import com.ideas2it.department.dao.DepartmentRepositoryImpl;
+import com.ideas2it.model.Department;
+
+/**
+ * Tests that the department snapshot hands out copies and sees departments written
+ * without this service, as another instance would write them.
+ */
+public class DepartmentSnapshotTest {
+    private static final DepartmentRepository departmentRepository = new DepartmentRepositoryImpl();
+    private static DepartmentService departmentService;
+
+    @BeforeClass
+    public static void loadSnapshot() {
+        System.setProperty("reference.snapshot.ttlSeconds", "1");
+        departmentService = new DepartmentServiceImpl();
+        departmentService.addDepartment("Engineering");
+        departmentService.addDepartment("Marketing");
+        departmentService.getAllDepartments();
+    }
+
+    @Test
+    public void readersGetCopiesWithoutARoster() {
+        Department engineering = departmentByName("Engineering");
+        engineering.setName("Changed by a reader");
+        Department read = departmentService.getDepartmentById(engineering.getId());
+        assertEquals("Engineering", read.getName());
+        assertNull(read.getEmployees());
+    }
+
+    @Test
+    public void findsADepartmentAddedElsewhereById() {
+        Department finance = new Department("Finance");
+        departmentRepository.addDepartment(finance);
+        assertEquals("Finance", departmentService.getDepartmentById(finance.getId()).getName());
+        assertTrue(names().contains("Finance"));
+    }
+
+    @Test
+    public void reloadsOnceTheSnapshotExpires() throws InterruptedException {
+        Department legal = new Department("Legal");
+        departmentRepository.addDepartment(legal);
+        Department sales = new Department("Sales");
+        departmentRepository.addDepartment(sales);
+        departmentService.removeDepartment(sales.getId());
+        departmentRepository.updateDepartment(renamed(departmentByName("Marketing"), "Brand"));
+        Thread.sleep(1100);
+        assertTrue(names().contains("Legal"));
+        assertTrue(names().contains("Brand"));
+        assertNull(departmentService.getDepartmentById(sales.getId()));
+    }
+
+    private static Department renamed(Department department, String name) {
+        Department stored = departmentRepository.findDepartmentById(department.getId());
+        stored.setName(name);
+        return stored;
+    }
+
+    private static Department departmentByName(String name) {
+        return departmentService.getAllDepartments().stream().filter(department -> department.getName().equals(name))
+                                .findFirst().orElse(null);
+    }
+
+    private static Set<String> names() {
+        return departmentService.getAllDepartments().stream().map(Department::getName).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,215 @@
+package com.ideas2it.employee.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ideas2it.department.dao.DepartmentRepositoryImpl;
+import com.ideas2it.model.Address;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.EmployeeFilter;
+import com.ideas2it.model.Page;
+import com.ideas2it.model.Sport;
+import com.ideas2it.sports.dao.SportRepositoryImpl;
+
+/**
+ * Tests the generated filter queries against the same filters evaluated in memory, over
+ * employees with and without addresses, sports and active flags, and with repeated names
+ * and birth dates so the keyset pages have ties to break.
+ */
+public class EmployeeFilterQueryTest {
+    private static final EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
+    private static final String[] NAMES = {"Ann", "Bob", "Cara", "Dev"};
+    private static final String[] CITIES = {"Chennai", "Madurai"};
+    private static final String[] STATES = {"TN", "KA"};
+    private static final String[] ZIPS = {"600001", "600101", "641001", "60%001", "6_0001"};
+    private static final int EMPLOYEES = 120;
+    private static final int PAGE_SIZE = 7;
+    private static final List<Row> rows = new ArrayList<>();
+    private static final int[] departmentIds = new int[2];
+    private static final int[] sportIds = new int[2];
+
+    /**
+     * What the test stored for one employee.
+     */
+    private static final class Row {
+        private int id;
+        private String name;
+        private LocalDate dob;
+        private int departmentId;
+        private Address address;
+        private Set<Integer> sports = new HashSet<>();
+        private boolean active = true;
+    }
+
+    @BeforeClass
+    public static void storeEmployees() {
+        Random random = new Random(42);
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < departmentIds.length; i++) {
+            Department department = new Department("Department " + i);
+            new DepartmentRepositoryImpl().addDepartment(department);
+            departments.add(department);
+            departmentIds[i] = department.getId();
+        }
+        for (int i = 0; i < sportIds.length; i++) {
+            Sport sport = new Sport("Sport " + i);
+            new SportRepositoryImpl().addSport(sport);
+            sportIds[i] = sport.getId();
+        }
+        LocalDate today = LocalDate.now();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Row row = new Row();
+            row.name = NAMES[random.nextInt(NAMES.length)];
+            // Birthdays on and around the age boundaries, with repeats
+            row.dob = today.minusYears(20 + random.nextInt(30)).plusDays(random.nextInt(3) - 1);
+            Department department = departments.get(random.nextInt(departments.size()));
+            row.departmentId = department.getId();
+            if (random.nextInt(5) > 0) {
+                row.address = new Address("Main Street", CITIES[random.nextInt(CITIES.length)],
+                                          STATES[random.nextInt(STATES.length)], ZIPS[random.nextInt(ZIPS.length)]);
+            }
+            rows.add(row);
+            employees.add(new Employee(row.name, row.dob, department, "employee" + i + "@example.com", row.address));
+        }
+        employeeRepository.addEmployees(employees);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            rows.get(i).id = employees.get(i).getId();
+        }
+        for (int sportId : sportIds) {
+            List<Integer> players = new ArrayList<>();
+            for (Row row : rows) {
+                if (random.nextBoolean()) {
+                    row.sports.add(sportId);
+                    players.add(row.id);
+                }
+            }
+            employeeRepository.addSportToEmployees(sportId, players);
+        }
+        for (Row row : rows) {
+            if (random.nextInt(6) == 0) {
+                employeeRepository.deleteEmployee(row.id);
+                row.active = false;
+            }
+        }
+    }
+
+    @Test
+    public void everyActiveEmployeeWithoutConditions() {
+        assertMatches(EmployeeFilter.activeEmployees());
+    }
+
+    @Test
+    public void randomFiltersMatchTheirEvaluationInMemory() {
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            EmployeeFilter filter = EmployeeFilter.activeEmployees();
+            if (random.nextInt(3) == 0) {
+                filter = filter.inDepartment(departmentIds[random.nextInt(departmentIds.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                filter = filter.playing(sportIds[random.nextInt(sportIds.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                int minAge = 20 + random.nextInt(30);
+                filter = filter.agedBetween(random.nextBoolean() ? minAge : null,
+                                            random.nextBoolean() ? minAge + random.nextInt(10) : null);
+            }
+            if (random.nextInt(4) == 0) {
+                filter = filter.inCity(CITIES[random.nextInt(CITIES.length)]);
+            }
+            if (random.nextInt(4) == 0) {
+                filter = filter.inState(STATES[random.nextInt(STATES.length)]);
+            }
+            if (random.nextInt(4) == 0) {
+                filter = filter.withZipStartingWith(new String[] {"60", "600", "6", "60%", "6_"}[random.nextInt(5)]);
+            }
+            if (random.nextInt(4) == 0) {
+                filter = filter.withActive(random.nextBoolean() ? null : Boolean.FALSE);
+            }
+            filter = filter.sortedBy(EmployeeFilter.Sort.values()[random.nextInt(3)], random.nextBoolean());
+            assertMatches(filter);
+        }
+    }
+
+    @Test
+    public void zipPrefixWildcardsAreLiteral() {
+        assertMatches(EmployeeFilter.activeEmployees().withZipStartingWith("60%"));
+        assertMatches(EmployeeFilter.activeEmployees().withZipStartingWith("6_"));
+        assertEquals(0, employeeRepository.countEmployees(EmployeeFilter.activeEmployees()
+                                                                        .withZipStartingWith("%")));
+    }
+
+    @Test
+    public void shapesIgnoreValues() {
+        assertEquals(EmployeeFilter.activeEmployees().inCity("Chennai").getShape(),
+                     EmployeeFilter.activeEmployees().inCity("Madurai").getShape());
+        assertNotEquals(EmployeeFilter.activeEmployees().inCity("Chennai").getShape(),
+                        EmployeeFilter.activeEmployees().inState("Chennai").getShape());
+        assertNotEquals(EmployeeFilter.activeEmployees().getShape(),
+                        EmployeeFilter.activeEmployees().sortedBy(EmployeeFilter.Sort.ID, true).getShape());
+    }
+
+    /**
+     * Reads every page of the filter and its count, and compares them with the rows the
+     * filter keeps in memory, in the filter's order.
+     */
+    private static void assertMatches(EmployeeFilter filter) {
+        List<Integer> expected = rows.stream().filter(matching(filter)).sorted(order(filter))
+                                     .map(row -> row.id).collect(Collectors.toList());
+        List<Integer> actual = new ArrayList<>();
+        Employee after = null;
+        Page<Employee> page;
+        do {
+            page = employeeRepository.findEmployees(filter, after, PAGE_SIZE);
+            page.getItems().forEach(employee -> actual.add(employee.getId()));
+            after = page.isEmpty() ? null : page.getItems().get(page.getItems().size() - 1);
+        } while (page.hasNext());
+        assertEquals(filter.toString(), expected, actual);
+        assertEquals(filter.toString(), expected.size(), employeeRepository.countEmployees(filter));
+    }
+
+    private static Predicate<Row> matching(EmployeeFilter filter) {
+        LocalDate today = LocalDate.now();
+        return row -> (filter.getDepartmentId() == null || filter.getDepartmentId() == row.departmentId)
+                && (filter.getSportId() == null || row.sports.contains(filter.getSportId()))
+                && (filter.getMinAge() == null || !row.dob.isAfter(today.minusYears(filter.getMinAge())))
+                && (filter.getMaxAge() == null || row.dob.isAfter(today.minusYears(filter.getMaxAge() + 1L)))
+                && (filter.getCity() == null || (row.address != null && filter.getCity().equals(row.address.getCity())))
+                && (filter.getState() == null
+                    || (row.address != null && filter.getState().equals(row.address.getState())))
+                && (filter.getZipPrefix() == null
+                    || (row.address != null && row.address.getZip().startsWith(filter.getZipPrefix())))
+                && (filter.getActive() == null || filter.getActive() == row.active);
+    }
+
+    private static Comparator<Row> order(EmployeeFilter filter) {
+        Comparator<Row> order;
+        switch (filter.getSort()) {
+            case NAME:
+                order = Comparator.comparing((Row row) -> row.name).thenComparingInt(row -> row.id);
+                break;
+            case DOB:
+                order = Comparator.comparing((Row row) -> row.dob).thenComparingInt(row -> row.id);
+                break;
+            default:
+                order = Comparator.comparingInt(row -> row.id);
+                break;
+        }
+        return filter.isDescending() ? order.reversed() : order;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ideas2it.employee.dao;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+
+import com.ideas2it.department.dao.DepartmentRepositoryImpl;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Sport;
+import com.ideas2it.sports.dao.SportRepositoryImpl;
+import com.ideas2it.utilities.HibernateConnection;
+
+/**
+ * Tests that shutting down writes the sport membership changes still queued before the
+ * connections close.
+ */
+public class SportMembershipWriterCloseTest {
+
+    @Test
+    public void shutdownWritesQueuedChanges() throws Exception {
+        // A group would otherwise stay open for a minute
+        System.setProperty("membership.writeBehind.flushMillis", "60000");
+        Department department = new Department("Engineering");
+        new DepartmentRepositoryImpl().addDepartment(department);
+        Sport sport = new Sport("Chess");
+        new SportRepositoryImpl().addSport(sport);
+        EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
+        List<CompletableFuture<Void>> changes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Employee employee = new Employee("Employee", LocalDate.of(1990, 1, 1), department,
+                                             "employee" + i + "@example.com", null);
+            employeeRepository.addEmployee(employee);
+            changes.add(employeeRepository.queueSportChange(employee.getId(), sport.getId(), true));
+        }
+        Thread.sleep(200);
+        assertTrue(changes.stream().noneMatch(CompletableFuture::isDone));
+
+        HibernateConnection.shutdown();
+        for (CompletableFuture<Void> change : changes) {
+            assertTrue(change.isDone());
+            assertFalse(change.isCompletedExceptionally());
+        }
+        try {
+            employeeRepository.queueSportChange(1, sport.getId(), true).get();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            return;
+        }
+        throw new AssertionError("Queued a change after shutdown");
+    }
+}
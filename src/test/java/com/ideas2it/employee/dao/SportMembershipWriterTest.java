@@ -0,0 +1,131 @@
+package com.ideas2it.employee.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ideas2it.department.dao.DepartmentRepositoryImpl;
+import com.ideas2it.exceptions.EmployeeException;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Sport;
+import com.ideas2it.sports.dao.SportRepository;
+import com.ideas2it.sports.dao.SportRepositoryImpl;
+
+/**
+ * Tests that a change the database rejects only fails itself, not the rest of its group.
+ * Groups are held open long enough for every change a test queues to share one.
+ */
+public class SportMembershipWriterTest {
+    private static final long TIMEOUT_SECONDS = 30;
+    private static final int MISSING_SPORT_ID = 999_999;
+    private static final EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
+    private static final SportRepository sportRepository = new SportRepositoryImpl();
+    private static Department department;
+    private static int emailCount;
+
+    @BeforeClass
+    public static void holdGroupsOpen() {
+        System.setProperty("membership.writeBehind.flushMillis", "300");
+        department = new Department("Engineering");
+        new DepartmentRepositoryImpl().addDepartment(department);
+    }
+
+    @Test
+    public void missingSportFailsOnlyItsChange() throws Exception {
+        int sportId = addSport("Chess");
+        List<Integer> employeeIds = addEmployees(10);
+        List<CompletableFuture<Void>> changes = new ArrayList<>();
+        for (int employeeId : employeeIds) {
+            changes.add(employeeRepository.queueSportChange(employeeId, sportId, true));
+        }
+        CompletableFuture<Void> bad = employeeRepository.queueSportChange(employeeIds.get(3), MISSING_SPORT_ID, true);
+        for (CompletableFuture<Void> change : changes) {
+            change.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        assertTrue(causeOf(bad) instanceof EmployeeException);
+        assertEquals(Set.copyOf(employeeIds), playerIds(sportId));
+    }
+
+    @Test
+    public void changesOfAFailedPairFailTogether() throws Exception {
+        int sportId = addSport("Golf");
+        List<Integer> employeeIds = addEmployees(4);
+        List<CompletableFuture<Void>> bad = new ArrayList<>();
+        List<CompletableFuture<Void>> changes = new ArrayList<>();
+        for (int employeeId : employeeIds) {
+            changes.add(employeeRepository.queueSportChange(employeeId, sportId, true));
+            if (employeeId == employeeIds.get(1)) {
+                bad.add(employeeRepository.queueSportChange(employeeId, MISSING_SPORT_ID, false));
+                bad.add(employeeRepository.queueSportChange(employeeId, MISSING_SPORT_ID, true));
+            }
+        }
+        changes.add(employeeRepository.queueSportChange(employeeIds.get(2), sportId, false));
+        for (CompletableFuture<Void> change : changes) {
+            change.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        for (CompletableFuture<Void> change : bad) {
+            assertTrue(causeOf(change) instanceof EmployeeException);
+        }
+        assertEquals(Set.of(employeeIds.get(0), employeeIds.get(1), employeeIds.get(3)), playerIds(sportId));
+    }
+
+    @Test
+    public void missingEmployeeFailsOnlyItsChange() throws Exception {
+        int sportId = addSport("Tennis");
+        List<Integer> employeeIds = addEmployees(3);
+        List<CompletableFuture<Void>> changes = new ArrayList<>();
+        for (int employeeId : employeeIds) {
+            changes.add(employeeRepository.queueSportChange(employeeId, sportId, true));
+        }
+        CompletableFuture<Void> missing = employeeRepository.queueSportChange(Integer.MAX_VALUE, sportId, true);
+        for (CompletableFuture<Void> change : changes) {
+            change.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        assertTrue(causeOf(missing) instanceof IllegalArgumentException);
+        assertEquals(Set.copyOf(employeeIds), playerIds(sportId));
+    }
+
+    private static Throwable causeOf(CompletableFuture<Void> change) throws Exception {
+        try {
+            change.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+        fail("Change was written");
+        return null;
+    }
+
+    private static int addSport(String name) {
+        Sport sport = new Sport(name);
+        sportRepository.addSport(sport);
+        return sport.getId();
+    }
+
+    private static List<Integer> addEmployees(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            employees.add(new Employee("Employee", LocalDate.of(1990, 1, 1), department,
+                                       "employee" + emailCount++ + "@example.com", null));
+        }
+        employeeRepository.addEmployees(employees);
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+
+    private static Set<Integer> playerIds(int sportId) {
+        return sportRepository.getEmployeesBySportId(sportId).stream().map(Employee::getId)
+                              .collect(Collectors.toSet());
+    }
+}
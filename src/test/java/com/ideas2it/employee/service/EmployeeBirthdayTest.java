@@ -0,0 +1,153 @@
+package com.ideas2it.employee.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ideas2it.department.dao.DepartmentRepositoryImpl;
+import com.ideas2it.employee.dao.EmployeeRepository;
+import com.ideas2it.employee.dao.EmployeeRepositoryImpl;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
+import com.ideas2it.utilities.UnitOfWork;
+
+/**
+ * Tests the upcoming birthdays, including a window running past December 31st, which is
+ * read as two ranges of birthday keys.
+ */
+public class EmployeeBirthdayTest {
+    private static final EmployeeService employeeService = new EmployeeServiceImpl();
+    private static final LocalDate today = LocalDate.now();
+    private static final int daysToEndOfYear = (int) ChronoUnit.DAYS.between(today, today.withDayOfYear(
+            today.lengthOfYear()));
+    // Ends ten days into next year, or as close as the longest window allows
+    private static final int days = Math.min(364, daysToEndOfYear + 10);
+    private static final List<Integer> offsets = new ArrayList<>();
+    private static final List<Integer> ids = new ArrayList<>();
+
+    @BeforeClass
+    public static void storeEmployees() {
+        Department department = new Department("Engineering");
+        new DepartmentRepositoryImpl().addDepartment(department);
+        // Birthdays from yesterday to after the window, several on the same day, on either side of December 31st
+        int[] dayOffsets = {-1, 0, 0, 1, daysToEndOfYear - 1, daysToEndOfYear, daysToEndOfYear, daysToEndOfYear + 1,
+                            daysToEndOfYear + 1, daysToEndOfYear + 2, days - 1, days, days + 1, 0, daysToEndOfYear};
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < dayOffsets.length; i++) {
+            // A leap year keeps February 29th a birthday
+            LocalDate dob = today.plusDays(dayOffsets[i]).withYear(1988 + 4 * (i % 4));
+            offsets.add(dayOffsets[i]);
+            employees.add(new Employee("Employee", dob, department, "employee" + i + "@example.com", null));
+        }
+        EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
+        employeeRepository.addEmployees(employees);
+        for (Employee employee : employees) {
+            ids.add(employee.getId());
+        }
+        // Deleted employees have no upcoming birthdays
+        employeeRepository.deleteEmployee(ids.get(ids.size() - 1));
+        employeeRepository.deleteEmployee(ids.get(ids.size() - 2));
+    }
+
+    @Test
+    public void windowPastTheEndOfTheYear() {
+        assumeTrue("Today's window cannot reach next year", days > daysToEndOfYear);
+        for (int pageSize = 1; pageSize <= ids.size(); pageSize++) {
+            assertEquals("Page size " + pageSize, expected(days), readAll(days, pageSize));
+        }
+    }
+
+    @Test
+    public void windowWithinTheYear() {
+        assertEquals(expected(0), readAll(0, 2));
+        int withinYear = Math.min(daysToEndOfYear, 364);
+        for (int pageSize = 1; pageSize <= 4; pageSize++) {
+            assertEquals(expected(withinYear), readAll(withinYear, pageSize));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAWindowOfAYear() {
+        employeeService.getUpcomingBirthdays(365, null, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANegativeWindow() {
+        employeeService.getUpcomingBirthdays(-1, null, 10);
+    }
+
+    @Test
+    public void keysTheCursorByItsDateOfBirth() {
+        List<Integer> expected = expected(days);
+        assumeTrue(expected.size() > 2);
+        // A row stored before the birthday key column existed
+        Employee cursor = new EmployeeRepositoryImpl().findEmployeeById(expected.get(1));
+        setBirthdayKey(cursor.getId(), null);
+        try {
+            cursor = new EmployeeRepositoryImpl().findEmployeeById(expected.get(1));
+            assertNull(cursor.getBirthdayKey());
+            List<Integer> rest = new ArrayList<>();
+            employeeService.getUpcomingBirthdays(days, cursor, ids.size()).getItems()
+                           .forEach(employee -> rest.add(employee.getId()));
+            assertEquals(expected.subList(2, expected.size()), rest);
+        } finally {
+            setBirthdayKey(cursor.getId(), Employee.birthdayKey(cursor.getDob()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsACursorWithoutADateOfBirth() {
+        Employee cursor = new Employee();
+        cursor.setId(ids.get(0));
+        employeeService.getUpcomingBirthdays(days, cursor, 10);
+    }
+
+    /**
+     * Ids of the active employees with a birthday within the window, by how soon the
+     * birthday is, then by id.
+     */
+    private static List<Integer> expected(int window) {
+        List<int[]> matching = new ArrayList<>();
+        for (int i = 0; i < ids.size() - 2; i++) {
+            if (offsets.get(i) >= 0 && offsets.get(i) <= window) {
+                matching.add(new int[] {offsets.get(i), ids.get(i)});
+            }
+        }
+        matching.sort((first, second) -> first[0] != second[0] ? Integer.compare(first[0], second[0])
+                                                                : Integer.compare(first[1], second[1]));
+        List<Integer> expected = new ArrayList<>();
+        matching.forEach(match -> expected.add(match[1]));
+        return expected;
+    }
+
+    private static void setBirthdayKey(int id, Integer birthdayKey) {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            unitOfWork.getSession().createQuery("UPDATE Employee SET birthdayKey = :birthdayKey WHERE id = :id")
+                      .setParameter("birthdayKey", birthdayKey)
+                      .setParameter("id", id)
+                      .executeUpdate();
+            unitOfWork.commit();
+        }
+    }
+
+    private static List<Integer> readAll(int window, int pageSize) {
+        List<Integer> actual = new ArrayList<>();
+        Employee after = null;
+        Page<Employee> page;
+        do {
+            page = employeeService.getUpcomingBirthdays(window, after, pageSize);
+            page.getItems().forEach(employee -> actual.add(employee.getId()));
+            after = page.isEmpty() ? null : page.getItems().get(page.getItems().size() - 1);
+        } while (page.hasNext());
+        return actual;
+    }
+}
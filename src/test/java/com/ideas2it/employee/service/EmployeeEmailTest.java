@@ -0,0 +1,100 @@
+package com.ideas2it.employee.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.time.LocalDate;
+
+import javax.persistence.PersistenceException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ideas2it.department.service.DepartmentServiceImpl;
+import com.ideas2it.employee.dao.EmployeeRepositoryImpl;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+
+/**
+ * Tests that emails are looked up and kept unique ignoring case and surrounding spaces.
+ */
+public class EmployeeEmailTest {
+    private static EmployeeService employeeService;
+    private static Department department;
+
+    @BeforeClass
+    public static void storeEmployees() {
+        new DepartmentServiceImpl().addDepartment("Engineering");
+        employeeService = new EmployeeServiceImpl();
+        department = employeeService.getAllDepartment().get(0);
+        employeeService.addEmployee("Ann Lee", LocalDate.of(1990, 1, 1), "Ann.Lee@Example.com",
+                                    department.getId(), null);
+        employeeService.addEmployee("Bob Stone", LocalDate.of(1991, 2, 2), "bob@example.com",
+                                    department.getId(), null);
+        employeeService.addEmployee("Carl Berg", LocalDate.of(1992, 3, 3), "carl@example.com",
+                                    department.getId(), null);
+    }
+
+    @Test
+    public void findsEmployeesIgnoringCaseAndSpaces() {
+        assertEquals("Ann Lee", employeeService.findEmployeeByEmail("  ann.lee@EXAMPLE.com ").getName());
+        assertNull(employeeService.findEmployeeByEmail("ann.lee@example.org"));
+        assertNull(employeeService.findEmployeeByEmail(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void serviceRejectsAVariantOfAStoredEmail() {
+        employeeService.addEmployee("Ann Other", LocalDate.of(1990, 1, 1), "ann.lee@example.com ",
+                                    department.getId(), null);
+    }
+
+    @Test
+    public void databaseRejectsAVariantOfAStoredEmail() {
+        // Skips the service checks, as a second process or a concurrent writer would
+        try {
+            new EmployeeRepositoryImpl().addEmployee(new Employee("Ann Other", LocalDate.of(1990, 1, 1), department,
+                                                                  "ANN.LEE@example.com", null));
+            fail("Stored a variant of a stored email");
+        } catch (PersistenceException e) {
+            assertEquals("Ann Lee", employeeService.findEmployeeByEmail("ann.lee@example.com").getName());
+        }
+    }
+
+    @Test
+    public void updateKeepsTheEmailInAnotherCase() {
+        Employee bob = employeeService.findEmployeeByEmail("bob@example.com");
+        employeeService.updateEmployee(bob.getId(), "Bob Stone", bob.getDob(), "BOB@example.com",
+                                       department.getId(), null);
+        assertEquals("BOB@example.com", employeeService.getEmployeeById(bob.getId()).getEmailId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void updateRejectsAnEmailTakenByAnotherEmployee() {
+        Employee bob = employeeService.findEmployeeByEmail("bob@example.com");
+        employeeService.updateEmployee(bob.getId(), "Bob Stone", bob.getDob(), "ann.lee@example.COM",
+                                       department.getId(), null);
+    }
+
+    @Test
+    public void updateAcceptsAMissingEmail() {
+        Employee carl = employeeService.findEmployeeByEmail("carl@example.com");
+        employeeService.updateEmployee(carl.getId(), "Carl Berg", carl.getDob(), null, department.getId(), null);
+        assertNull(employeeService.getEmployeeById(carl.getId()).getEmailId());
+    }
+
+    @Test
+    public void findsAnEmailStoredWithoutTheService() {
+        // Stored as another instance would, unseen by this process's known email filter
+        new EmployeeRepositoryImpl().addEmployee(new Employee("Dan Cole", LocalDate.of(1993, 4, 4), department,
+                                                              "Dan.Cole@example.com", null));
+        assertEquals("Dan Cole", employeeService.findEmployeeByEmail("dan.cole@EXAMPLE.com").getName());
+        try {
+            employeeService.addEmployee("Dan Other", LocalDate.of(1993, 4, 4), "dan.cole@example.com",
+                                        department.getId(), null);
+            fail("Stored an email taken without the service");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Dan Cole", employeeService.findEmployeeByEmail("dan.cole@example.com").getName());
+        }
+    }
+}
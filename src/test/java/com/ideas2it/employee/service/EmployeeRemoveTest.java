@@ -0,0 +1,46 @@
+package com.ideas2it.employee.service;
+
+import java.time.LocalDate;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ideas2it.department.service.DepartmentServiceImpl;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+import com.ideas2it.sports.service.SportServiceImpl;
+
+/**
+ * Tests that a removed employee is treated as missing.
+ */
+public class EmployeeRemoveTest {
+    private static EmployeeService employeeService;
+    private static Department department;
+
+    @BeforeClass
+    public static void storeDepartment() {
+        new DepartmentServiceImpl().addDepartment("Engineering");
+        new SportServiceImpl().addSport("Chess");
+        employeeService = new EmployeeServiceImpl();
+        department = employeeService.getAllDepartment().get(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void removingTwiceReportsTheEmployeeMissing() {
+        Employee ann = addEmployee("Ann Lee", "ann@example.com");
+        employeeService.removeEmployee(ann.getId());
+        employeeService.removeEmployee(ann.getId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void removedEmployeeCannotJoinASport() {
+        Employee bob = addEmployee("Bob Stone", "bob@example.com");
+        employeeService.removeEmployee(bob.getId());
+        employeeService.addSportToEmployee(bob.getId(), employeeService.getAllSports().iterator().next().getId());
+    }
+
+    private static Employee addEmployee(String name, String emailId) {
+        employeeService.addEmployee(name, LocalDate.of(1990, 1, 1), emailId, department.getId(), null);
+        return employeeService.findEmployeeByEmail(emailId);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ideas2it.employee.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+
+import com.ideas2it.employee.dao.EmployeeRepository;
+import com.ideas2it.model.EmployeeSearchHit;
+
+/**
+ * Tests that employees changed while EmployeeSearchIndex is first built are not lost.
+ * Kept apart from EmployeeSearchIndexTest, it needs an index that is not built yet.
+ */
+public class EmployeeSearchIndexLoadTest {
+
+    @Test
+    public void changesCommittedDuringTheBuildAreKept() throws Exception {
+        EmployeeSearchIndex index = EmployeeSearchIndex.getInstance();
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EmployeeRepository repository = SearchHitRepository.of(consumer -> {
+            consumer.accept(new EmployeeSearchHit(1, "Ann Lee", "ann@example.com"));
+            consumer.accept(new EmployeeSearchHit(2, "Bob Stone", "bob@example.com"));
+            building.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 2;
+        });
+        CompletableFuture<Void> build = CompletableFuture.runAsync(() -> index.ensureLoaded(repository));
+        assertTrue(building.await(10, TimeUnit.SECONDS));
+
+        // Committed after the build read these rows, before it finished
+        CompletableFuture<Void> changes = CompletableFuture.runAsync(() -> {
+            index.put(new EmployeeSearchHit(3, "Carl Berg", "carl@example.com"));
+            index.put(new EmployeeSearchHit(1, "Ann Moss", "ann@example.com"));
+            index.remove(2);
+        });
+        try {
+            changes.get(200, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Waiting for the build, as it should
+        }
+        release.countDown();
+        build.join();
+        changes.join();
+
+        assertEquals(1, index.search("carl", 10).size());
+        assertEquals(1, index.search("ann moss", 10).size());
+        assertTrue(index.search("lee", 10).isEmpty());
+        assertTrue(index.search("bob", 10).isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+package com.ideas2it.employee.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ideas2it.model.EmployeeSearchHit;
+
+/**
+ * Unit tests for EmployeeSearchIndex.
+ */
+public class EmployeeSearchIndexTest {
+    private static final EmployeeSearchIndex index = EmployeeSearchIndex.getInstance();
+
+    @BeforeClass
+    public static void buildIndex() {
+        List<EmployeeSearchHit> employees = Arrays.asList(
+                new EmployeeSearchHit(1, "Ann Lee", "ann.lee@example.com"),
+                new EmployeeSearchHit(2, "Annabel Jones", "jones42@corp.in"),
+                new EmployeeSearchHit(3, "Bob O'Neil", "bob@example.com"),
+                new EmployeeSearchHit(4, "\u00c9lodie Durand", "elodie@example.fr"));
+        index.ensureLoaded(SearchHitRepository.of(consumer -> {
+            employees.forEach(consumer);
+            return employees.size();
+        }));
+    }
+
+    @Test
+    public void everyWordMatchesAsAPrefix() {
+        assertEquals(Arrays.asList(1, 2), ids(index.search("ann", 10)));
+        assertEquals(Arrays.asList(2), ids(index.search("ANN jon", 10)));
+        assertEquals(Arrays.asList(1, 3), ids(index.search("example.com", 10)));
+        assertEquals(Arrays.asList(4), ids(index.search("\u00e9lo", 10)));
+    }
+
+    @Test
+    public void digitsAreSeparateTokens() {
+        assertEquals(Arrays.asList(2), ids(index.search("jones", 10)));
+        assertEquals(Arrays.asList(2), ids(index.search("4", 10)));
+        assertTrue(index.search("jones42x", 10).isEmpty());
+    }
+
+    @Test
+    public void queriesWithoutWordsMatchNothing() {
+        assertTrue(index.search("", 10).isEmpty());
+        assertTrue(index.search("@ .", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+
+    @Test
+    public void resultsAreLimited() {
+        assertEquals(Arrays.asList(1), ids(index.search("ann", 1)));
+    }
+
+    @Test
+    public void putReplacesAndRemoveDrops() {
+        index.put(new EmployeeSearchHit(5, "Carl Nilsson", "carl@example.se"));
+        assertEquals(Arrays.asList(5), ids(index.search("nil", 10)));
+
+        index.put(new EmployeeSearchHit(5, "Carl Berg", "carl@example.se"));
+        assertTrue(index.search("nil", 10).isEmpty());
+        assertEquals(Arrays.asList(5), ids(index.search("carl berg", 10)));
+
+        index.remove(5);
+        assertTrue(index.search("carl", 10).isEmpty());
+    }
+
+    private static List<Integer> ids(List<EmployeeSearchHit> hits) {
+        List<Integer> ids = new ArrayList<>();
+        hits.forEach(hit -> ids.add(hit.getId()));
+        return ids;
+    }
+}
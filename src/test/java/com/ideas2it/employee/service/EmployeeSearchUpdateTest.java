@@ -0,0 +1,54 @@
+package com.ideas2it.employee.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ideas2it.department.service.DepartmentServiceImpl;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+
+/**
+ * Tests that updating an employee keeps the search index in step with its active flag.
+ */
+public class EmployeeSearchUpdateTest {
+    private static EmployeeService employeeService;
+    private static Department department;
+
+    @BeforeClass
+    public static void storeDepartment() {
+        new DepartmentServiceImpl().addDepartment("Engineering");
+        employeeService = new EmployeeServiceImpl();
+        department = employeeService.getAllDepartment().get(0);
+    }
+
+    @Test
+    public void updatedActiveEmployeeIsSearchable() {
+        Employee ann = addEmployee("Ann Lee", "ann@corp.in");
+        employeeService.updateEmployee(ann.getId(), "Annabel Lee", ann.getDob(), "annabel@example.com",
+                                       department.getId(), null);
+
+        assertEquals(ann.getId(), employeeService.search("annabel", 10).get(0).getId());
+        assertTrue(employeeService.search("corp", 10).isEmpty());
+    }
+
+    @Test
+    public void updatedRemovedEmployeeStaysOutOfSearch() {
+        Employee bob = addEmployee("Bob Stone", "bob@example.com");
+        employeeService.removeEmployee(bob.getId());
+        employeeService.updateEmployee(bob.getId(), "Bobby Stone", bob.getDob(), "bobby@example.com",
+                                       department.getId(), null);
+
+        assertTrue(employeeService.search("bobby", 10).isEmpty());
+        assertTrue(employeeService.search("stone", 10).isEmpty());
+    }
+
+    private static Employee addEmployee(String name, String emailId) {
+        employeeService.addEmployee(name, LocalDate.of(1990, 1, 1), emailId, department.getId(), null);
+        return employeeService.findEmployeeByEmail(emailId);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ideas2it.employee.service;
+
+import java.lang.reflect.Proxy;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import com.ideas2it.employee.dao.EmployeeRepository;
+import com.ideas2it.model.EmployeeSearchHit;
+
+/**
+ * EmployeeRepository stub for the in-memory indexes: it only streams search hits,
+ * any other call fails.
+ */
+final class SearchHitRepository {
+
+    private SearchHitRepository() {
+    }
+
+    /**
+     * @param forEachSearchHit - streams the hits to the consumer and returns how many it sent.
+     */
+    @SuppressWarnings("unchecked")
+    static EmployeeRepository of(ToLongFunction<Consumer<EmployeeSearchHit>> forEachSearchHit) {
+        return (EmployeeRepository) Proxy.newProxyInstance(
+                EmployeeRepository.class.getClassLoader(), new Class<?>[] {EmployeeRepository.class},
+                (proxy, method, arguments) -> {
+                    if (method.getName().equals("forEachSearchHit")) {
+                        return forEachSearchHit.applyAsLong((Consumer<EmployeeSearchHit>) arguments[0]);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,41 @@
+package com.ideas2it.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for BulkInsertResult.
+ */
+public class BulkInsertResultTest {
+
+    @Test
+    public void chunksNumberConsecutiveRows() {
+        BulkInsertResult result = new BulkInsertResult();
+        result.addChunk(0, 3, null);
+        result.addChunk(3, 2, "constraint violation");
+
+        assertArrayEquals(new int[] {3, 4}, result.getChunks().get(1).getRowIndexes());
+        assertEquals(3, result.getInserted());
+        assertEquals(2, result.getFailed());
+    }
+
+    @Test
+    public void mapRowsTranslatesFilteredPositionsToInputPositions() {
+        BulkInsertResult result = new BulkInsertResult();
+        result.addChunk(0, 2, null);
+        result.addChunk(2, 2, "constraint violation");
+        result.addRejected(1, "Invalid email");
+        result.addRejected(4, "Email already exists: a@example.com");
+
+        result.mapRows(new int[] {0, 2, 3, 5});
+
+        assertArrayEquals(new int[] {0, 2}, result.getChunks().get(0).getRowIndexes());
+        assertEquals(3, result.getChunks().get(1).getFirstRow());
+        assertArrayEquals(new int[] {3, 5}, result.getChunks().get(1).getRowIndexes());
+        assertEquals(2, result.getRejected());
+        assertEquals(4, result.getRejections().get(1).getRow());
+        assertEquals("Invalid email", result.getRejections().get(0).getReason());
+    }
+}
@@ -0,0 +1,65 @@
+package com.ideas2it.sports.dao;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.ideas2it.department.dao.DepartmentRepositoryImpl;
+import com.ideas2it.employee.dao.EmployeeRepository;
+import com.ideas2it.employee.dao.EmployeeRepositoryImpl;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportFilter;
+
+/**
+ * Tests that memberships committed while SportMembershipIndex is first loaded are not lost.
+ * Kept apart from SportMembershipIndexTest, it needs an index that is not loaded yet.
+ */
+public class SportMembershipIndexLoadTest {
+    private static final int EMPLOYEES = 5_000;
+
+    @Test
+    public void changesCommittedDuringTheFirstLoadAreKept() throws Exception {
+        Department department = new Department("Engineering");
+        new DepartmentRepositoryImpl().addDepartment(department);
+        Sport loaded = new Sport("Loaded");
+        Sport changed = new Sport("Changed");
+        SportRepository sportRepository = new SportRepositoryImpl();
+        sportRepository.addSport(loaded);
+        sportRepository.addSport(changed);
+        EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Player", LocalDate.of(1990, 1, 1), department,
+                                       "player" + i + "@example.com", null));
+        }
+        employeeRepository.addEmployees(employees);
+        List<Integer> ids = new ArrayList<>();
+        employees.forEach(employee -> ids.add(employee.getId()));
+        // Enough memberships for the load to take a while
+        employeeRepository.addSportToEmployees(loaded.getId(), ids);
+
+        AtomicBoolean loading = new AtomicBoolean(true);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; loading.get() && i < EMPLOYEES; i++) {
+                employeeRepository.addSportToEmployee(ids.get(i), changed.getId());
+            }
+        });
+        SportMembershipIndex.getInstance().evaluate(SportFilter.everyone());
+        loading.set(false);
+        writer.join();
+
+        int[] stored = sportRepository.getEmployeesBySportId(changed.getId()).stream()
+                                      .mapToInt(Employee::getId).sorted().toArray();
+        assertArrayEquals(stored, SportMembershipIndex.getInstance()
+                                                      .evaluate(SportFilter.everyone().playingAll(changed.getId()))
+                                                      .toArray());
+    }
+}
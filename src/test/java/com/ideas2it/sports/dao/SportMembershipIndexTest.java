@@ -0,0 +1,119 @@
+package com.ideas2it.sports.dao;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ideas2it.department.dao.DepartmentRepositoryImpl;
+import com.ideas2it.employee.dao.EmployeeRepository;
+import com.ideas2it.employee.dao.EmployeeRepositoryImpl;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportFilter;
+
+/**
+ * Tests SportMembershipIndex against memberships stored in the test database:
+ * employee 0 plays A and B, 1 plays A, 2 plays B and C, 3 plays C, 4 only played D,
+ * removed before the index loads, and 5 played A before leaving.
+ */
+public class SportMembershipIndexTest {
+    private static final SportMembershipIndex index = SportMembershipIndex.getInstance();
+    private static final EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
+    private static Department department;
+    private static int a;
+    private static int b;
+    private static int c;
+    private static int[] employeeIds;
+
+    @BeforeClass
+    public static void storeMemberships() {
+        department = new Department("Engineering");
+        new DepartmentRepositoryImpl().addDepartment(department);
+        a = addSport("A");
+        b = addSport("B");
+        c = addSport("C");
+        int d = addSport("D");
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            employees.add(employee("employee" + i));
+        }
+        employeeRepository.addEmployees(employees);
+        employeeIds = employees.stream().mapToInt(Employee::getId).toArray();
+        employeeRepository.addSportToEmployees(a, Arrays.asList(employeeIds[0], employeeIds[1], employeeIds[5]));
+        employeeRepository.addSportToEmployees(b, Arrays.asList(employeeIds[0], employeeIds[2]));
+        employeeRepository.addSportToEmployees(c, Arrays.asList(employeeIds[2], employeeIds[3]));
+        employeeRepository.addSportToEmployees(d, Arrays.asList(employeeIds[2], employeeIds[4]));
+        employeeRepository.deleteEmployee(employeeIds[5]);
+        new SportRepositoryImpl().deleteSport(d);
+    }
+
+    @Test
+    public void everyoneMatchesActiveEmployeesOnly() {
+        assertMatches(SportFilter.everyone(), 0, 1, 2, 3, 4);
+    }
+
+    @Test
+    public void playingAllIntersectsSports() {
+        assertMatches(SportFilter.everyone().playingAll(a, b), 0);
+    }
+
+    @Test
+    public void playingAnyUnitesSports() {
+        assertMatches(SportFilter.everyone().playingAny(a, c), 0, 1, 2, 3);
+    }
+
+    @Test
+    public void notPlayingExcludesSports() {
+        assertMatches(SportFilter.everyone().playingAny(b).notPlaying(c), 0);
+        assertMatches(SportFilter.everyone().notPlaying(a, b), 3, 4);
+    }
+
+    @Test
+    public void playingNoneMatchesEmployeesWithoutSports() {
+        assertMatches(SportFilter.everyone().playingNone(), 4);
+    }
+
+    @Test
+    public void committedChangesReachTheLoadedIndex() {
+        index.evaluate(SportFilter.everyone());
+        Employee employee = employee("newcomer");
+        employeeRepository.addEmployee(employee);
+        int id = employee.getId();
+
+        employeeRepository.addSportToEmployee(id, c);
+        assertArrayEquals(new int[] {employeeIds[2], employeeIds[3], id},
+                          index.evaluate(SportFilter.everyone().playingAll(c)).toArray());
+
+        employeeRepository.removeSportFromEmployee(id, c);
+        assertArrayEquals(new int[] {employeeIds[2], employeeIds[3]},
+                          index.evaluate(SportFilter.everyone().playingAll(c)).toArray());
+
+        employeeRepository.deleteEmployee(id);
+        assertMatches(SportFilter.everyone(), 0, 1, 2, 3, 4);
+    }
+
+    private static void assertMatches(SportFilter filter, int... employees) {
+        int[] expected = new int[employees.length];
+        for (int i = 0; i < employees.length; i++) {
+            expected[i] = employeeIds[employees[i]];
+        }
+        assertArrayEquals(filter.toString(), expected, index.evaluate(filter).toArray());
+    }
+
+    private static int addSport(String name) {
+        Sport sport = new Sport(name);
+        new SportRepositoryImpl().addSport(sport);
+        return sport.getId();
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(name, LocalDate.of(1990, 1, 1), department, name + "@example.com", null);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ideas2it.sports.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ideas2it.department.dao.DepartmentRepositoryImpl;
+import com.ideas2it.employee.dao.EmployeeRepository;
+import com.ideas2it.employee.dao.EmployeeRepositoryImpl;
+import com.ideas2it.model.Department;
+import com.ideas2it.model.Employee;
+import com.ideas2it.model.Page;
+import com.ideas2it.model.Sport;
+import com.ideas2it.model.SportFilter;
+import com.ideas2it.sports.dao.SportRepositoryImpl;
+import com.ideas2it.utilities.UnitOfWork;
+
+/**
+ * Tests paging through the employees matching a sport filter while the membership index
+ * lags behind the database, and the employees playing none once their sport is removed.
+ */
+public class SportFilterPageTest {
+    private static final EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
+    private static final SportService sportService = new SportServiceImpl();
+    private static Department department;
+    private static int emailCount;
+
+    @BeforeClass
+    public static void storeDepartment() {
+        department = new Department("Engineering");
+        new DepartmentRepositoryImpl().addDepartment(department);
+    }
+
+    @Test
+    public void pagesSkipEmployeesDeactivatedBehindTheIndex() {
+        int chess = addSport("Chess");
+        List<Integer> players = addEmployees(10);
+        employeeRepository.addSportToEmployees(chess, players);
+        SportFilter filter = SportFilter.everyone().playingAll(chess);
+        sportService.countEmployees(filter);
+        // Deactivated as another instance would, the index of this process still holds them
+        deactivate(players.get(2), players.get(3), players.get(4), players.get(9));
+
+        List<Integer> expected = new ArrayList<>(players);
+        expected.removeAll(Arrays.asList(players.get(2), players.get(3), players.get(4), players.get(9)));
+        List<Integer> read = new ArrayList<>();
+        int afterId = 0;
+        Page<Employee> page;
+        do {
+            page = sportService.getEmployeesPage(filter, afterId, 3);
+            assertTrue(page.getItems().size() == 3 || !page.hasNext());
+            page.getItems().forEach(employee -> read.add(employee.getId()));
+            afterId = page.isEmpty() ? afterId : read.get(read.size() - 1);
+        } while (page.hasNext());
+        assertEquals(expected, read);
+    }
+
+    @Test
+    public void formerPlayersOfARemovedSportPlayNone() {
+        int golf = addSport("Golf");
+        int tennis = addSport("Tennis");
+        List<Integer> employees = addEmployees(3);
+        employeeRepository.addSportToEmployees(golf, employees.subList(0, 2));
+        employeeRepository.addSportToEmployees(tennis, employees.subList(1, 3));
+        assertFalse(playingNone().contains(employees.get(0)));
+
+        sportService.removeSport(golf);
+        assertTrue(playingNone().contains(employees.get(0)));
+        assertFalse(playingNone().contains(employees.get(1)));
+        assertFalse(playingNone().contains(employees.get(2)));
+    }
+
+    private static List<Integer> playingNone() {
+        return Arrays.stream(sportService.getEmployeeIds(SportFilter.everyone().playingNone())).boxed()
+                     .collect(Collectors.toList());
+    }
+
+    private static void deactivate(Integer... employeeIds) {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            unitOfWork.getSession().createQuery("UPDATE Employee SET isActive = false WHERE id IN (:ids)")
+                      .setParameterList("ids", Arrays.asList(employeeIds))
+                      .executeUpdate();
+            unitOfWork.commit();
+        }
+    }
+
+    private static int addSport(String name) {
+        Sport sport = new Sport(name);
+        new SportRepositoryImpl().addSport(sport);
+        return sport.getId();
+    }
+
+    private static List<Integer> addEmployees(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            employees.add(new Employee("Employee", LocalDate.of(1990, 1, 1), department,
+                                       "employee" + emailCount++ + "@example.com", null));
+        }
+        employeeRepository.addEmployees(employees);
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,29 @@
+package com.ideas2it.sports.service;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.ideas2it.model.Sport;
+
+/**
+ * Tests that a removed sport cannot be removed again.
+ */
+public class SportRemoveTest {
+
+    @Test
+    public void removingTwiceReportsTheSportMissing() {
+        SportService sportService = new SportServiceImpl();
+        sportService.addSport("Chess");
+        Sport chess = sportService.getAllSports().iterator().next();
+        sportService.removeSport(chess.getId());
+        assertNull(sportService.getSportById(chess.getId()));
+        try {
+            sportService.removeSport(chess.getId());
+            fail("Removed a removed sport");
+        } catch (IllegalArgumentException e) {
+            assertNull(sportService.getSportById(chess.getId()));
+        }
+    }
+}
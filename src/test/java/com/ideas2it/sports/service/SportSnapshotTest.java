@@ -0,0 +1,51 @@
+package com.ideas2it.sports.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ideas2it.model.Sport;
+import com.ideas2it.sports.dao.SportRepository;
+import com.ideas2it.sports.dao.SportRepositoryImpl;
+
+/**
+ * Tests that the sport snapshot hands out copies and sees sports written without this
+ * service, as another instance would write them.
+ */
+public class SportSnapshotTest {
+    private static final SportRepository sportRepository = new SportRepositoryImpl();
+    private static SportService sportService;
+
+    @BeforeClass
+    public static void loadSnapshot() {
+        System.setProperty("reference.snapshot.ttlSeconds", "1");
+        sportService = new SportServiceImpl();
+        sportService.addSport("Chess");
+        sportService.getAllSports();
+    }
+
+    @Test
+    public void readersGetCopiesWithoutARoster() {
+        Sport chess = sportService.getAllSports().iterator().next();
+        chess.setName("Changed by a reader");
+        chess.setIsActive(false);
+        Sport read = sportService.getSportById(chess.getId());
+        assertEquals("Chess", read.getName());
+        assertTrue(read.getIsActive());
+        assertNull(read.getEmployees());
+    }
+
+    @Test
+    public void findsASportAddedElsewhere() throws InterruptedException {
+        Sport golf = new Sport("Golf");
+        sportRepository.addSport(golf);
+        assertEquals("Golf", sportService.getSportById(golf.getId()).getName());
+        Sport tennis = new Sport("Tennis");
+        sportRepository.addSport(tennis);
+        Thread.sleep(1100);
+        assertTrue(sportService.getAllSports().stream().anyMatch(sport -> sport.getName().equals("Tennis")));
+    }
+}
@@ -0,0 +1,67 @@
+package com.ideas2it.utilities;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for BloomFilter.
+ */
+public class BloomFilterTest {
+
+    @Test
+    public void addedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("employee" + i + "@example.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("employee" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    public void falsePositivesStayNearTheRequestedRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("employee" + i + "@example.com");
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("stranger" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue("false positives: " + falsePositives, falsePositives < 2_000);
+    }
+
+    @Test
+    public void valuesAddedConcurrentlyAreAllFound() {
+        BloomFilter filter = new BloomFilter(50_000, 0.01);
+        IntStream.range(0, 50_000).parallel().forEach(i -> filter.add("employee" + i));
+        assertTrue(IntStream.range(0, 50_000).allMatch(i -> filter.mightContain("employee" + i)));
+    }
+
+    @Test
+    public void saturatesPastTheExpectedValues() {
+        BloomFilter filter = new BloomFilter(2, 0.01);
+        filter.add("a");
+        filter.add("b");
+        assertFalse(filter.isSaturated());
+        filter.add("c");
+        assertTrue(filter.isSaturated());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnEmptyFilter() {
+        new BloomFilter(0, 0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsARateOfOne() {
+        new BloomFilter(100, 1);
+    }
+}
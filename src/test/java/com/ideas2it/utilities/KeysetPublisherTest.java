@@ -0,0 +1,215 @@
+package com.ideas2it.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.ideas2it.model.Page;
+
+/**
+ * Tests that KeysetPublisher reads no more rows than its subscribers request and
+ * delivers them off the AsyncExecutor.
+ */
+public class KeysetPublisherTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    /**
+     * Listing of the numbers below a limit, recording the size of every page read.
+     */
+    private static final class Numbers implements KeysetPublisher.PageSource<Integer> {
+        private final int limit;
+        private final List<Integer> pageSizes = new ArrayList<>();
+
+        private Numbers(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized Page<Integer> next(Integer last, int pageSize) {
+            pageSizes.add(pageSize);
+            int from = last == null ? 0 : last + 1;
+            List<Integer> rows = IntStream.range(from, Math.min(limit, from + pageSize + 1)).boxed()
+                                          .collect(Collectors.toList());
+            return Page.of(rows, pageSize);
+        }
+
+        private synchronized List<Integer> getPageSizes() {
+            return new ArrayList<>(pageSizes);
+        }
+    }
+
+    /**
+     * Subscriber recording what it receives, and the threads it receives it on.
+     */
+    private static class Recorder implements Flow.Subscriber<Integer> {
+        protected final List<Integer> rows = new ArrayList<>();
+        protected final List<String> threads = new ArrayList<>();
+        protected final CompletableFuture<Void> done = new CompletableFuture<>();
+        protected volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public synchronized void onNext(Integer row) {
+            rows.add(row);
+            threads.add(Thread.currentThread().getName());
+            notifyAll();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            done.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+
+        synchronized List<Integer> awaitRows(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (rows.size() < count && System.nanoTime() < deadline) {
+                wait(100);
+            }
+            return new ArrayList<>(rows);
+        }
+
+        Throwable awaitError() throws Exception {
+            try {
+                done.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                return e.getCause();
+            }
+            throw new AssertionError("Completed without an error");
+        }
+    }
+
+    @Test
+    public void readsNoMoreThanTheDemand() throws Exception {
+        Numbers numbers = new Numbers(10);
+        Recorder recorder = new Recorder();
+        new KeysetPublisher<>(numbers, 4).subscribe(recorder);
+        recorder.subscription.request(3);
+        assertEquals(List.of(0, 1, 2), recorder.awaitRows(3));
+        Thread.sleep(200);
+        assertEquals(List.of(0, 1, 2), recorder.awaitRows(0));
+        assertEquals(List.of(3), numbers.getPageSizes());
+        assertFalse(recorder.done.isDone());
+
+        recorder.subscription.request(Long.MAX_VALUE);
+        recorder.done.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(IntStream.range(0, 10).boxed().collect(Collectors.toList()), recorder.awaitRows(10));
+        assertTrue(numbers.getPageSizes().stream().allMatch(pageSize -> pageSize <= 4));
+    }
+
+    @Test
+    public void completesAnEmptyListing() throws Exception {
+        Recorder recorder = new Recorder();
+        new KeysetPublisher<>(new Numbers(0)).subscribe(recorder);
+        recorder.subscription.request(1);
+        recorder.done.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertTrue(recorder.rows.isEmpty());
+    }
+
+    @Test
+    public void rejectsANonPositiveRequest() throws Exception {
+        Recorder recorder = new Recorder();
+        new KeysetPublisher<>(new Numbers(10)).subscribe(recorder);
+        recorder.subscription.request(0);
+        assertTrue(recorder.awaitError() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void stopsReadingOnceCancelled() throws Exception {
+        Numbers numbers = new Numbers(100);
+        Recorder recorder = new Recorder();
+        new KeysetPublisher<>(numbers, 2).subscribe(recorder);
+        recorder.subscription.request(2);
+        recorder.awaitRows(2);
+        recorder.subscription.cancel();
+        recorder.subscription.request(10);
+        Thread.sleep(200);
+        assertEquals(List.of(0, 1), recorder.awaitRows(0));
+        assertEquals(List.of(2), numbers.getPageSizes());
+        assertFalse(recorder.done.isDone());
+    }
+
+    @Test
+    public void failsWithTheErrorOfARead() throws Exception {
+        IllegalStateException failure = new IllegalStateException("read failed");
+        Recorder recorder = new Recorder();
+        new KeysetPublisher<Integer>((last, pageSize) -> {
+            throw failure;
+        }).subscribe(recorder);
+        recorder.subscription.request(1);
+        assertSame(failure, recorder.awaitError());
+    }
+
+    @Test
+    public void deliversOnTheSuppliedExecutor() throws Exception {
+        ExecutorService delivery = Executors.newSingleThreadExecutor(task -> new Thread(task, "test-delivery"));
+        try {
+            Recorder recorder = new Recorder();
+            new KeysetPublisher<>(new Numbers(5), 2, delivery).subscribe(recorder);
+            recorder.subscription.request(5);
+            recorder.done.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(5, recorder.rows.size());
+            assertTrue(recorder.threads.toString(), recorder.threads.stream().allMatch("test-delivery"::equals));
+        } finally {
+            delivery.shutdownNow();
+        }
+    }
+
+    @Test
+    public void slowSubscribersLeaveTheAsyncExecutorFree() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Recorder> recorders = new ArrayList<>();
+        // More stalled subscribers than the AsyncExecutor has threads
+        for (int i = 0; i < 50; i++) {
+            Recorder recorder = new Recorder() {
+                @Override
+                public void onNext(Integer row) {
+                    super.onNext(row);
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            new KeysetPublisher<>(new Numbers(10)).subscribe(recorder);
+            recorder.subscription.request(10);
+            recorders.add(recorder);
+        }
+        try {
+            for (Recorder recorder : recorders) {
+                recorder.awaitRows(1);
+            }
+            assertEquals(Integer.valueOf(1), AsyncExecutor.supply(() -> 1).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+        for (Recorder recorder : recorders) {
+            recorder.done.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(10, recorder.rows.size());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ideas2it.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.ideas2it.model.Department;
+
+/**
+ * Unit tests for ReferenceSnapshot.
+ */
+public class ReferenceSnapshotTest {
+
+    @Test
+    public void denseSnapshotFindsRowsById() {
+        ReferenceSnapshot<Department> snapshot = ReferenceSnapshot.of(
+                Arrays.asList(department(3, "Sales"), department(1, "Finance"), department(2, "Legal")),
+                Department::getId);
+
+        assertTrue(snapshot.toString().contains("dense"));
+        assertEquals("Finance", snapshot.get(1).getName());
+        assertEquals("Sales", snapshot.get(3).getName());
+        assertNull(snapshot.get(0));
+        assertNull(snapshot.get(4));
+        assertNull(snapshot.get(-1));
+        assertEquals("Legal", snapshot.getAll().get(1).getName());
+        assertEquals(3, snapshot.getAll().get(2).getId());
+    }
+
+    @Test
+    public void sparseSnapshotFindsRowsById() {
+        ReferenceSnapshot<Department> snapshot = ReferenceSnapshot.of(
+                Arrays.asList(department(5, "Sales"), department(1_000_000, "Finance")), Department::getId);
+
+        assertTrue(snapshot.toString().contains("sparse"));
+        assertEquals("Finance", snapshot.get(1_000_000).getName());
+        assertEquals("Sales", snapshot.get(5).getName());
+        assertNull(snapshot.get(6));
+        assertNull(snapshot.get(-1));
+    }
+
+    @Test
+    public void emptySnapshotHasNoRows() {
+        ReferenceSnapshot<Department> snapshot = ReferenceSnapshot.of(Collections.emptyList(), Department::getId);
+
+        assertTrue(snapshot.getAll().isEmpty());
+        assertNull(snapshot.get(0));
+        assertNull(snapshot.get(1));
+    }
+
+    @Test
+    public void withAddsOrReplacesWithoutChangingTheOriginal() {
+        Department sales = department(1, "Sales");
+        ReferenceSnapshot<Department> original = ReferenceSnapshot.of(Arrays.asList(sales), Department::getId);
+
+        ReferenceSnapshot<Department> added = original.with(department(2, "Legal"));
+        ReferenceSnapshot<Department> renamed = added.with(department(1, "Marketing"));
+
+        assertEquals(1, original.getAll().size());
+        assertSame(sales, original.get(1));
+        assertNull(original.get(2));
+        assertEquals(2, added.getAll().size());
+        assertEquals("Sales", added.get(1).getName());
+        assertEquals(2, renamed.getAll().size());
+        assertEquals("Marketing", renamed.get(1).getName());
+        assertEquals("Legal", renamed.get(2).getName());
+    }
+
+    @Test
+    public void withoutDropsTheRowWithoutChangingTheOriginal() {
+        ReferenceSnapshot<Department> original = ReferenceSnapshot.of(
+                Arrays.asList(department(1, "Sales"), department(2, "Legal")), Department::getId);
+
+        ReferenceSnapshot<Department> removed = original.without(1);
+
+        assertNull(removed.get(1));
+        assertEquals("Legal", removed.get(2).getName());
+        assertEquals(1, removed.getAll().size());
+        assertEquals("Sales", original.get(1).getName());
+        assertEquals(1, removed.without(42).getAll().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void rowsCannotBeModified() {
+        ReferenceSnapshot.of(Arrays.asList(department(1, "Sales")), Department::getId).getAll().clear();
+    }
+
+    @Test
+    public void copiedRowsCannotBeChangedByReaders() {
+        Department sales = department(1, "Sales");
+        ReferenceSnapshot<Department> snapshot = ReferenceSnapshot.of(Arrays.asList(sales), Department::getId,
+                                                                      ReferenceSnapshotTest::copy);
+        sales.setName("Changed before the read");
+        snapshot.get(1).setName("Changed by a reader");
+        snapshot.getAll().get(0).setName("Changed by another reader");
+        snapshot.with(department(2, "Legal")).get(2).setName("Changed in a derived snapshot");
+
+        assertEquals("Sales", snapshot.get(1).getName());
+        assertNotSame(snapshot.get(1), snapshot.get(1));
+        assertEquals("Legal", snapshot.with(department(2, "Legal")).get(2).getName());
+    }
+
+    @Test
+    public void derivedSnapshotsKeepTheLoadTime() throws InterruptedException {
+        ReferenceSnapshot<Department> snapshot = ReferenceSnapshot.of(Arrays.asList(department(1, "Sales")),
+                                                                      Department::getId);
+        assertFalse(snapshot.isOlderThan(60_000));
+        Thread.sleep(20);
+        assertTrue(snapshot.isOlderThan(10));
+        assertTrue(snapshot.with(department(2, "Legal")).isOlderThan(10));
+        assertTrue(snapshot.without(1).isOlderThan(10));
+    }
+
+    private static Department copy(Department department) {
+        return department(department.getId(), department.getName());
+    }
+
+    private static Department department(int id, String name) {
+        Department department = new Department(name);
+        department.setId(id);
+        return department;
+    }
+}
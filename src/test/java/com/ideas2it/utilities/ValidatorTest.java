@@ -0,0 +1,110 @@
+package com.ideas2it.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * Tests that the name, email and pin code scanners accept exactly the strings the regular
+ * expressions they replaced matched, on edge cases and on random strings built from the
+ * characters each expression treats specially.
+ */
+public class ValidatorTest {
+    private static final Pattern NAME = Pattern.compile("^^[\\p{L} .'-]+$");
+    private static final Pattern EMAIL = Pattern.compile("\\b[A-za-z0-9._%-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,4}\\b");
+    private static final Pattern PIN_CODE = Pattern.compile("^[1-9]{1}[0-9]{2}\\s{0,1}[0-9]{3}$");
+    private static final String[] NAME_PIECES = {"a", "Z", "\u00e9", "\u4e2d", "\ud835\udc00", "\ud800", "\u0301",
+                                                 " ", ".", "'", "-", "_", "1", "\t"};
+    private static final String[] EMAIL_PIECES = {"a", "Z", "09", "_", ".", "%", "-", "@", "[", "`", "^", "\u00e9",
+                                                  " ", "com", "in", "info", "museum", ".org", "x@y"};
+    private static final String[] PIN_PIECES = {"0", "1", "5", "9", "a", " ", "\t", "\n", "\u00a0", "12", "600"};
+    private static final int RANDOM_STRINGS = 200_000;
+
+    @Test
+    public void namesMatchTheirPattern() {
+        String[] names = {"", " ", "Ann", "Ann Lee", "O'Neil", "Jean-Luc", "J. R.", "\u00c9lodie", "\u4e2d\u6587",
+                          "\ud835\udc00nn", "Ann1", "Ann_Lee", "Ann\tLee", "e\u0301", "\ud800", "Ann\n"};
+        for (String name : names) {
+            assertSame(NAME, Validator::isValidname, name);
+        }
+        assertRandomStringsMatch(NAME, Validator::isValidname, NAME_PIECES, 6);
+    }
+
+    @Test
+    public void emailsMatchTheirPattern() {
+        String[] emails = {"a@b.co", "ann.lee@example.com", "ann@example.museum", "ann@example.c", "ann@example.comm",
+                           "ann@example.commm", "_ann@example.com", ".ann@example.com", "%ann@example.com",
+                           "ann@.com", "ann@@example.com", "@example.com", "ann@", "ann@example", "ann@example.",
+                           "a[b]^`@example.com", "ann@exa_mple.com", "ann@example.c0m", "ann@example..com",
+                           "ann@ex-ample.co.in", "ann@example.com ", " ann@example.com", "\u00e9@example.com",
+                           "ann@\u00e9xample.com", "ann@example.\u00e9\u00e9"};
+        for (String email : emails) {
+            assertSame(EMAIL, Validator::isValidEmail, email);
+        }
+        assertRandomStringsMatch(EMAIL, Validator::isValidEmail, EMAIL_PIECES, 8);
+    }
+
+    @Test
+    public void pinCodesMatchTheirPattern() {
+        String[] pinCodes = {"600001", "600 001", "600\t001", "600\n001", "600\u000b001", "600\r001", "600\u00a0001",
+                             "060001", "60001", "6000011", "600  001", "60 0001", "6000 01", " 600001", "600001 ",
+                             "60a001", "\u0666\u0660\u0660\u0660\u0660\u0661", ""};
+        for (String pinCode : pinCodes) {
+            assertSame(PIN_CODE, Validator::isValidPinCode, pinCode);
+        }
+        assertRandomStringsMatch(PIN_CODE, Validator::isValidPinCode, PIN_PIECES, 5);
+    }
+
+    @Test
+    public void nullsAreInvalid() {
+        assertFalse(Validator.isValidname(null));
+        assertFalse(Validator.isValidEmail(null));
+        assertFalse(Validator.isValidPinCode(null));
+        assertFalse(Validator.isValidNotNull(null));
+    }
+
+    @Test
+    public void employeeRecordsFlagEveryInvalidField() {
+        LocalDate today = LocalDate.of(2024, 6, 1);
+        assertEquals(0, Validator.validateEmployee("Ann Lee", today, "ann@example.com", true,
+                                                   "Main Street", "Chennai", "TN", "600001", today));
+        assertEquals(0, Validator.validateEmployee("Ann Lee", today, "ann@example.com", false,
+                                                   null, null, null, null, today));
+        int errors = Validator.validateEmployee("Ann1", today.plusDays(1), "ann", true, "", null, "TN", "060001",
+                                                today);
+        assertEquals(Validator.INVALID_NAME | Validator.INVALID_DOB | Validator.INVALID_EMAIL
+                     | Validator.INVALID_STREET | Validator.INVALID_CITY | Validator.INVALID_ZIP, errors);
+        assertEquals("name, dob, email, street, city, zip", Validator.describeErrors(errors));
+        assertEquals("", Validator.describeErrors(0));
+    }
+
+    private static void assertSame(Pattern pattern, Predicate<String> scanner, String input) {
+        assertEquals("\"" + input + "\"", pattern.matcher(input).matches(), scanner.test(input));
+    }
+
+    /**
+     * Compares the scanner with the pattern on random concatenations of the given pieces,
+     * and checks enough of them were valid for the comparison to mean something.
+     */
+    private static void assertRandomStringsMatch(Pattern pattern, Predicate<String> scanner, String[] pieces,
+                                                 int maxPieces) {
+        Random random = new Random(42);
+        int valid = 0;
+        for (int i = 0; i < RANDOM_STRINGS; i++) {
+            StringBuilder input = new StringBuilder();
+            for (int count = random.nextInt(maxPieces + 1); count > 0; count--) {
+                input.append(pieces[random.nextInt(pieces.length)]);
+            }
+            assertSame(pattern, scanner, input.toString());
+            valid += scanner.test(input.toString()) ? 1 : 0;
+        }
+        assertTrue("Valid random strings: " + valid, valid > 100);
+    }
+}